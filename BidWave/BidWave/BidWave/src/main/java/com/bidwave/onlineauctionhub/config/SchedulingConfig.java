@@ -0,0 +1,27 @@
+package com.bidwave.onlineauctionhub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Gives scheduled jobs (auction closing, outbox relay, housekeeping) their own small pool,
+ * so a slow job cannot hold up the others.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Value("${bidwave.scheduling.pool-size:4}")
+    private int poolSize;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("bidwave-scheduler-");
+        scheduler.initialize();
+        taskRegistrar.setTaskScheduler(scheduler);
+    }
+}
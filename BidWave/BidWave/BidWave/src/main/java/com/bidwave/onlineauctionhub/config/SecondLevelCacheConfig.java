@@ -0,0 +1,94 @@
+package com.bidwave.onlineauctionhub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache backed by Caffeine through JCache.
+ * <p>
+ * Each region gets its own TTL and size bound. Hibernate keeps the caches consistent with writes
+ * made through this node (entity regions are read-write, query results are invalidated per
+ * table), but the caches are local to the JVM: changes made on another node are only seen once
+ * the TTL expires, which is why identity entries live much shorter than reference data.
+ * Hit and miss counts are exported by Hibernate statistics as {@code hibernate.second.level.cache.*}
+ * and {@code hibernate.cache.query.*} meters.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CATEGORY_REGION = "categories";
+    public static final String USER_REGION = "users";
+    public static final String USER_BY_EMAIL_REGION = "users-by-email";
+    public static final String AUCTION_IMAGE_REGION = "auction-images";
+    public static final String AUCTION_IMAGE_COLLECTION_REGION = "auction-image-collections";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${bidwave.cache.categories.ttl:PT1H}")
+    private Duration categoryTtl;
+
+    @Value("${bidwave.cache.users.ttl:PT1M}")
+    private Duration userTtl;
+
+    @Value("${bidwave.cache.users.max-size:10000}")
+    private long userMaxSize;
+
+    @Value("${bidwave.cache.images.ttl:PT30M}")
+    private Duration imageTtl;
+
+    @Value("${bidwave.cache.images.max-size:50000}")
+    private long imageMaxSize;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A private manager per application context, so several contexts in one JVM never share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("bidwave-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, CATEGORY_REGION, categoryTtl, 1_000L);
+        createRegion(cacheManager, USER_REGION, userTtl, userMaxSize);
+        createRegion(cacheManager, USER_BY_EMAIL_REGION, userTtl, userMaxSize);
+        createRegion(cacheManager, AUCTION_IMAGE_REGION, imageTtl, imageMaxSize);
+        createRegion(cacheManager, AUCTION_IMAGE_COLLECTION_REGION, imageTtl, imageMaxSize);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, categoryTtl, 1_000L);
+        // Update timestamps must outlive every cached query result and are never evicted by size
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // Statistics are only for the meters; without this Hibernate logs "Session Metrics" for every session
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, Duration ttl, Long maxSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setExpireAfterWrite(ttl != null ? OptionalLong.of(ttl.toNanos()) : OptionalLong.empty());
+        configuration.setMaximumSize(maxSize != null ? OptionalLong.of(maxSize) : OptionalLong.empty());
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
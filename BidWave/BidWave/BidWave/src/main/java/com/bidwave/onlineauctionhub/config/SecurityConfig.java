@@ -57,6 +57,7 @@ public class SecurityConfig {
                         .requestMatchers("/auctions/new", "/seller/**").hasRole("SELLER")
                         .requestMatchers(HttpMethod.POST, "/api/auctions").hasRole("SELLER")
                         .requestMatchers("/api/bids/**").hasRole("BUYER")
+                        .requestMatchers("/api/subscriptions/**").hasRole("BUYER")
                         .requestMatchers("/admin/**", "/api/admin/**").hasRole("ADMIN")
 
                         // All other requests must be authenticated
@@ -0,0 +1,22 @@
+package com.bidwave.onlineauctionhub.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Streamed report downloads are written after the controller returns, on an async request.
+ * Large exports can take longer than the container's default async timeout, so it is raised here.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Value("${bidwave.reports.stream-timeout-ms:300000}")
+    private long streamTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(streamTimeoutMs);
+    }
+}
@@ -1,25 +1,34 @@
 package com.bidwave.onlineauctionhub.controller;
 
 import com.bidwave.onlineauctionhub.dto.*;
-import com.bidwave.onlineauctionhub.models.Auction;
-import com.bidwave.onlineauctionhub.models.AuctionReport;
-import com.bidwave.onlineauctionhub.models.Bid;
 import com.bidwave.onlineauctionhub.models.TargetAudience;
-import com.bidwave.onlineauctionhub.repositories.AuctionReportRepository;
 import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
-import com.bidwave.onlineauctionhub.repositories.BidRepository;
 import com.bidwave.onlineauctionhub.service.*;
+import com.bidwave.onlineauctionhub.service.listing.AuctionListingProjector;
+import com.bidwave.onlineauctionhub.service.reporting.ReportGenerationStrategy;
+import com.bidwave.onlineauctionhub.service.reporting.ReportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import java.io.ByteArrayInputStream;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,25 +39,24 @@ public class AdminController {
     private final UserService userService;
     private final AuctionService auctionService;
     private final ReportService reportService;
-    private final PdfGenerationService pdfGenerationService;
     private final AuctionRepository auctionRepository;
-    private final BidRepository bidRepository;
-    private final AuctionReportRepository reportRepository;
     private final AnnouncementService announcementService;
+    private final AuctionListingProjector listingProjector;
+    private final ReportJobService reportJobService;
 
     @Autowired
     public AdminController(UserService userService, AuctionService auctionService,
-                           ReportService reportService, PdfGenerationService pdfGenerationService,
-                           AuctionRepository auctionRepository, BidRepository bidRepository,
-                           AuctionReportRepository reportRepository, AnnouncementService announcementService) {
+                           ReportService reportService,
+                           AuctionRepository auctionRepository,
+                           AnnouncementService announcementService,
+                           AuctionListingProjector listingProjector, ReportJobService reportJobService) {
         this.userService = userService;
         this.auctionService = auctionService;
         this.reportService = reportService;
-        this.pdfGenerationService = pdfGenerationService;
         this.auctionRepository = auctionRepository;
-        this.bidRepository = bidRepository;
-        this.reportRepository = reportRepository;
         this.announcementService = announcementService;
+        this.listingProjector = listingProjector;
+        this.reportJobService = reportJobService;
     }
 
     @GetMapping("/users")
@@ -114,6 +122,11 @@ public class AdminController {
         return ResponseEntity.ok(report);
     }
 
+    @PostMapping("/listings/rebuild")
+    public ResponseEntity<Integer> rebuildListingReadModel() {
+        return ResponseEntity.ok(listingProjector.rebuild());
+    }
+
     @PostMapping("/users/{userId}/delete")
     public String deleteUser(@PathVariable Long userId, RedirectAttributes redirectAttributes) {
         try {
@@ -136,21 +149,15 @@ public class AdminController {
         return "redirect:/admin/auctions";
     }
 
+    // Redirected to the stored artifact when the report has been rendered before, otherwise queued (202 with the job)
     @GetMapping("/auctions/{auctionId}/report")
-    public ResponseEntity<InputStreamResource> downloadWinnerReport(@PathVariable Long auctionId) {
-        Auction auction = auctionRepository.findById(auctionId).orElseThrow(() -> new RuntimeException("Auction not found"));
-        Optional<Bid> winningBid = bidRepository.findTopByAuctionOrderByBidAmountDesc(auction);
-
-        ByteArrayInputStream bis = pdfGenerationService.generateWinnerReportPdf(auction, winningBid);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "inline; filename=auction_report_" + auctionId + ".pdf");
+    public ResponseEntity<ReportJobDto> downloadWinnerReport(@PathVariable Long auctionId, Authentication authentication) {
+        return redirectOrAccept(reportJobService.requestWinnerReport(auctionId, authentication.getName()));
+    }
 
-        return ResponseEntity
-                .ok()
-                .headers(headers)
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(new InputStreamResource(bis));
+    @PostMapping("/auctions/{auctionId}/report/jobs")
+    public ResponseEntity<ReportJobDto> requestWinnerReport(@PathVariable Long auctionId, Authentication authentication) {
+        return jobResponse(reportJobService.requestWinnerReport(auctionId, authentication.getName()));
     }
 
     // This method now CREATES a report record
@@ -169,19 +176,73 @@ public class AdminController {
 
     // The download endpoint now finds the report first
     @GetMapping("/reports/{reportId}/download")
-    public ResponseEntity<InputStreamResource> downloadReport(@PathVariable Long reportId) {
-        AuctionReport report = reportRepository.findById(reportId)
-                .orElseThrow(() -> new RuntimeException("Report not found"));
+    public ResponseEntity<ReportJobDto> downloadReport(@PathVariable Long reportId, Authentication authentication) {
+        return redirectOrAccept(reportJobService.requestBidHistory(reportId, authentication.getName()));
+    }
 
-        Auction auction = report.getAuction();
-        List<Bid> bids = bidRepository.findAllByAuctionOrderByBidAmountDesc(auction);
+    @PostMapping("/reports/{reportId}/jobs")
+    public ResponseEntity<ReportJobDto> requestReport(@PathVariable Long reportId, Authentication authentication) {
+        return jobResponse(reportJobService.requestBidHistory(reportId, authentication.getName()));
+    }
+
+    @GetMapping("/report-jobs/{jobId}")
+    public ResponseEntity<ReportJobDto> getReportJob(@PathVariable String jobId) {
+        return reportJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Artifacts are named by their content hash, so browsers may cache them for good
+    @GetMapping("/report-artifacts/{hash}/{filename:[\\w.-]+}")
+    public void downloadReportArtifact(@PathVariable String hash, @PathVariable String filename,
+                                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> artifact = reportJobService.findArtifact(hash);
+        if (artifact.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        sendArtifact(artifact.get(), filename, request, response);
+    }
 
-        ByteArrayInputStream bis = pdfGenerationService.generateAuctionBiddersReportPdf(auction, bids);
+    // Exports every saved report, streamed row by row in the requested format (PDF, CSV or NDJSON)
+    @GetMapping("/reports/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(@RequestParam(defaultValue = "PDF") String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip) {
+        ReportGenerationStrategy strategy = reportService.getStrategy(format);
+        StreamingResponseBody body = out -> reportService.writeAuctionReportsExport(strategy.getFormat(), gzip, out);
+        return exportResponse(strategy, gzip, "auction_reports", body);
+    }
+
+    @GetMapping("/reports/activity/export")
+    public ResponseEntity<StreamingResponseBody> exportSystemActivity(@RequestParam(defaultValue = "PDF") String format,
+                                                                      @RequestParam(defaultValue = "false") boolean gzip) {
+        ReportGenerationStrategy strategy = reportService.getStrategy(format);
+        StreamingResponseBody body = out -> reportService.writeSystemActivityReport(strategy.getFormat(), gzip, out);
+        return exportResponse(strategy, gzip, "system_activity", body);
+    }
+
+    @GetMapping("/auctions/{auctionId}/bids/export")
+    public ResponseEntity<StreamingResponseBody> exportAuctionBids(@PathVariable Long auctionId,
+                                                                   @RequestParam(defaultValue = "CSV") String format,
+                                                                   @RequestParam(defaultValue = "false") boolean gzip) {
+        ReportGenerationStrategy strategy = reportService.getStrategy(format);
+        if (!auctionRepository.existsById(auctionId)) {
+            throw new RuntimeException("Auction not found");
+        }
+        StreamingResponseBody body = out -> reportService.writeAuctionBidsExport(auctionId, strategy.getFormat(), gzip, out);
+        return exportResponse(strategy, gzip, "auction_" + auctionId + "_bids", body);
+    }
+
+    // Gzipped exports are served as .gz files rather than with Content-Encoding, so they stay compressed on disk
+    private ResponseEntity<StreamingResponseBody> exportResponse(ReportGenerationStrategy strategy, boolean gzip,
+                                                                 String baseName, StreamingResponseBody body) {
+        String filename = baseName + "." + strategy.getFormat().toLowerCase() + (gzip ? ".gz" : "");
+        MediaType contentType = MediaType.parseMediaType(gzip ? "application/gzip" : strategy.getContentType());
 
         HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "inline; filename=auction_report_" + auction.getAuctionId() + ".pdf");
+        headers.add("Content-Disposition", "attachment; filename=" + filename);
 
-        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_PDF).body(new InputStreamResource(bis));
+        return ResponseEntity.ok().headers(headers).contentType(contentType).body(body);
     }
 
     // === ADDED: New announcements method ===
@@ -199,4 +260,43 @@ public class AdminController {
         }
         return "redirect:/admin/announcements";
     }
-}
\ No newline at end of file
+
+    // The artifact URL is immutable, so the redirect lets the browser reuse a copy it already has
+    private ResponseEntity<ReportJobDto> redirectOrAccept(ReportJobDto job) {
+        if (reportJobService.findArtifact(job.artifactHash()).isPresent()) {
+            return ResponseEntity.status(HttpStatus.SEE_OTHER).location(URI.create(job.downloadUrl())).build();
+        }
+        return jobResponse(job);
+    }
+
+    private ResponseEntity<ReportJobDto> jobResponse(ReportJobDto job) {
+        return job.artifactHash() != null ? ResponseEntity.ok(job) : ResponseEntity.accepted().body(job);
+    }
+
+    /**
+     * Hands the file to Tomcat's sendfile support when the connector offers it, so the kernel copies
+     * it straight to the socket; otherwise the file channel is transferred to the response.
+     */
+    private void sendArtifact(Path file, String filename, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        long size = Files.size(file);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=" + filename);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toRealPath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bidwave.onlineauctionhub.controller;
+
+import com.bidwave.onlineauctionhub.service.analytics.AnalyticsService;
+import com.bidwave.onlineauctionhub.service.analytics.CategoryRollupRebuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Admin analytics over the hourly category rollups. Times are ISO local date-times; ranges are [from, to).
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final CategoryRollupRebuilder rollupRebuilder;
+
+    @Autowired
+    public AnalyticsController(AnalyticsService analyticsService, CategoryRollupRebuilder rollupRebuilder) {
+        this.analyticsService = analyticsService;
+        this.rollupRebuilder = rollupRebuilder;
+    }
+
+    // Defaults to the last 24 hours across all categories
+    @GetMapping("/hourly")
+    public ResponseEntity<?> getHourly(@RequestParam(required = false) Long categoryId,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        try {
+            return ResponseEntity.ok(analyticsService.getHourlySeries(categoryId, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Defaults to the last 7 days
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        try {
+            return ResponseEntity.ok(analyticsService.getSummary(start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Rebuilds the rollups for [from, to) from the source tables in the background
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        try {
+            if (!rollupRebuilder.startBackfill(from, end)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "A backfill is already running."));
+            }
+            return ResponseEntity.accepted().body(Map.of("from", from, "to", end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.bidwave.onlineauctionhub.controller;
 
 import com.bidwave.onlineauctionhub.dto.AuctionCreateRequest;
+import com.bidwave.onlineauctionhub.dto.AuctionPageDto;
 import com.bidwave.onlineauctionhub.dto.AuctionSummaryDto;
 import com.bidwave.onlineauctionhub.dto.AuctionDetailsDto;
 import com.bidwave.onlineauctionhub.models.Auction;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Controller
@@ -52,11 +54,19 @@ public class AuctionController {
     }
 
     /**
-     * Get all active auctions (default sorted by ending soon)
+     * Get a page of active auctions (default sorted by ending soon).
+     * Pass the returned nextCursor as the cursor parameter to fetch the next page.
      */
     @GetMapping
-    public ResponseEntity<List<AuctionSummaryDto>> getAllActiveAuctions() {
-        return ResponseEntity.ok(auctionService.getActiveAuctions(null, null, null, null, "ending_soon"));
+    public ResponseEntity<AuctionPageDto> getAllActiveAuctions(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "ending_soon") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "24") int size) {
+        return ResponseEntity.ok(auctionService.getActiveAuctions(q, category, minPrice, maxPrice, sort, cursor, size));
     }
 
     /**
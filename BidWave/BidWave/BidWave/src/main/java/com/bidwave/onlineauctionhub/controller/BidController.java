@@ -4,6 +4,7 @@ import com.bidwave.onlineauctionhub.dto.PlaceBidRequest;
 import com.bidwave.onlineauctionhub.dto.UpdateBidRequest;
 import com.bidwave.onlineauctionhub.repositories.BidRepository;
 import com.bidwave.onlineauctionhub.service.BidService;
+import com.bidwave.onlineauctionhub.service.bidding.BidRejectedException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
@@ -27,6 +28,8 @@ public class BidController {
             String buyerEmail = authentication.getName();
             bidService.placeBid(request, buyerEmail);
             redirectAttributes.addFlashAttribute("successMessage", "Your bid was placed successfully!");
+        } catch (BidRejectedException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Bid not accepted: " + e.getMessage());
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Bid failed: " + e.getMessage());
         }
@@ -1,25 +1,32 @@
 package com.bidwave.onlineauctionhub.controller;
 
-import com.bidwave.onlineauctionhub.dto.NotificationDto;
+import com.bidwave.onlineauctionhub.dto.NotificationPageDto;
 import com.bidwave.onlineauctionhub.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 50;
+
     @Autowired
     private NotificationService notificationService;
 
+    /**
+     * One page of notifications, newest first; pass {@code nextCursor} back as {@code before} for older ones
+     */
     @GetMapping
-    public ResponseEntity<List<NotificationDto>> getNotifications(Authentication authentication) {
-        return ResponseEntity.ok(notificationService.getNotificationsForUser(authentication.getName()));
+    public ResponseEntity<NotificationPageDto> getNotifications(@RequestParam(required = false) String before,
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                Authentication authentication) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(notificationService.getNotificationsForUser(authentication.getName(), before, limit));
     }
 
     @GetMapping("/count")
@@ -75,13 +75,19 @@ public class PageController {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(defaultValue = "ending_soon") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "24") int size,
             Model model) {
 
-        List<AuctionSummaryDto> auctionList = auctionService.getActiveAuctions(q, category, minPrice, maxPrice, sort);
+        AuctionPageDto auctionPage = auctionService.getActiveAuctions(q, category, minPrice, maxPrice, sort, cursor, size);
         List<Category> categories = categoryService.findAll();
 
-        model.addAttribute("auctions", auctionList);
+        model.addAttribute("auctions", auctionPage.items());
+        model.addAttribute("nextCursor", auctionPage.nextCursor());
+        model.addAttribute("hasMore", auctionPage.hasMore());
+        model.addAttribute("isFirstPage", cursor == null || cursor.isBlank());
         model.addAttribute("categories", categories);
+        model.addAttribute("categoryCounts", auctionService.getCategoryFacetCounts(q));
         model.addAttribute("searchTerm", q);
         model.addAttribute("selectedCategory", category);
         model.addAttribute("minPrice", minPrice);
@@ -115,6 +121,11 @@ public class PageController {
             String formattedStartPrice = currencyFormat.format(auction.getStartPrice());
             model.addAttribute("formattedStartPrice", formattedStartPrice);
 
+            // Lets the page tell from a pushed update alone whether this buyer holds the lead
+            if (auth != null && auth.getAuthorities().stream().anyMatch(a -> "ROLE_BUYER".equals(a.getAuthority()))) {
+                model.addAttribute("currentUserId", userService.getCurrentUserProfile().id());
+            }
+
             model.addAttribute("bidForm", new PlaceBidRequest(id, null));
             return "auction-detail";
         } catch (AuctionNotFoundException e) {
@@ -1,25 +1,18 @@
 package com.bidwave.onlineauctionhub.controller;
 
 import com.bidwave.onlineauctionhub.dto.AuctionUpdateRequest;
-import com.bidwave.onlineauctionhub.models.Auction;
-import com.bidwave.onlineauctionhub.models.Bid;
-import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
-import com.bidwave.onlineauctionhub.repositories.BidRepository;
 import com.bidwave.onlineauctionhub.service.AuctionService;
 import com.bidwave.onlineauctionhub.service.PdfGenerationService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.io.ByteArrayInputStream;
-import java.util.List;
-
 @Controller
 @RequestMapping("/seller/auctions") // All routes here start with /seller/auctions
 public class SellerController {
@@ -27,12 +20,6 @@ public class SellerController {
     @Autowired
     private AuctionService auctionService;
 
-    @Autowired
-    private AuctionRepository auctionRepository;
-
-    @Autowired
-    private BidRepository bidRepository;
-
     @Autowired
     private PdfGenerationService pdfGenerationService;
 
@@ -67,18 +54,16 @@ public class SellerController {
     // === New Method: PDF Report Generation ===
 
     @GetMapping("/{auctionId}/report")
-    public ResponseEntity<InputStreamResource> downloadSellerAuctionReport(@PathVariable Long auctionId, Authentication authentication) {
+    public ResponseEntity<StreamingResponseBody> downloadSellerAuctionReport(@PathVariable Long auctionId, Authentication authentication) {
         // Security check to ensure the seller owns the auction
-        auctionService.getSellerAuctionDetails(auctionId, authentication.getName());
-
-        Auction auction = auctionRepository.findById(auctionId).orElseThrow(() -> new RuntimeException("Auction not found"));
-        List<Bid> bids = bidRepository.findAllByAuctionOrderByBidAmountDesc(auction);
+        auctionService.checkSellerOwnsAuction(auctionId, authentication.getName());
 
-        ByteArrayInputStream bis = pdfGenerationService.generateAuctionBiddersReportPdf(auction, bids);
+        // Rendered straight into the response once the handler returns
+        StreamingResponseBody body = out -> pdfGenerationService.writeAuctionBiddersReportPdf(auctionId, out);
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("Content-Disposition", "inline; filename=bidders_report_" + auctionId + ".pdf");
 
-        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_PDF).body(new InputStreamResource(bis));
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_PDF).body(body);
     }
 }
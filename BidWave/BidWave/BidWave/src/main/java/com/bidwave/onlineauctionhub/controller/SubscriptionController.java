@@ -0,0 +1,47 @@
+package com.bidwave.onlineauctionhub.controller;
+
+import com.bidwave.onlineauctionhub.dto.SubscriptionDto;
+import com.bidwave.onlineauctionhub.dto.SubscriptionRequest;
+import com.bidwave.onlineauctionhub.service.alerts.SubscriptionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A buyer's new-auction alert subscriptions, by category or keyword.
+ */
+@RestController
+@RequestMapping("/api/subscriptions")
+public class SubscriptionController {
+
+    private final SubscriptionService subscriptionService;
+
+    @Autowired
+    public SubscriptionController(SubscriptionService subscriptionService) {
+        this.subscriptionService = subscriptionService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SubscriptionDto>> getSubscriptions(Authentication authentication) {
+        return ResponseEntity.ok(subscriptionService.getSubscriptions(authentication.getName()));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> subscribe(@RequestBody SubscriptionRequest request, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(subscriptionService.subscribe(authentication.getName(), request));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{subscriptionId}")
+    public ResponseEntity<Void> unsubscribe(@PathVariable Long subscriptionId, Authentication authentication) {
+        subscriptionService.unsubscribe(authentication.getName(), subscriptionId);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -17,6 +17,12 @@ public record AdminAuctionViewDto(
         int numberOfBidders,
         String status
 ) {
+    // Used by the projection query, where the distinct bidder count arrives as a Long
+    public AdminAuctionViewDto(Long auctionId, String title, String sellerName, LocalDateTime endDate,
+                               BigDecimal highestBid, Long numberOfBidders, String status) {
+        this(auctionId, title, sellerName, endDate, highestBid, numberOfBidders == null ? 0 : numberOfBidders.intValue(), status);
+    }
+
     public static AdminAuctionViewDto fromEntity(Auction auction) {
         Optional<Bid> highestBidOpt = auction.getBids().stream()
                 .max((b1, b2) -> b1.getBidAmount().compareTo(b2.getBidAmount()));
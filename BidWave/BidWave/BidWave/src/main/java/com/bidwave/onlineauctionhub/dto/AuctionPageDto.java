@@ -0,0 +1,17 @@
+package com.bidwave.onlineauctionhub.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated auction listing. {@code nextCursor} is passed back as the
+ * {@code cursor} parameter to fetch the following page and is null on the last page.
+ */
+public record AuctionPageDto(
+        List<AuctionSummaryDto> items,
+        String nextCursor,
+        boolean hasMore
+) {
+    public static AuctionPageDto empty() {
+        return new AuctionPageDto(List.of(), null, false);
+    }
+}
@@ -2,6 +2,7 @@ package com.bidwave.onlineauctionhub.dto;
 
 import com.bidwave.onlineauctionhub.models.Auction;
 import com.bidwave.onlineauctionhub.models.AuctionImage;
+import com.bidwave.onlineauctionhub.models.AuctionListing;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,8 +30,21 @@ public record AuctionSummaryDto(
                 auction.getEndTime(),
                 auction.getStatus(),
                 auction.getSeller().getFirstName() + " " + auction.getSeller().getLastName(),
-                auction.getBids().size(),
+                auction.getBidCount(),
                 mainImageUrl
         );
     }
+
+    public static AuctionSummaryDto fromListing(AuctionListing listing) {
+        return new AuctionSummaryDto(
+                listing.getAuctionId(),
+                listing.getItemName(),
+                listing.getStartPrice(),
+                listing.getEndTime(),
+                listing.getStatus(),
+                listing.getSellerName(),
+                listing.getBidCount(),
+                listing.getImageUrl()
+        );
+    }
 }
\ No newline at end of file
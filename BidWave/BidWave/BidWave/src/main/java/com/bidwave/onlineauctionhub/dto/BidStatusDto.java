@@ -0,0 +1,12 @@
+package com.bidwave.onlineauctionhub.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Pushed to a bidder's {@code /user/queue/bid-status} when they take or lose the lead on an auction.
+ */
+public record BidStatusDto(
+        Long auctionId,
+        BigDecimal amount,
+        boolean highestBidder
+) {}
@@ -0,0 +1,17 @@
+package com.bidwave.onlineauctionhub.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Pushed to {@code /topic/auctions/{auctionId}} after every committed bid change.
+ * {@code bidderId}, {@code bidderName} and {@code bidId} are null while the auction has no bids; the
+ * page compares {@code bidderId} with its own user so the lead is shown correctly straight away.
+ */
+public record BidUpdateDto(
+        Long auctionId,
+        BigDecimal amount,
+        Long bidderId,
+        String bidderName,
+        long bidCount,
+        Long bidId
+) {}
@@ -0,0 +1,17 @@
+package com.bidwave.onlineauctionhub.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Totals for one category over a time range. Distinct bidders are only meaningful per hour, so
+ * they are not summed here.
+ */
+public record CategoryAnalyticsSummaryDto(
+        Long categoryId,
+        String categoryName,
+        long bidCount,
+        long closedCount,
+        long soldCount,
+        BigDecimal grossSoldValue,
+        Double sellThroughRate
+) {}
@@ -0,0 +1,19 @@
+package com.bidwave.onlineauctionhub.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One hour of activity in a category (category 0 = all categories). {@code sellThroughRate} is
+ * sold / closed and null for hours in which no auction closed.
+ */
+public record CategoryHourlyStatsDto(
+        LocalDateTime bucketStart,
+        Long categoryId,
+        long bidCount,
+        int uniqueBidders,
+        int closedCount,
+        int soldCount,
+        BigDecimal grossSoldValue,
+        Double sellThroughRate
+) {}
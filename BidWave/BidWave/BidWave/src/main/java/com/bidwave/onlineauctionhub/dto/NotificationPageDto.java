@@ -0,0 +1,13 @@
+package com.bidwave.onlineauctionhub.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's notification feed, newest first. {@code nextCursor} is passed back as the
+ * {@code before} parameter to fetch older entries and is null on the last page.
+ */
+public record NotificationPageDto(
+        List<NotificationDto> items,
+        String nextCursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,15 @@
+package com.bidwave.onlineauctionhub.dto;
+
+/**
+ * State of a report render. {@code artifactHash} and {@code downloadUrl} are set once the status is READY; a report that
+ * was already rendered comes back READY straight away with no job id.
+ */
+public record ReportJobDto(
+        String jobId,
+        String type,
+        Long targetId,
+        String status,
+        String artifactHash,
+        String downloadUrl,
+        String error
+) {}
@@ -0,0 +1,11 @@
+package com.bidwave.onlineauctionhub.dto;
+
+import java.time.LocalDateTime;
+
+public record SubscriptionDto(
+        Long id,
+        Long categoryId,
+        String categoryName,
+        String keyword,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,6 @@
+package com.bidwave.onlineauctionhub.dto;
+
+public record SubscriptionRequest(
+        Long categoryId,
+        String keyword
+) {}
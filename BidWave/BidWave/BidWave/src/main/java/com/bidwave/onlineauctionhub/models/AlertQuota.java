@@ -0,0 +1,47 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * New-auction alerts sent to one user on one day, and how many more were held back once the
+ * daily cap was reached. The held-back count is summarised in a digest the following day.
+ */
+@Entity
+@Table(name = "alert_quotas")
+public class AlertQuota {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate alertDate;
+
+    @Column(nullable = false)
+    private int sent;
+
+    @Column(nullable = false)
+    private int suppressed;
+
+    public AlertQuota() {}
+
+    public AlertQuota(Long userId, LocalDate alertDate) {
+        this.userId = userId;
+        this.alertDate = alertDate;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public LocalDate getAlertDate() { return alertDate; }
+    public void setAlertDate(LocalDate alertDate) { this.alertDate = alertDate; }
+    public int getSent() { return sent; }
+    public void setSent(int sent) { this.sent = sent; }
+    public int getSuppressed() { return suppressed; }
+    public void setSuppressed(int suppressed) { this.suppressed = suppressed; }
+}
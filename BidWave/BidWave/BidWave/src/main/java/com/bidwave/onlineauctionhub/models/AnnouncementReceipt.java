@@ -0,0 +1,43 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+
+/**
+ * A single announcement above the user's {@link AnnouncementWatermark} that they have read or
+ * dismissed on its own. Receipts at or below a watermark are redundant and are pruned when the
+ * watermark moves, so the set stays as small as the announcements the user picked out individually.
+ */
+@Entity
+@Table(name = "announcement_receipts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "announcement_id"}))
+public class AnnouncementReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "announcement_id", nullable = false)
+    private Long announcementId;
+
+    @Column(nullable = false)
+    private boolean dismissed;
+
+    public AnnouncementReceipt() {}
+
+    public AnnouncementReceipt(Long userId, Long announcementId) {
+        this.userId = userId;
+        this.announcementId = announcementId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getAnnouncementId() { return announcementId; }
+    public void setAnnouncementId(Long announcementId) { this.announcementId = announcementId; }
+    public boolean isDismissed() { return dismissed; }
+    public void setDismissed(boolean dismissed) { this.dismissed = dismissed; }
+}
@@ -0,0 +1,35 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+
+/**
+ * How far a user has read and cleared the announcement stream. Announcements are stored once and
+ * merged into each user's feed at read time; everything at or below a watermark counts as read
+ * (or dismissed), so one row per user replaces one notification row per user per announcement.
+ */
+@Entity
+@Table(name = "announcement_watermarks")
+public class AnnouncementWatermark {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long readThrough;
+
+    @Column(nullable = false)
+    private long clearedThrough;
+
+    public AnnouncementWatermark() {}
+
+    public AnnouncementWatermark(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public long getReadThrough() { return readThrough; }
+    public void setReadThrough(long readThrough) { this.readThrough = readThrough; }
+    public long getClearedThrough() { return clearedThrough; }
+    public void setClearedThrough(long clearedThrough) { this.clearedThrough = clearedThrough; }
+}
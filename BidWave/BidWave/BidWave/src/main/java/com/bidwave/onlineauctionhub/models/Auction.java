@@ -1,6 +1,9 @@
 package com.bidwave.onlineauctionhub.models;
 
+import com.bidwave.onlineauctionhub.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -35,11 +38,25 @@ public class Auction {
     @JoinColumn(name = "seller_user_id", nullable = false)
     private Seller seller;
 
+    // Denormalized high-bid state, maintained by BidService with a conditional UPDATE
+    private BigDecimal currentHighBid;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "current_high_bidder_id")
+    private Buyer currentHighBidder;
+
+    @Column(nullable = false)
+    private int bidCount = 0;
+
+    @Version
+    private Long version;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "auction_categories", joinColumns = @JoinColumn(name = "auction_id"), inverseJoinColumns = @JoinColumn(name = "category_id"))
     private Set<Category> categories = new HashSet<>();
 
     @OneToMany(mappedBy = "auction", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.AUCTION_IMAGE_COLLECTION_REGION)
     private Set<AuctionImage> images = new HashSet<>();
 
     @OneToMany(mappedBy = "auction", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -60,6 +77,14 @@ public class Auction {
     public void setStatus(String status) { this.status = status; }
     public Seller getSeller() { return seller; }
     public void setSeller(Seller seller) { this.seller = seller; }
+    public BigDecimal getCurrentHighBid() { return currentHighBid; }
+    public void setCurrentHighBid(BigDecimal currentHighBid) { this.currentHighBid = currentHighBid; }
+    public Buyer getCurrentHighBidder() { return currentHighBidder; }
+    public void setCurrentHighBidder(Buyer currentHighBidder) { this.currentHighBidder = currentHighBidder; }
+    public int getBidCount() { return bidCount; }
+    public void setBidCount(int bidCount) { this.bidCount = bidCount; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
     public Set<Category> getCategories() { return categories; }
     public void setCategories(Set<Category> categories) { this.categories = categories; }
     public Set<AuctionImage> getImages() { return images; }
@@ -1,8 +1,13 @@
 package com.bidwave.onlineauctionhub.models;
 
+import com.bidwave.onlineauctionhub.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.AUCTION_IMAGE_REGION)
 @Table(name = "auction_images")
 public class AuctionImage {
 
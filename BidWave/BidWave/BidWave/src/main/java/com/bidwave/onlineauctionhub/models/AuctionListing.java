@@ -0,0 +1,81 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized, read-only view of an auction for listing pages. Maintained by
+ * {@code AuctionListingProjector} whenever an auction or its bids change, so browse, search and
+ * seller pages read one narrow table instead of joining auctions, users, images, categories and bids.
+ */
+@Entity
+@Table(name = "auction_listing")
+public class AuctionListing {
+
+    @Id
+    private Long auctionId;
+
+    @Column(nullable = false)
+    private String itemName;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(nullable = false)
+    private Long sellerId;
+
+    private String sellerName;
+
+    private String imageUrl;
+
+    // Comma-delimited with leading and trailing commas (",3,17,"); loads the facet index in one read.
+    // Category filters go through auction_listing_category instead.
+    @Column(length = 1000)
+    private String categoryIds;
+
+    @Column(nullable = false)
+    private BigDecimal startPrice;
+
+    @Column(nullable = false)
+    private BigDecimal currentPrice;
+
+    @Column(nullable = false)
+    private int bidCount;
+
+    private LocalDateTime endTime;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public AuctionListing() {}
+
+    public AuctionListing(Long auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    public Long getAuctionId() { return auctionId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+    public String getItemName() { return itemName; }
+    public void setItemName(String itemName) { this.itemName = itemName; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+    public String getSellerName() { return sellerName; }
+    public void setSellerName(String sellerName) { this.sellerName = sellerName; }
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public String getCategoryIds() { return categoryIds; }
+    public void setCategoryIds(String categoryIds) { this.categoryIds = categoryIds; }
+    public BigDecimal getStartPrice() { return startPrice; }
+    public void setStartPrice(BigDecimal startPrice) { this.startPrice = startPrice; }
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
+    public int getBidCount() { return bidCount; }
+    public void setBidCount(int bidCount) { this.bidCount = bidCount; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,37 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+
+/**
+ * One category of a listed auction. Lets listing queries select a category through an index
+ * instead of scanning the comma-delimited {@code auction_listing.category_ids} column.
+ */
+@Entity
+@Table(name = "auction_listing_category",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"category_id", "auction_id"}))
+public class AuctionListingCategory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    public AuctionListingCategory() {}
+
+    public AuctionListingCategory(Long auctionId, Long categoryId) {
+        this.auctionId = auctionId;
+        this.categoryId = categoryId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getAuctionId() { return auctionId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+}
@@ -28,6 +28,13 @@ public class AuctionReport {
     @JoinColumn(name = "created_by_admin_id")
     private User createdBy; // Changed from Admin to User since Admin likely extends User
 
+    // SHA-256 of the rendered PDFs in the report artifact store, set once they have been generated
+    @Column(length = 64)
+    private String artifactHash;
+
+    @Column(length = 64)
+    private String winnerArtifactHash;
+
     // Default constructor (required by JPA)
     public AuctionReport() {}
 
@@ -89,6 +96,22 @@ public class AuctionReport {
         this.createdBy = createdBy;
     }
 
+    public String getArtifactHash() {
+        return artifactHash;
+    }
+
+    public void setArtifactHash(String artifactHash) {
+        this.artifactHash = artifactHash;
+    }
+
+    public String getWinnerArtifactHash() {
+        return winnerArtifactHash;
+    }
+
+    public void setWinnerArtifactHash(String winnerArtifactHash) {
+        this.winnerArtifactHash = winnerArtifactHash;
+    }
+
     // toString method for debugging
     @Override
     public String toString() {
@@ -0,0 +1,48 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A buyer's interest in new auctions, either in one category or matching one keyword.
+ * Exactly one of {@code categoryId} and {@code keyword} is set.
+ */
+@Entity
+@Table(name = "auction_subscriptions")
+public class AuctionSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long categoryId;
+
+    @Column(length = 50)
+    private String keyword;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public AuctionSubscription() {}
+
+    public AuctionSubscription(Long userId, Long categoryId, String keyword) {
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.keyword = keyword;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
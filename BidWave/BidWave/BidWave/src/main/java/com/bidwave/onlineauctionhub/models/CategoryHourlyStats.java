@@ -0,0 +1,73 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Marketplace activity in one category during one hour. Category id 0 holds the totals across all
+ * categories, which cannot be summed from the per-category rows because an auction can be in
+ * several categories. Closures are counted in the hour the auction ended.
+ * <p>
+ * {@code rebuilt} is set once an hour has been recomputed from the source tables; from then on the
+ * live aggregator leaves the hour alone, so a late event cannot be counted on top of the rebuild.
+ */
+@Entity
+@Table(name = "category_hourly_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"bucket_start", "category_id"}))
+public class CategoryHourlyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long bidCount;
+
+    @Column(nullable = false)
+    private int uniqueBidders;
+
+    @Column(nullable = false)
+    private int closedCount;
+
+    @Column(nullable = false)
+    private int soldCount;
+
+    @Column(nullable = false)
+    private BigDecimal grossSoldValue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private boolean rebuilt;
+
+    public CategoryHourlyStats() {}
+
+    public CategoryHourlyStats(LocalDateTime bucketStart, Long categoryId) {
+        this.bucketStart = bucketStart;
+        this.categoryId = categoryId;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    public long getBidCount() { return bidCount; }
+    public void setBidCount(long bidCount) { this.bidCount = bidCount; }
+    public int getUniqueBidders() { return uniqueBidders; }
+    public void setUniqueBidders(int uniqueBidders) { this.uniqueBidders = uniqueBidders; }
+    public int getClosedCount() { return closedCount; }
+    public void setClosedCount(int closedCount) { this.closedCount = closedCount; }
+    public int getSoldCount() { return soldCount; }
+    public void setSoldCount(int soldCount) { this.soldCount = soldCount; }
+    public BigDecimal getGrossSoldValue() { return grossSoldValue; }
+    public void setGrossSoldValue(BigDecimal grossSoldValue) { this.grossSoldValue = grossSoldValue; }
+    public boolean isRebuilt() { return rebuilt; }
+    public void setRebuilt(boolean rebuilt) { this.rebuilt = rebuilt; }
+}
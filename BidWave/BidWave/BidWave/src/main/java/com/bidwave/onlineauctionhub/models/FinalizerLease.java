@@ -0,0 +1,34 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Ownership of one auction partition for finalization. A node keeps the lease by renewing
+ * {@code leaseUntil}; once it lapses any other node may take the partition over.
+ */
+@Entity
+@Table(name = "finalizer_leases")
+public class FinalizerLease {
+
+    @Id
+    private Integer partitionId;
+
+    @Column(length = 100)
+    private String ownerId;
+
+    private LocalDateTime leaseUntil;
+
+    public FinalizerLease() {}
+
+    public FinalizerLease(Integer partitionId) {
+        this.partitionId = partitionId;
+    }
+
+    public Integer getPartitionId() { return partitionId; }
+    public void setPartitionId(Integer partitionId) { this.partitionId = partitionId; }
+    public String getOwnerId() { return ownerId; }
+    public void setOwnerId(String ownerId) { this.ownerId = ownerId; }
+    public LocalDateTime getLeaseUntil() { return leaseUntil; }
+    public void setLeaseUntil(LocalDateTime leaseUntil) { this.leaseUntil = leaseUntil; }
+}
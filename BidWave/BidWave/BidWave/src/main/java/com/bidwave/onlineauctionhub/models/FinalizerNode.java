@@ -0,0 +1,31 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Heartbeat of a running application node, used to work out each node's fair share of partitions.
+ */
+@Entity
+@Table(name = "finalizer_nodes")
+public class FinalizerNode {
+
+    @Id
+    @Column(length = 100)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    public FinalizerNode() {}
+
+    public FinalizerNode(String nodeId, LocalDateTime heartbeatAt) {
+        this.nodeId = nodeId;
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+}
@@ -0,0 +1,59 @@
+package com.bidwave.onlineauctionhub.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An email the delivery pipeline gave up on, kept so it can be inspected and re-sent by hand.
+ */
+@Entity
+@Table(name = "mail_dead_letters")
+public class MailDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Lob
+    private String body;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt;
+
+    public MailDeadLetter() {}
+
+    public MailDeadLetter(String recipient, String subject, String body, int attempts, String lastError) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.attempts = attempts;
+        this.lastError = lastError;
+        this.failedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getRecipient() { return recipient; }
+    public void setRecipient(String recipient) { this.recipient = recipient; }
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public LocalDateTime getFailedAt() { return failedAt; }
+    public void setFailedAt(LocalDateTime failedAt) { this.failedAt = failedAt; }
+}
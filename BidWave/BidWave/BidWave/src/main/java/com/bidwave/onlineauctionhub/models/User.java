@@ -1,9 +1,14 @@
 package com.bidwave.onlineauctionhub.models;
 
+import com.bidwave.onlineauctionhub.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_REGION)
 @Table(name = "users") // This annotation is optional if table name matches class name
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE) // All user types in one table
 @DiscriminatorColumn(name="user_role", discriminatorType = DiscriminatorType.STRING) // Column to identify role
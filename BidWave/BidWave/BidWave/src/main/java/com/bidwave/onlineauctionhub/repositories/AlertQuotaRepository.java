@@ -0,0 +1,44 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.AlertQuota;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AlertQuotaRepository extends JpaRepository<AlertQuota, Long> {
+
+    /**
+     * The users' quota rows for the day, locked until the dispatch transaction ends so dispatches on
+     * several nodes cannot overwrite each other's counts. Rows are locked in user id order to avoid
+     * deadlocks between overlapping chunks.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM AlertQuota q WHERE q.alertDate = :alertDate AND q.userId IN :userIds ORDER BY q.userId")
+    List<AlertQuota> lockForDispatch(LocalDate alertDate, Collection<Long> userIds);
+
+    // Quotas from earlier days that still have held-back alerts to summarise
+    @Query("SELECT q FROM AlertQuota q WHERE q.alertDate < :today AND q.suppressed > 0 ORDER BY q.id")
+    List<AlertQuota> findPendingDigests(LocalDate today, Pageable pageable);
+
+    /**
+     * Takes the held-back count for the digest. Returns 0 if another node has already taken it.
+     */
+    @Modifying
+    @Query("UPDATE AlertQuota q SET q.suppressed = 0 WHERE q.id = :id AND q.suppressed = :suppressed")
+    int claimDigest(Long id, int suppressed);
+
+    @Modifying
+    @Query("DELETE FROM AlertQuota q WHERE q.alertDate < :today AND q.suppressed = 0")
+    int deleteSettledBefore(LocalDate today);
+
+    @Modifying
+    @Query("DELETE FROM AlertQuota q WHERE q.userId = :userId")
+    int deleteByUserId(Long userId);
+}
@@ -0,0 +1,32 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.AnnouncementReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AnnouncementReceiptRepository extends JpaRepository<AnnouncementReceipt, Long> {
+
+    Optional<AnnouncementReceipt> findByUserIdAndAnnouncementId(Long userId, Long announcementId);
+
+    // Announcements the user has read or dismissed individually; dismissed ones never reach the feed
+    @Query("SELECT r.announcementId FROM AnnouncementReceipt r WHERE r.userId = :userId")
+    List<Long> findAnnouncementIdsByUserId(Long userId);
+
+    // Read receipts made redundant by a read watermark; dismissals stay until the cleared watermark passes them
+    @Modifying
+    @Query("DELETE FROM AnnouncementReceipt r WHERE r.userId = :userId AND r.announcementId <= :throughId " +
+            "AND r.dismissed = false")
+    int deleteReadThrough(Long userId, long throughId);
+
+    @Modifying
+    @Query("DELETE FROM AnnouncementReceipt r WHERE r.userId = :userId AND r.announcementId <= :throughId")
+    int deleteThrough(Long userId, long throughId);
+
+    @Modifying
+    @Query("DELETE FROM AnnouncementReceipt r WHERE r.userId = :userId")
+    int deleteByUserId(Long userId);
+}
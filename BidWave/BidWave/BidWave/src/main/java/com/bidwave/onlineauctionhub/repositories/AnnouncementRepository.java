@@ -1,11 +1,52 @@
 package com.bidwave.onlineauctionhub.repositories;
 
 import com.bidwave.onlineauctionhub.models.Announcement;
+import com.bidwave.onlineauctionhub.models.TargetAudience;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
 
+    String NOT_DISMISSED = "AND a.id NOT IN (SELECT r.announcementId FROM AnnouncementReceipt r " +
+            "WHERE r.userId = :userId AND r.dismissed = true) ";
+
     // Find all announcements, with the newest one first
     List<Announcement> findAllByOrderByCreatedAtDesc();
+
+    /**
+     * Announcements a user should see in their feed: newer than their cleared watermark, aimed at
+     * one of their audiences, published since they registered, not written by themselves and not
+     * dismissed individually.
+     */
+    @Query("SELECT a FROM Announcement a WHERE a.id > :afterId AND a.targetAudience IN :audiences " +
+            "AND a.createdAt >= :since AND a.createdBy.userId <> :userId " + NOT_DISMISSED +
+            "ORDER BY a.createdAt DESC, a.id ASC")
+    List<Announcement> findFeed(long afterId, Collection<TargetAudience> audiences, LocalDateTime since,
+                                Long userId, Pageable pageable);
+
+    /**
+     * The feed page after a cursor at {@code (before, beforeFeedId)}. Feed entries are ordered by
+     * creation time and then by feed id (the negated announcement id), so on a timestamp tie only
+     * announcements with an id above {@code -beforeFeedId} come later.
+     */
+    @Query("SELECT a FROM Announcement a WHERE a.id > :afterId AND a.targetAudience IN :audiences " +
+            "AND a.createdAt >= :since AND a.createdBy.userId <> :userId " + NOT_DISMISSED +
+            "AND (a.createdAt < :before OR (a.createdAt = :before AND a.id > :minTiedId)) " +
+            "ORDER BY a.createdAt DESC, a.id ASC")
+    List<Announcement> findFeedBefore(long afterId, Collection<TargetAudience> audiences, LocalDateTime since,
+                                      Long userId, LocalDateTime before, long minTiedId, Pageable pageable);
+
+    // Unread announcements: anything the user read or dismissed on its own is not counted
+    @Query("SELECT COUNT(a) FROM Announcement a WHERE a.id > :afterId AND a.targetAudience IN :audiences " +
+            "AND a.createdAt >= :since AND a.createdBy.userId <> :userId " +
+            "AND a.id NOT IN (SELECT r.announcementId FROM AnnouncementReceipt r WHERE r.userId = :userId)")
+    long countFeed(long afterId, Collection<TargetAudience> audiences, LocalDateTime since, Long userId);
+
+    @Query("SELECT COALESCE(MAX(a.id), 0) FROM Announcement a")
+    long findMaxId();
 }
@@ -0,0 +1,7 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.AnnouncementWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AnnouncementWatermarkRepository extends JpaRepository<AnnouncementWatermark, Long> {
+}
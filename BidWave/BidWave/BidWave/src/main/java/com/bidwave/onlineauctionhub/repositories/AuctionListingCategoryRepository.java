@@ -0,0 +1,28 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.AuctionListingCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AuctionListingCategoryRepository extends JpaRepository<AuctionListingCategory, Long> {
+
+    List<AuctionListingCategory> findByAuctionIdIn(Collection<Long> auctionIds);
+
+    @Modifying
+    @Query("DELETE FROM AuctionListingCategory c WHERE c.auctionId IN :auctionIds")
+    int deleteByAuctionIds(Collection<Long> auctionIds);
+
+    // Same ranges as AuctionListingRepository.deleteOrphansBetween, used by the rebuild
+    @Modifying
+    @Query("DELETE FROM AuctionListingCategory c WHERE c.auctionId > :afterId AND c.auctionId <= :throughId " +
+            "AND c.auctionId NOT IN :keepIds")
+    int deleteOrphansBetween(long afterId, long throughId, Collection<Long> keepIds);
+
+    @Modifying
+    @Query("DELETE FROM AuctionListingCategory c WHERE c.auctionId > :afterId")
+    int deleteAfter(long afterId);
+}
@@ -0,0 +1,23 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.dto.AdminAuctionViewDto;
+import com.bidwave.onlineauctionhub.dto.AuctionSummaryDto;
+import com.bidwave.onlineauctionhub.models.Auction;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Listing reads that build their DTOs in the select clause, so a page is one SQL statement
+ * instead of loading auctions, sellers, images and bids row by row.
+ */
+public interface AuctionListingQueries {
+
+    /**
+     * Summaries of the auctions matching {@code spec}; {@code limit <= 0} means no limit.
+     */
+    List<AuctionSummaryDto> findSummaries(Specification<Auction> spec, Sort sort, int limit);
+
+    List<AdminAuctionViewDto> findAdminViews(Specification<Auction> spec, Sort sort);
+}
@@ -0,0 +1,109 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.dto.AdminAuctionViewDto;
+import com.bidwave.onlineauctionhub.dto.AuctionSummaryDto;
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.AuctionImage;
+import com.bidwave.onlineauctionhub.models.Bid;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class AuctionListingQueriesImpl implements AuctionListingQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuctionSummaryDto> findSummaries(Specification<Auction> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuctionSummaryDto> query = cb.createQuery(AuctionSummaryDto.class);
+        Root<Auction> root = query.from(Auction.class);
+        Join<Object, Object> seller = root.join("seller");
+
+        query.select(cb.construct(AuctionSummaryDto.class,
+                root.get("auctionId"),
+                root.get("itemName"),
+                root.get("startPrice"),
+                root.get("endTime"),
+                root.get("status"),
+                fullName(cb, seller),
+                root.get("bidCount"),
+                primaryImageUrl(cb, query, root)));
+        applySpecAndSort(spec, sort, cb, query, root);
+
+        TypedQuery<AuctionSummaryDto> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<AdminAuctionViewDto> findAdminViews(Specification<Auction> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AdminAuctionViewDto> query = cb.createQuery(AdminAuctionViewDto.class);
+        Root<Auction> root = query.from(Auction.class);
+        Join<Object, Object> seller = root.join("seller");
+
+        // Distinct bidders still need the bids table, but as one correlated aggregate rather than a loaded collection
+        Subquery<Long> bidders = query.subquery(Long.class);
+        Root<Bid> bid = bidders.from(Bid.class);
+        bidders.select(cb.countDistinct(bid.get("buyer").get("userId")))
+                .where(cb.equal(bid.get("auction"), root));
+
+        query.select(cb.construct(AdminAuctionViewDto.class,
+                root.get("auctionId"),
+                root.get("itemName"),
+                fullName(cb, seller),
+                root.get("endTime"),
+                cb.coalesce(root.get("currentHighBid"), root.get("startPrice")),
+                bidders,
+                root.get("status")));
+        applySpecAndSort(spec, sort, cb, query, root);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Expression<String> fullName(CriteriaBuilder cb, Join<Object, Object> seller) {
+        return cb.concat(cb.concat(seller.get("firstName"), " "), seller.get("lastName"));
+    }
+
+    // The first uploaded image, i.e. the one with the lowest id
+    private static Subquery<String> primaryImageUrl(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Auction> root) {
+        Subquery<Long> firstImageId = query.subquery(Long.class);
+        Root<AuctionImage> candidate = firstImageId.from(AuctionImage.class);
+        firstImageId.select(cb.min(candidate.get("id")))
+                .where(cb.equal(candidate.get("auction"), root));
+
+        Subquery<String> imageUrl = query.subquery(String.class);
+        Root<AuctionImage> image = imageUrl.from(AuctionImage.class);
+        imageUrl.select(image.get("imageUrl"))
+                .where(cb.equal(image.get("id"), firstImageId));
+        return imageUrl;
+    }
+
+    private static void applySpecAndSort(Specification<Auction> spec, Sort sort, CriteriaBuilder cb,
+                                         CriteriaQuery<?> query, Root<Auction> root) {
+        if (spec != null) {
+            var predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.AuctionListing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AuctionListingRepository extends JpaRepository<AuctionListing, Long>, JpaSpecificationExecutor<AuctionListing> {
+
+    List<AuctionListing> findAllBySellerId(Long sellerId);
+
+    /**
+     * (auctionId, status, categoryIds) for every listing row, used to load the facet index.
+     */
+    @Query("SELECT l.auctionId, l.status, l.categoryIds FROM AuctionListing l")
+    List<Object[]> findFacetRows();
+
+    /**
+     * Copies the denormalized high bid and bid count from the auction row after a bid change.
+     */
+    @Modifying
+    @Query("UPDATE AuctionListing l SET " +
+            "l.currentPrice = (SELECT COALESCE(a.currentHighBid, a.startPrice) FROM Auction a WHERE a.auctionId = :auctionId), " +
+            "l.bidCount = (SELECT a.bidCount FROM Auction a WHERE a.auctionId = :auctionId), " +
+            "l.updatedAt = :now " +
+            "WHERE l.auctionId = :auctionId")
+    int syncBidState(Long auctionId, LocalDateTime now);
+
+    /**
+     * Removes listing rows in the id range {@code (afterId, throughId]} other than the given ids, i.e.
+     * rows whose auction no longer exists.
+     */
+    @Modifying
+    @Query("DELETE FROM AuctionListing l WHERE l.auctionId > :afterId AND l.auctionId <= :throughId " +
+            "AND l.auctionId NOT IN :keepIds")
+    int deleteOrphansBetween(long afterId, long throughId, Collection<Long> keepIds);
+
+    @Modifying
+    @Query("DELETE FROM AuctionListing l WHERE l.auctionId > :afterId")
+    int deleteAfter(long afterId);
+
+    @Modifying
+    @Query("UPDATE AuctionListing l SET l.status = :status, l.updatedAt = :now WHERE l.auctionId IN :auctionIds")
+    int updateStatus(Collection<Long> auctionIds, String status, LocalDateTime now);
+}
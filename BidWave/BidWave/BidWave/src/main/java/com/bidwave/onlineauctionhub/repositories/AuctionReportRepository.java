@@ -1,11 +1,43 @@
 package com.bidwave.onlineauctionhub.repositories;
 
 import com.bidwave.onlineauctionhub.models.AuctionReport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AuctionReportRepository extends JpaRepository<AuctionReport, Long> {
     // Find all reports, newest first
     List<AuctionReport> findAllByOrderByGeneratedDateDesc();
     boolean existsByAuction_AuctionId(Long auctionId);
+    Optional<AuctionReport> findByAuction_AuctionId(Long auctionId);
+
+    // Remember where the rendered PDFs are, so later downloads skip rendering
+    @Modifying
+    @Query("UPDATE AuctionReport r SET r.artifactHash = :hash WHERE r.reportId = :reportId")
+    int recordArtifact(Long reportId, String hash);
+
+    @Modifying
+    @Query("UPDATE AuctionReport r SET r.winnerArtifactHash = :hash WHERE r.auction.auctionId = :auctionId")
+    int recordWinnerArtifact(Long auctionId, String hash);
+
+    @Query("SELECT r.artifactHash FROM AuctionReport r WHERE r.artifactHash IS NOT NULL")
+    List<String> findArtifactHashes();
+
+    @Query("SELECT r.winnerArtifactHash FROM AuctionReport r WHERE r.winnerArtifactHash IS NOT NULL")
+    List<String> findWinnerArtifactHashes();
+
+    // All reports with everything the export prints, streamed newest first (see BidRepository.streamReportBids)
+    @Query("SELECT r FROM AuctionReport r JOIN FETCH r.auction LEFT JOIN FETCH r.winner LEFT JOIN FETCH r.createdBy " +
+            "ORDER BY r.generatedDate DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<AuctionReport> streamAllForExport();
 }
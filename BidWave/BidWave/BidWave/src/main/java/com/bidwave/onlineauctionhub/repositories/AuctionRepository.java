@@ -2,14 +2,23 @@ package com.bidwave.onlineauctionhub.repositories;
 
 import com.bidwave.onlineauctionhub.models.Auction;
 import com.bidwave.onlineauctionhub.models.AuctionReport;
+import com.bidwave.onlineauctionhub.models.Buyer;
 import com.bidwave.onlineauctionhub.models.Seller;
+import com.bidwave.onlineauctionhub.service.finalization.FinalizationCandidate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface AuctionRepository extends JpaRepository<Auction, Long>, JpaSpecificationExecutor<Auction> {
+public interface AuctionRepository extends JpaRepository<Auction, Long>, JpaSpecificationExecutor<Auction>, AuctionListingQueries {
 
     // Keep all existing methods from both versions
     List<Auction> findAllBySeller(Seller seller);
@@ -29,4 +38,95 @@ public interface AuctionRepository extends JpaRepository<Auction, Long>, JpaSpec
 
     // Count auctions by seller
     long countBySeller(Seller seller);
-}
\ No newline at end of file
+
+    // Ownership check without loading the auction or its bids
+    boolean existsByAuctionIdAndSeller_Email(Long auctionId, String email);
+
+    // Lightweight id/start price/bid count rows used to warm up the bid book
+    @Query("SELECT a.auctionId, a.startPrice, a.bidCount FROM Auction a WHERE a.status = :status")
+    List<Object[]> findBookSeedsByStatus(String status);
+
+    // Id/end time pairs used to load the deadline queue
+    @Query("SELECT a.auctionId, a.endTime FROM Auction a WHERE a.status = :status")
+    List<Object[]> findIdAndEndTimeByStatus(String status);
+
+    @Query("SELECT a.auctionId, a.endTime FROM Auction a WHERE a.status = :status AND a.endTime < :cutoff")
+    List<Object[]> findIdAndEndTimeByStatusAndEndTimeBefore(String status, LocalDateTime cutoff);
+
+    // Columns the listing read model needs beyond AuctionSummaryDto: seller id and current high bid
+    @Query("SELECT a.auctionId, a.seller.userId, a.currentHighBid FROM Auction a WHERE a.auctionId IN :auctionIds")
+    List<Object[]> findListingExtras(Collection<Long> auctionIds);
+
+    @Query("SELECT a.auctionId, c.categoryId FROM Auction a JOIN a.categories c WHERE a.auctionId IN :auctionIds")
+    List<Object[]> findCategoryIdPairs(Collection<Long> auctionIds);
+
+    @Query("SELECT a.auctionId FROM Auction a WHERE a.auctionId > :afterId ORDER BY a.auctionId")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+    // Id, name and description rows used to build the search index
+    @Query("SELECT a.auctionId, a.itemName, a.description FROM Auction a WHERE a.status = :status")
+    List<Object[]> findSearchableTextByStatus(String status);
+
+    @Query("SELECT a.auctionId FROM Auction a WHERE a.status = :status AND a.endTime < :currentTime")
+    List<Long> findIdsByStatusAndEndTimeBefore(String status, LocalDateTime currentTime);
+
+    /**
+     * Everything the finalizer needs for a chunk of expired auctions, in one query. The rows stay locked
+     * until the chunk commits, so a bid that was checked before the deadline cannot change the winner
+     * between this read and {@link #closeAuctions}; it either lands first and is read here, or waits and
+     * then finds the auction closed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.bidwave.onlineauctionhub.service.finalization.FinalizationCandidate(" +
+            "a.auctionId, a.itemName, a.currentHighBid, a.seller.userId, w.userId, a.endTime) " +
+            "FROM Auction a LEFT JOIN a.currentHighBidder w " +
+            "WHERE a.auctionId IN :auctionIds AND a.status = 'ACTIVE' AND a.endTime <= :now ORDER BY a.auctionId")
+    List<FinalizationCandidate> findFinalizationCandidates(Collection<Long> auctionIds, LocalDateTime now);
+
+    // Batched status write for finalized auctions; rows closed concurrently are left untouched
+    @Modifying
+    @Query("UPDATE Auction a SET a.status = :status, a.version = a.version + 1 " +
+            "WHERE a.auctionId IN :auctionIds AND a.status = 'ACTIVE'")
+    int closeAuctions(Collection<Long> auctionIds, String status);
+
+    // Bid write path: holds the auction row until the bid commits, so the high bidder read with it is the one being outbid
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Auction a WHERE a.auctionId = :auctionId")
+    Optional<Auction> lockById(Long auctionId);
+
+    /**
+     * Compare-and-set of the denormalized high bid. Succeeds only while the auction is ACTIVE, still open
+     * at {@code now} and the amount beats both the current high bid and the start price, so concurrent
+     * writers cannot lose updates.
+     * @param countDelta 1 for a new bid, 0 when an existing bid is raised
+     * @param now the time the bid was validated against the end time
+     * @return 1 if the high bid was taken, 0 if another bid or a status change got there first
+     */
+    @Modifying
+    @Query("UPDATE Auction a SET a.currentHighBid = :amount, a.currentHighBidder = :bidder, " +
+            "a.bidCount = a.bidCount + :countDelta, a.version = a.version + 1 " +
+            "WHERE a.auctionId = :auctionId AND a.status = 'ACTIVE' AND a.endTime > :now AND a.startPrice < :amount " +
+            "AND (a.currentHighBid IS NULL OR a.currentHighBid < :amount)")
+    int compareAndSetHighBid(Long auctionId, BigDecimal amount, Buyer bidder, int countDelta, LocalDateTime now);
+
+    // (auctionId, categoryId) pairs, for attributing analytics events to categories
+    @Query("SELECT a.auctionId, c.categoryId FROM Auction a JOIN a.categories c WHERE a.auctionId IN :auctionIds")
+    List<Object[]> findCategoryIdsFor(Collection<Long> auctionIds);
+
+    // Analytics rebuild, for a range inside one day: hour of day, closed, sold, gross sold value, per category
+    @Query("SELECT c.categoryId, extract(hour from a.endTime), COUNT(a), " +
+            "SUM(CASE WHEN a.status = 'CLOSED_SOLD' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'CLOSED_SOLD' THEN a.currentHighBid END) " +
+            "FROM Auction a JOIN a.categories c " +
+            "WHERE a.status IN ('CLOSED_SOLD', 'CLOSED_UNSOLD') AND a.endTime >= :from AND a.endTime < :to " +
+            "GROUP BY c.categoryId, extract(hour from a.endTime)")
+    List<Object[]> countClosuresByCategoryAndHour(LocalDateTime from, LocalDateTime to);
+
+    // Same across all categories, counting each auction once
+    @Query("SELECT extract(hour from a.endTime), COUNT(a), " +
+            "SUM(CASE WHEN a.status = 'CLOSED_SOLD' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN a.status = 'CLOSED_SOLD' THEN a.currentHighBid END) " +
+            "FROM Auction a WHERE a.status IN ('CLOSED_SOLD', 'CLOSED_UNSOLD') AND a.endTime >= :from AND a.endTime < :to " +
+            "GROUP BY extract(hour from a.endTime)")
+    List<Object[]> countClosuresByHour(LocalDateTime from, LocalDateTime to);
+}
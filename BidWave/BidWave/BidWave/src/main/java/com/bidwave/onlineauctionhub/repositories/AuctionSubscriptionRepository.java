@@ -0,0 +1,28 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.AuctionSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AuctionSubscriptionRepository extends JpaRepository<AuctionSubscription, Long> {
+
+    List<AuctionSubscription> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    Optional<AuctionSubscription> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    boolean existsByUserIdAndKeyword(Long userId, String keyword);
+
+    // User id, category id and keyword rows used to build the subscription index
+    @Query("SELECT s.userId, s.categoryId, s.keyword FROM AuctionSubscription s")
+    List<Object[]> findIndexRows();
+
+    @Modifying
+    @Query("DELETE FROM AuctionSubscription s WHERE s.userId = :userId")
+    int deleteByUserId(Long userId);
+}
@@ -3,18 +3,44 @@ package com.bidwave.onlineauctionhub.repositories;
 import com.bidwave.onlineauctionhub.models.Auction;
 import com.bidwave.onlineauctionhub.models.Bid;
 import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.service.bidding.BidBookEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BidRepository extends JpaRepository<Bid, Long> {
 
     Optional<Bid> findTopByAuctionOrderByBidAmountDesc(Auction auction);
 
+    // Resolves which auction (and therefore which sequencer lane) a bid belongs to
+    @Query("SELECT b.auction.auctionId FROM Bid b WHERE b.bidId = :bidId")
+    Optional<Long> findAuctionIdByBidId(Long bidId);
+
     List<Bid> findAllByAuctionOrderByBidAmountDesc(Auction auction);
 
     List<Bid> findAllByAuctionOrderByBidTimeAsc(Auction auction);
 
+    /**
+     * Bid history for reports, highest first, read through an open cursor. The fetch size of
+     * Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the
+     * whole result. Must be consumed inside a transaction and closed; the bidder is fetched in the
+     * same row because no other statement can run on the connection while the stream is open.
+     */
+    @Query("SELECT b FROM Bid b JOIN FETCH b.buyer WHERE b.auction.auctionId = :auctionId ORDER BY b.bidAmount DESC, b.bidTime")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Bid> streamReportBids(Long auctionId);
+
     long countByBuyer(Buyer buyer);
 
     long countByAuction(Auction auction);
@@ -25,4 +51,29 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     // --- NEW METHOD ---
     // Finds all bids by a specific buyer, ordered by most recent first
     List<Bid> findAllByBuyerOrderByBidTimeDesc(Buyer buyer);
-}
\ No newline at end of file
+
+    // Bid book warm-up: the top :depth bids of every auction in the given status, ranked per auction
+    @Query("SELECT new com.bidwave.onlineauctionhub.service.bidding.BidBookEntry(r.auctionId, r.bidId, r.userId, r.email, r.firstName, r.lastName, r.bidAmount, r.bidTime) " +
+            "FROM (SELECT a.auctionId AS auctionId, b.bidId AS bidId, u.userId AS userId, u.email AS email, u.firstName AS firstName, " +
+            "u.lastName AS lastName, b.bidAmount AS bidAmount, b.bidTime AS bidTime, " +
+            "row_number() OVER (PARTITION BY a.auctionId ORDER BY b.bidAmount DESC, b.bidTime) AS position " +
+            "FROM Bid b JOIN b.auction a JOIN b.buyer u WHERE a.status = :status) r " +
+            "WHERE r.position <= :depth ORDER BY r.auctionId, r.position")
+    List<BidBookEntry> findTopBookEntriesByAuctionStatus(String status, long depth);
+
+    // Bid book reload for a single auction, highest first
+    @Query("SELECT new com.bidwave.onlineauctionhub.service.bidding.BidBookEntry(a.auctionId, b.bidId, u.userId, u.email, u.firstName, u.lastName, b.bidAmount, b.bidTime) " +
+            "FROM Bid b JOIN b.auction a JOIN b.buyer u WHERE a.auctionId = :auctionId ORDER BY b.bidAmount DESC, b.bidTime")
+    List<BidBookEntry> findBookEntriesByAuctionId(Long auctionId, Pageable pageable);
+
+    // Analytics rebuild, for a range inside one day: hour of day, bids, distinct bidders, per category
+    @Query("SELECT c.categoryId, extract(hour from b.bidTime), COUNT(b), COUNT(DISTINCT b.buyer.userId) " +
+            "FROM Bid b JOIN b.auction a JOIN a.categories c WHERE b.bidTime >= :from AND b.bidTime < :to " +
+            "GROUP BY c.categoryId, extract(hour from b.bidTime)")
+    List<Object[]> countBidsByCategoryAndHour(LocalDateTime from, LocalDateTime to);
+
+    // Same across all categories, counting each bid once
+    @Query("SELECT extract(hour from b.bidTime), COUNT(b), COUNT(DISTINCT b.buyer.userId) " +
+            "FROM Bid b WHERE b.bidTime >= :from AND b.bidTime < :to GROUP BY extract(hour from b.bidTime)")
+    List<Object[]> countBidsByHour(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,46 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.CategoryHourlyStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryHourlyStatsRepository extends JpaRepository<CategoryHourlyStats, Long> {
+
+    // Adds a node's deltas in place, so several nodes can feed the same bucket. Unique bidders cannot
+    // be added up; the largest count any node has seen stands until the hour is rebuilt.
+    @Modifying
+    @Query("UPDATE CategoryHourlyStats s SET s.bidCount = s.bidCount + :bids, " +
+            "s.uniqueBidders = CASE WHEN s.uniqueBidders < :bidders THEN :bidders ELSE s.uniqueBidders END, " +
+            "s.closedCount = s.closedCount + :closed, s.soldCount = s.soldCount + :sold, " +
+            "s.grossSoldValue = s.grossSoldValue + :gross " +
+            "WHERE s.bucketStart = :bucketStart AND s.categoryId = :categoryId")
+    int addTo(LocalDateTime bucketStart, Long categoryId, long bids, int bidders, int closed, int sold, BigDecimal gross);
+
+    /**
+     * The given hours' total rows, locked so a live flush and a rebuild of the same hour serialize.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CategoryHourlyStats s WHERE s.categoryId = :categoryId AND s.bucketStart IN :hours")
+    List<CategoryHourlyStats> lockBuckets(Long categoryId, Collection<LocalDateTime> hours);
+
+    @Modifying
+    @Query("DELETE FROM CategoryHourlyStats s WHERE s.bucketStart >= :from AND s.bucketStart < :to")
+    int deleteRange(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT s FROM CategoryHourlyStats s WHERE s.categoryId = :categoryId " +
+            "AND s.bucketStart >= :from AND s.bucketStart < :to ORDER BY s.bucketStart")
+    List<CategoryHourlyStats> findSeries(Long categoryId, LocalDateTime from, LocalDateTime to);
+
+    // categoryId, bids, closed, sold, gross sold value
+    @Query("SELECT s.categoryId, SUM(s.bidCount), SUM(s.closedCount), SUM(s.soldCount), SUM(s.grossSoldValue) " +
+            "FROM CategoryHourlyStats s WHERE s.bucketStart >= :from AND s.bucketStart < :to GROUP BY s.categoryId")
+    List<Object[]> summarize(LocalDateTime from, LocalDateTime to);
+}
@@ -1,7 +1,17 @@
 package com.bidwave.onlineauctionhub.repositories;
 
 import com.bidwave.onlineauctionhub.models.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-}
\ No newline at end of file
+
+    // Categories are reference data, so the full list is served from the query cache
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+}
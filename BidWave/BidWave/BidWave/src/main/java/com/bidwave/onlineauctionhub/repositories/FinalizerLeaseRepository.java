@@ -0,0 +1,37 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.FinalizerLease;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FinalizerLeaseRepository extends JpaRepository<FinalizerLease, Integer> {
+
+    // Extends only leases that are still valid; a lapsed lease may already belong to someone else
+    @Modifying
+    @Query("UPDATE FinalizerLease l SET l.leaseUntil = :until WHERE l.ownerId = :ownerId AND l.leaseUntil >= :now")
+    int renew(String ownerId, LocalDateTime now, LocalDateTime until);
+
+    @Query("SELECT l FROM FinalizerLease l WHERE l.ownerId = :ownerId AND l.leaseUntil >= :now ORDER BY l.partitionId")
+    List<FinalizerLease> findHeldBy(String ownerId, LocalDateTime now);
+
+    /**
+     * Unowned or expired leases, locked with SKIP LOCKED so two nodes never claim the same partition.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT l FROM FinalizerLease l WHERE l.ownerId IS NULL OR l.leaseUntil < :now ORDER BY l.partitionId")
+    List<FinalizerLease> findClaimable(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE FinalizerLease l SET l.ownerId = NULL, l.leaseUntil = NULL WHERE l.ownerId = :ownerId")
+    int releaseAll(String ownerId);
+}
@@ -0,0 +1,18 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.FinalizerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface FinalizerNodeRepository extends JpaRepository<FinalizerNode, String> {
+
+    @Query("SELECT COUNT(n) FROM FinalizerNode n WHERE n.heartbeatAt >= :since")
+    long countLiveNodes(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM FinalizerNode n WHERE n.heartbeatAt < :cutoff")
+    int deleteStale(LocalDateTime cutoff);
+}
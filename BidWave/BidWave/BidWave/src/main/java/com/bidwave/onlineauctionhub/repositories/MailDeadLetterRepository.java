@@ -0,0 +1,7 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.MailDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MailDeadLetterRepository extends JpaRepository<MailDeadLetter, Long> {
+}
@@ -2,28 +2,40 @@ package com.bidwave.onlineauctionhub.repositories;
 
 import com.bidwave.onlineauctionhub.models.Notification;
 import com.bidwave.onlineauctionhub.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
-
     long countByUserAndIsReadFalse(User user);
 
     Optional<Notification> findByIdAndUser(Long id, User user);
 
-    List<Notification> findByUserAndIsReadFalse(User user);
+    // Newest notifications first; the id breaks ties between rows created in the same instant
+    @Query("SELECT n FROM Notification n WHERE n.user = :user ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeed(User user, Pageable pageable);
+
+    // The page after a cursor, i.e. rows older than (before, beforeId) in the order above
+    @Query("SELECT n FROM Notification n WHERE n.user = :user AND " +
+            "(n.createdAt < :before OR (n.createdAt = :before AND n.id < :beforeId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedBefore(User user, LocalDateTime before, long beforeId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user = :user AND n.isRead = false")
+    int markAllReadByUser(User user);
 
-    // --- ADD THIS NEW METHOD ---
     /**
-     * Deletes all notifications associated with a specific user.
-     * This is used when deleting a user account.
-     * @param user The user whose notifications should be deleted.
+     * Deletes all notifications of a user in one statement. Used by "clear all" and when the
+     * account is deleted.
      */
-    @Transactional
-    void deleteAllByUser(User user);
-}
\ No newline at end of file
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user = :user")
+    int deleteAllByUser(User user);
+}
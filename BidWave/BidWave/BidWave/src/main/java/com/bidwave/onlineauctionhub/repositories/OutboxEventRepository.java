@@ -0,0 +1,36 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next batch of deliverable events, skipping rows another relay has already locked
+     * (a lock timeout of -2 is rendered as SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' AND e.availableAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findClaimable(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'SENT', e.processedAt = :now WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int markSent(Collection<Long> ids, LocalDateTime now);
+
+    // Housekeeping: drop delivered events once they are no longer useful for troubleshooting
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'SENT' AND e.processedAt < :cutoff")
+    int deleteSentBefore(LocalDateTime cutoff);
+}
@@ -1,8 +1,12 @@
 package com.bidwave.onlineauctionhub.repositories;
 
+import com.bidwave.onlineauctionhub.config.SecondLevelCacheConfig;
 import com.bidwave.onlineauctionhub.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -10,7 +14,11 @@ import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    // Custom query to find a user by their email address
+    // Custom query to find a user by their email address; the result is held in the query cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_BY_EMAIL_REGION)
+    })
     Optional<User> findByEmail(String email);
 
     /**
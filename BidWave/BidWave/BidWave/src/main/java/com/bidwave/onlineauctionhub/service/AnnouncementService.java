@@ -1,36 +1,67 @@
 package com.bidwave.onlineauctionhub.service;
 
+import com.bidwave.onlineauctionhub.dto.NotificationDto;
 import com.bidwave.onlineauctionhub.models.*;
+import com.bidwave.onlineauctionhub.repositories.AnnouncementReceiptRepository;
 import com.bidwave.onlineauctionhub.repositories.AnnouncementRepository;
+import com.bidwave.onlineauctionhub.repositories.AnnouncementWatermarkRepository;
 import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Announcements are stored once and fanned out on read.
+ * <p>
+ * Publishing writes a single row and sends one broadcast to {@code /topic/announcements/{audience}}
+ * for users who are online. Each user's notification feed merges in the announcements aimed at
+ * them, and a per-user {@link AnnouncementWatermark} records how far they have read and cleared.
+ * Announcements read or deleted one at a time above the watermarks are kept as
+ * {@link AnnouncementReceipt}s until a watermark catches up with them.
+ * Feed entries use the negated announcement id so they never collide with notification ids.
+ */
 @Service
 @Transactional
 public class AnnouncementService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AnnouncementService.class);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(2000, 1, 1, 0, 0);
+
     private final AnnouncementRepository announcementRepository;
+    private final AnnouncementWatermarkRepository watermarkRepository;
+    private final AnnouncementReceiptRepository receiptRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UnreadCountTracker unreadCountTracker;
 
     @Autowired
     public AnnouncementService(AnnouncementRepository announcementRepository,
+                               AnnouncementWatermarkRepository watermarkRepository,
+                               AnnouncementReceiptRepository receiptRepository,
                                UserRepository userRepository,
-                               NotificationService notificationService) {
+                               SimpMessagingTemplate messagingTemplate,
+                               UnreadCountTracker unreadCountTracker) {
         this.announcementRepository = announcementRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.receiptRepository = receiptRepository;
         this.userRepository = userRepository;
-        this.notificationService = notificationService;
+        this.messagingTemplate = messagingTemplate;
+        this.unreadCountTracker = unreadCountTracker;
     }
 
     /**
-     * Creates a new announcement, saves it, and sends notifications to the target audience.
+     * Creates a new announcement and pushes it to the online members of its audience.
      */
     public void createAnnouncement(String content, TargetAudience targetAudience, String adminEmail) {
         User admin = userRepository.findByEmail(adminEmail)
@@ -39,7 +70,11 @@ public class AnnouncementService {
         Announcement announcement = new Announcement(content, targetAudience, admin);
         announcementRepository.save(announcement);
 
-        sendNotificationsFor(announcement);
+        NotificationDto feedEntry = toFeedEntry(announcement, false);
+        // Every count in the audience just went up by one; bump the cached ones in place and push them
+        String role = audienceRole(targetAudience);
+        AfterCommit.run(() -> unreadCountTracker.adjustAudience(role, 1));
+        AfterCommit.run(() -> broadcast(targetAudience, feedEntry));
     }
 
     /**
@@ -50,36 +85,129 @@ public class AnnouncementService {
     }
 
     /**
-     * Helper method to send in-app notifications to the correct users.
+     * Up to {@code limit} announcements the user has not cleared, as notification feed entries,
+     * starting after the cursor (or from the newest when it is null).
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getFeed(User user, NotificationCursor before, int limit) {
+        AnnouncementWatermark watermark = watermarkFor(user);
+        PageRequest page = PageRequest.of(0, limit);
+        List<Announcement> announcements = before == null
+                ? announcementRepository.findFeed(watermark.getClearedThrough(), audiencesFor(user), since(user),
+                        user.getUserId(), page)
+                : announcementRepository.findFeedBefore(watermark.getClearedThrough(), audiencesFor(user), since(user),
+                        user.getUserId(), before.createdAt(), -before.id(), page);
+        // Dismissed receipts are already filtered out, so any receipt left in the page means read
+        Set<Long> receipts = new HashSet<>(receiptRepository.findAnnouncementIdsByUserId(user.getUserId()));
+        return announcements.stream()
+                .map(a -> toFeedEntry(a, a.getId() <= watermark.getReadThrough() || receipts.contains(a.getId())))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public long countUnread(User user) {
+        AnnouncementWatermark watermark = watermarkFor(user);
+        long after = Math.max(watermark.getReadThrough(), watermark.getClearedThrough());
+        return announcementRepository.countFeed(after, audiencesFor(user), since(user), user.getUserId());
+    }
+
+    /**
+     * Marks a single announcement as read.
      */
-    private void sendNotificationsFor(Announcement announcement) {
-        List<User> targetUsers = new ArrayList<>();
-        String message = "New Admin Announcement: " + announcement.getContent().substring(0, Math.min(announcement.getContent().length(), 50)) + "...";
-
-        // Get the admin who created the announcement
-        User sendingAdmin = announcement.getCreatedBy();
-
-        switch (announcement.getTargetAudience()) {
-            case ALL:
-                targetUsers = userRepository.findAll();
-                break;
-            case BUYERS:
-                targetUsers = userRepository.findAllByUserRole(Buyer.class);
-                break;
-            case SELLERS:
-                targetUsers = userRepository.findAllByUserRole(Seller.class);
-                break;
+    public void markRead(User user, long announcementId) {
+        if (announcementId <= watermarkFor(user).getReadThrough()) {
+            return;
         }
+        receiptRepository.findByUserIdAndAnnouncementId(user.getUserId(), announcementId)
+                .orElseGet(() -> receiptRepository.save(new AnnouncementReceipt(user.getUserId(), announcementId)));
+    }
 
-        // --- THE FIX: Filter out the sending admin from the recipient list ---
-        List<User> finalRecipients = targetUsers.stream()
-                .filter(user -> !user.getUserId().equals(sendingAdmin.getUserId()))
-                .collect(Collectors.toList());
-        // --- END OF FIX ---
+    /**
+     * Marks every announcement up to now as read.
+     */
+    public void markAllRead(User user) {
+        AnnouncementWatermark watermark = watermarkFor(user);
+        watermark.setReadThrough(Math.max(watermark.getReadThrough(), announcementRepository.findMaxId()));
+        watermarkRepository.save(watermark);
+        receiptRepository.deleteReadThrough(user.getUserId(), watermark.getReadThrough());
+    }
+
+    /**
+     * Removes a single announcement from the user's feed.
+     */
+    public void dismiss(User user, long announcementId) {
+        if (announcementId <= watermarkFor(user).getClearedThrough()) {
+            return;
+        }
+        AnnouncementReceipt receipt = receiptRepository.findByUserIdAndAnnouncementId(user.getUserId(), announcementId)
+                .orElseGet(() -> new AnnouncementReceipt(user.getUserId(), announcementId));
+        receipt.setDismissed(true);
+        receiptRepository.save(receipt);
+    }
+
+    /**
+     * Removes every announcement up to now from the user's feed.
+     */
+    public void clearAll(User user) {
+        AnnouncementWatermark watermark = watermarkFor(user);
+        long maxId = announcementRepository.findMaxId();
+        watermark.setClearedThrough(Math.max(watermark.getClearedThrough(), maxId));
+        watermark.setReadThrough(Math.max(watermark.getReadThrough(), maxId));
+        watermarkRepository.save(watermark);
+        receiptRepository.deleteThrough(user.getUserId(), watermark.getClearedThrough());
+    }
+
+    public void deleteReadState(Long userId) {
+        receiptRepository.deleteByUserId(userId);
+        watermarkRepository.deleteById(userId);
+    }
+
+    public static boolean isFeedEntryId(Long feedId) {
+        return feedId != null && feedId < 0;
+    }
+
+    public static long announcementIdOf(Long feedId) {
+        return -feedId;
+    }
+
+    private void broadcast(TargetAudience audience, NotificationDto feedEntry) {
+        try {
+            messagingTemplate.convertAndSend("/topic/announcements/" + audience.name(), feedEntry);
+        } catch (Exception e) {
+            logger.error("Failed to broadcast announcement {}: {}", feedEntry.id(), e.getMessage());
+        }
+    }
+
+    private AnnouncementWatermark watermarkFor(User user) {
+        return watermarkRepository.findById(user.getUserId())
+                .orElseGet(() -> new AnnouncementWatermark(user.getUserId()));
+    }
 
-        // Now, loop through the corrected list of recipients.
-        for (User user : finalRecipients) {
-            notificationService.createNotification(user, message);
+    private static List<TargetAudience> audiencesFor(User user) {
+        if (user instanceof Buyer) {
+            return List.of(TargetAudience.ALL, TargetAudience.BUYERS);
         }
+        if (user instanceof Seller) {
+            return List.of(TargetAudience.ALL, TargetAudience.SELLERS);
+        }
+        return List.of(TargetAudience.ALL);
+    }
+
+    private static String audienceRole(TargetAudience audience) {
+        return switch (audience) {
+            case BUYERS -> "ROLE_BUYER";
+            case SELLERS -> "ROLE_SELLER";
+            default -> null;
+        };
+    }
+
+    private static LocalDateTime since(User user) {
+        return user.getRegistrationDate() != null ? user.getRegistrationDate() : BEGINNING;
+    }
+
+    private static NotificationDto toFeedEntry(Announcement announcement, boolean read) {
+        String content = announcement.getContent();
+        String message = "New Admin Announcement: " + content.substring(0, Math.min(content.length(), 50)) + "...";
+        return new NotificationDto(-announcement.getId(), message, read, announcement.getCreatedAt());
     }
-}
\ No newline at end of file
+}
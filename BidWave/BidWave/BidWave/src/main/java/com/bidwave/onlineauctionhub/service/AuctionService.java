@@ -3,9 +3,22 @@ package com.bidwave.onlineauctionhub.service;
 import com.bidwave.onlineauctionhub.dto.*;
 import com.bidwave.onlineauctionhub.models.*;
 import com.bidwave.onlineauctionhub.repositories.*;
-import com.bidwave.onlineauctionhub.service.finalization.FinalizationStrategy;
+import com.bidwave.onlineauctionhub.service.alerts.NewAuctionAlertDispatcher;
+import com.bidwave.onlineauctionhub.service.bidding.AuctionBidBook;
+import com.bidwave.onlineauctionhub.service.bidding.BidBookEngine;
+import com.bidwave.onlineauctionhub.service.bidding.BidBookEntry;
+import com.bidwave.onlineauctionhub.service.finalization.AuctionDeadlineQueue;
+import com.bidwave.onlineauctionhub.service.finalization.AuctionFinalizationEngine;
+import com.bidwave.onlineauctionhub.service.finalization.FinalizerLeaseManager;
+import com.bidwave.onlineauctionhub.service.listing.AuctionFacetIndex;
+import com.bidwave.onlineauctionhub.service.listing.AuctionKeyset;
+import com.bidwave.onlineauctionhub.service.listing.AuctionListingProjector;
+import com.bidwave.onlineauctionhub.service.reporting.DashboardMetrics;
+import com.bidwave.onlineauctionhub.service.search.AuctionSearchIndex;
 import com.bidwave.onlineauctionhub.service.validation.AuctionValidationStrategy;
-import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +31,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -31,6 +45,10 @@ import java.util.stream.Collectors;
 public class AuctionService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuctionService.class);
+    private static final int CLOSE_BATCH_LIMIT = 10_000;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_ID_FILTER = 1000;
+    private static final int MAX_SCAN_BATCH = 2000;
 
     private final AuctionRepository auctionRepository;
     private final UserRepository userRepository;
@@ -38,13 +56,20 @@ public class AuctionService {
     private final BidRepository bidRepository;
     private final EmailService emailService;
     private final AdminRepository adminRepository;
-    private final BuyerRepository buyerRepository;
     private final NotificationService notificationService;
     private final FileStorageService fileStorageService;
     private final AuctionValidationStrategy validationStrategy;
-    private final List<FinalizationStrategy> finalizationStrategies;
+    private final AuctionFinalizationEngine finalizationEngine;
+    private final FinalizerLeaseManager leaseManager;
+    private final AuctionSearchIndex searchIndex;
+    private final AuctionFacetIndex facetIndex;
+    private final AuctionListingRepository listingRepository;
+    private final AuctionListingProjector listingProjector;
     private final SimpMessagingTemplate messagingTemplate;
-    private final ReportService reportService;
+    private final DashboardMetrics dashboardMetrics;
+    private final BidBookEngine bidBookEngine;
+    private final AuctionDeadlineQueue deadlineQueue;
+    private final NewAuctionAlertDispatcher alertDispatcher;
 
     @Autowired
     public AuctionService(
@@ -54,26 +79,40 @@ public class AuctionService {
             BidRepository bidRepository,
             EmailService emailService,
             AdminRepository adminRepository,
-            BuyerRepository buyerRepository,
             NotificationService notificationService,
             FileStorageService fileStorageService,
             AuctionValidationStrategy validationStrategy,
-            List<FinalizationStrategy> finalizationStrategies,
+            AuctionFinalizationEngine finalizationEngine,
+            FinalizerLeaseManager leaseManager,
+            AuctionSearchIndex searchIndex,
+            AuctionFacetIndex facetIndex,
+            AuctionListingRepository listingRepository,
+            AuctionListingProjector listingProjector,
             SimpMessagingTemplate messagingTemplate,
-            ReportService reportService) {
+            DashboardMetrics dashboardMetrics,
+            BidBookEngine bidBookEngine,
+            AuctionDeadlineQueue deadlineQueue,
+            NewAuctionAlertDispatcher alertDispatcher) {
         this.auctionRepository = auctionRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.bidRepository = bidRepository;
         this.emailService = emailService;
         this.adminRepository = adminRepository;
-        this.buyerRepository = buyerRepository;
         this.notificationService = notificationService;
         this.fileStorageService = fileStorageService;
         this.validationStrategy = validationStrategy;
-        this.finalizationStrategies = finalizationStrategies;
+        this.finalizationEngine = finalizationEngine;
+        this.leaseManager = leaseManager;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.listingRepository = listingRepository;
+        this.listingProjector = listingProjector;
         this.messagingTemplate = messagingTemplate;
-        this.reportService = reportService;
+        this.dashboardMetrics = dashboardMetrics;
+        this.bidBookEngine = bidBookEngine;
+        this.deadlineQueue = deadlineQueue;
+        this.alertDispatcher = alertDispatcher;
     }
 
     public Auction createAuction(AuctionCreateRequest request, MultipartFile[] imageFiles, String sellerEmail) {
@@ -110,6 +149,9 @@ public class AuctionService {
         }
 
         Auction savedAuction = auctionRepository.save(auction);
+        listingProjector.project(savedAuction.getAuctionId());
+
+        dashboardMetrics.auctionCreated(savedAuction.getStatus());
 
         // Notify admins for approval
         List<Admin> admins = adminRepository.findAll();
@@ -119,28 +161,26 @@ public class AuctionService {
             emailService.sendAdminApprovalNotification(admin.getEmail(), savedAuction);
         }
 
-        // Broadcast real-time dashboard update after new auction creation
-        reportService.broadcastDashboardUpdate();
-
         return savedAuction;
     }
 
-    public List<AuctionSummaryDto> getActiveAuctions(String searchTerm, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, String sort) {
-        Specification<Auction> spec = (root, query, cb) -> cb.equal(root.get("status"), "ACTIVE");
+    /**
+     * One keyset-paginated page of ACTIVE auctions, read from the auction_listing read model.
+     * Pass the previous page's {@code nextCursor} to continue; a missing or foreign cursor starts
+     * from the first page.
+     */
+    public AuctionPageDto getActiveAuctions(String searchTerm, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                            String sort, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Specification<AuctionListing> spec = (root, query, cb) -> cb.equal(root.get("status"), "ACTIVE");
 
-        if (searchTerm != null && !searchTerm.isBlank()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.or(
-                            cb.like(root.get("itemName"), "%" + searchTerm + "%"),
-                            cb.like(root.get("description"), "%" + searchTerm + "%")
-                    )
-            );
-        }
+        // Category membership comes from the bitmap index; an empty category never reaches the database
+        RoaringBitmap inCategory = null;
         if (categoryId != null && categoryId > 0) {
-            spec = spec.and((root, query, cb) -> {
-                Join<Auction, Category> categoryJoin = root.join("categories");
-                return cb.equal(categoryJoin.get("categoryId"), categoryId);
-            });
+            inCategory = facetIndex.matching(categoryId, "ACTIVE");
+            if (inCategory.isEmpty()) {
+                return AuctionPageDto.empty();
+            }
         }
         if (minPrice != null) {
             spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startPrice"), minPrice));
@@ -149,20 +189,138 @@ public class AuctionService {
             spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("startPrice"), maxPrice));
         }
 
-        Sort sortOrder = Sort.by("endTime").ascending();
-        if ("newly_listed".equals(sort)) sortOrder = Sort.by("auctionId").descending();
-        else if ("price_asc".equals(sort)) sortOrder = Sort.by("startPrice").ascending();
-        else if ("price_desc".equals(sort)) sortOrder = Sort.by("startPrice").descending();
+        // Text matching is answered by the in-memory index; the database only hydrates the matching ids
+        RoaringBitmap restrictTo = null;
+        if (searchTerm != null && !searchTerm.isBlank()) {
+            RoaringBitmap matches = searchIndex.matching(searchTerm);
+            if (inCategory != null) {
+                matches.and(inCategory);
+            }
+            if (matches.isEmpty()) {
+                return AuctionPageDto.empty();
+            }
+            if (AuctionKeyset.BEST_MATCH.equals(sort)) {
+                List<Long> rankedIds = searchIndex.search(searchTerm, matches);
+                return bestMatchPage(spec, rankedIds, AuctionKeyset.decodeRankPosition(cursor), pageSize);
+            }
+            restrictTo = matches;
+        } else if (inCategory != null) {
+            spec = spec.and(categoryFilter(categoryId, inCategory));
+        }
 
-        List<Auction> auctions = auctionRepository.findAll(spec, sortOrder);
-        return auctions.stream().map(AuctionSummaryDto::fromEntity).collect(Collectors.toList());
+        AuctionKeyset keyset = AuctionKeyset.fromSortName(sort);
+        Optional<AuctionKeyset.Cursor> after = keyset.decode(cursor);
+        if (after.isPresent()) {
+            spec = spec.and(keyset.after(after.get()));
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<AuctionListing> listings = restrictTo != null
+                ? pageWithin(spec, restrictTo, keyset, pageSize + 1)
+                : listingRepository.findBy(spec, q -> q.sortBy(keyset.sort()).limit(pageSize + 1).all());
+        List<AuctionSummaryDto> rows = listings.stream().map(AuctionSummaryDto::fromListing).collect(Collectors.toList());
+        boolean hasMore = rows.size() > pageSize;
+        List<AuctionSummaryDto> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? keyset.encode(page.get(page.size() - 1)) : null;
+        return new AuctionPageDto(page, nextCursor, hasMore);
+    }
+
+    /**
+     * The first {@code limit} rows in keyset order among the given ids. A small set goes out as one
+     * IN list. A larger one is found by walking the listing in keyset order a batch at a time and
+     * keeping the rows whose id is in the set, stopping as soon as the page is full; batches are sized
+     * from the share of ACTIVE auctions the set covers, so a common term is usually answered by the
+     * first batch.
+     */
+    private List<AuctionListing> pageWithin(Specification<AuctionListing> spec, RoaringBitmap ids,
+                                            AuctionKeyset keyset, int limit) {
+        int matches = ids.getCardinality();
+        if (matches <= MAX_ID_FILTER) {
+            List<Long> inIds = new ArrayList<>(matches);
+            ids.forEach((int id) -> inIds.add((long) id));
+            return listingRepository.findBy(spec.and((root, query, cb) -> root.get("auctionId").in(inIds)),
+                    q -> q.sortBy(keyset.sort()).limit(limit).all());
+        }
+
+        long active = Math.max(facetIndex.countWithStatus("ACTIVE"), matches);
+        int batch = (int) Math.min(MAX_SCAN_BATCH, Math.max(limit, 2L * limit * active / matches));
+        List<AuctionListing> page = new ArrayList<>(limit);
+        Specification<AuctionListing> remaining = spec;
+        while (true) {
+            List<AuctionListing> scanned = listingRepository.findBy(remaining, q -> q.sortBy(keyset.sort()).limit(batch).all());
+            for (AuctionListing listing : scanned) {
+                if (ids.contains(Math.toIntExact(listing.getAuctionId()))) {
+                    page.add(listing);
+                    if (page.size() == limit) {
+                        return page;
+                    }
+                }
+            }
+            if (scanned.size() < batch) {
+                return page;
+            }
+            remaining = spec.and(keyset.after(keyset.cursorOf(scanned.get(scanned.size() - 1))));
+        }
+    }
+
+    /**
+     * Small categories are matched by id straight from the bitmap; large ones go through the indexed
+     * auction_listing_category table rather than a huge IN list.
+     */
+    private Specification<AuctionListing> categoryFilter(Long categoryId, RoaringBitmap inCategory) {
+        if (inCategory.getCardinality() <= MAX_ID_FILTER) {
+            List<Long> ids = new ArrayList<>(inCategory.getCardinality());
+            inCategory.forEach((int id) -> ids.add((long) id));
+            return (root, query, cb) -> root.get("auctionId").in(ids);
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> members = query.subquery(Long.class);
+            Root<AuctionListingCategory> category = members.from(AuctionListingCategory.class);
+            members.select(category.get("auctionId")).where(cb.equal(category.get("categoryId"), categoryId));
+            return root.get("auctionId").in(members);
+        };
+    }
+
+    /**
+     * Number of ACTIVE auctions per category id, restricted to the search results when a term is given.
+     */
+    public Map<Long, Integer> getCategoryFacetCounts(String searchTerm) {
+        RoaringBitmap restrictTo = null;
+        if (searchTerm != null && !searchTerm.isBlank()) {
+            restrictTo = searchIndex.matching(searchTerm);
+        }
+        return facetIndex.facetCounts("ACTIVE", restrictTo);
+    }
+
+    private AuctionPageDto bestMatchPage(Specification<AuctionListing> filters, List<Long> rankedIds, int position, int pageSize) {
+        List<AuctionSummaryDto> items = new ArrayList<>();
+        int next = Math.max(0, position);
+        // Walk the ranking a window at a time; filters may drop some ids, so keep going until the page is full
+        while (items.size() < pageSize && next < rankedIds.size()) {
+            List<Long> window = rankedIds.subList(next, Math.min(rankedIds.size(), next + pageSize));
+            Map<Long, AuctionListing> found = new HashMap<>();
+            listingRepository.findAll(filters.and((root, query, cb) -> root.get("auctionId").in(window)))
+                    .forEach(listing -> found.put(listing.getAuctionId(), listing));
+            for (Long auctionId : window) {
+                next++;
+                AuctionListing listing = found.get(auctionId);
+                if (listing != null) {
+                    items.add(AuctionSummaryDto.fromListing(listing));
+                    if (items.size() == pageSize) {
+                        break;
+                    }
+                }
+            }
+        }
+        boolean hasMore = next < rankedIds.size();
+        return new AuctionPageDto(items, hasMore ? AuctionKeyset.encodeRankPosition(next) : null, hasMore);
     }
 
     public List<AuctionSummaryDto> getAuctionsForSeller(String sellerEmail) {
         Seller seller = (Seller) userRepository.findByEmail(sellerEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Seller not found"));
-        return auctionRepository.findAllBySeller(seller).stream()
-                .map(AuctionSummaryDto::fromEntity)
+        return listingRepository.findAllBySellerId(seller.getUserId()).stream()
+                .map(AuctionSummaryDto::fromListing)
                 .collect(Collectors.toList());
     }
 
@@ -184,6 +342,20 @@ public class AuctionService {
         return SellerAuctionDetailDto.fromEntity(auction, bids);
     }
 
+    /**
+     * Throws unless the seller owns the auction, without loading the auction or its bids.
+     */
+    @Transactional(readOnly = true)
+    public void checkSellerOwnsAuction(Long auctionId, String sellerEmail) {
+        if (auctionRepository.existsByAuctionIdAndSeller_Email(auctionId, sellerEmail)) {
+            return;
+        }
+        if (!auctionRepository.existsById(auctionId)) {
+            throw new RuntimeException("Auction not found");
+        }
+        throw new AccessDeniedException("You are not the owner of this auction.");
+    }
+
     /**
      * Gets all auctions for the admin view without any filtering.
      * This is an overloaded method to fix the controller error.
@@ -204,28 +376,25 @@ public class AuctionService {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
         }
 
-        List<Auction> auctions = auctionRepository.findAll(spec, Sort.by("endTime").descending());
-        return auctions.stream().map(AdminAuctionViewDto::fromEntity).collect(Collectors.toList());
+        return auctionRepository.findAdminViews(spec, Sort.by("endTime").descending());
     }
 
     public AuctionDetailsDto updateAuctionStatus(Long auctionId, UpdateAuctionStatusRequest statusRequest) {
         Auction auction = auctionRepository.findById(auctionId)
                 .orElseThrow(() -> new RuntimeException("Auction not found with ID: " + auctionId));
 
+        String previousStatus = auction.getStatus();
         String newStatus = statusRequest.status();
         auction.setStatus(newStatus);
+        dashboardMetrics.auctionStatusChanged(previousStatus, newStatus);
 
         if ("ACTIVE".equalsIgnoreCase(newStatus)) {
             notificationService.createNotification(auction.getSeller(),
                     "Your auction '" + auction.getItemName() + "' has been approved!");
             emailService.sendSellerAuctionApprovedNotification(auction.getSeller().getEmail(), auction);
 
-            // Consider changing this to a more scalable notification strategy
-            List<Buyer> buyers = buyerRepository.findAll();
-            for (Buyer buyer : buyers) {
-                notificationService.createNotification(buyer, "A new item is up for auction: " + auction.getItemName());
-                emailService.sendNewAuctionNotificationToBuyer(buyer.getEmail(), auction);
-            }
+            // Only buyers following the auction's categories or keywords hear about it, through the outbox
+            alertDispatcher.enqueue(auction);
         } else if ("DISAPPROVED".equalsIgnoreCase(newStatus)) {
             notificationService.createNotification(auction.getSeller(),
                     "Your auction '" + auction.getItemName() + "' was disapproved.");
@@ -233,13 +402,13 @@ public class AuctionService {
         }
 
         Auction updatedAuction = auctionRepository.save(auction);
+        listingProjector.project(auctionId);
+        AfterCommit.run(() -> bidBookEngine.refresh(auctionId));
+        trackActiveAuction(updatedAuction);
 
         // Broadcast status update via WebSocket
         broadcastAuctionStatusUpdate(updatedAuction);
 
-        // Broadcast real-time dashboard update after auction status change
-        reportService.broadcastDashboardUpdate();
-
         return AuctionDetailsDto.fromEntity(updatedAuction);
     }
 
@@ -250,9 +419,11 @@ public class AuctionService {
             throw new IllegalStateException("Cannot delete auction: Bids have already been placed.");
         }
         auctionRepository.deleteById(auctionId);
-
-        // Broadcast real-time dashboard update after auction deletion
-        reportService.broadcastDashboardUpdate();
+        dashboardMetrics.auctionDeleted(auction.getStatus());
+        listingProjector.remove(auctionId);
+        AfterCommit.run(() -> bidBookEngine.evict(auctionId));
+        AfterCommit.run(() -> deadlineQueue.cancel(auctionId));
+        AfterCommit.run(() -> searchIndex.remove(auctionId));
     }
 
     public void deleteSellerAuction(Long auctionId, String sellerEmail) {
@@ -265,9 +436,11 @@ public class AuctionService {
             throw new IllegalStateException("Cannot delete auction: Bids have already been placed.");
         }
         auctionRepository.delete(auction);
-
-        // Broadcast real-time dashboard update after auction deletion
-        reportService.broadcastDashboardUpdate();
+        dashboardMetrics.auctionDeleted(auction.getStatus());
+        listingProjector.remove(auctionId);
+        AfterCommit.run(() -> bidBookEngine.evict(auctionId));
+        AfterCommit.run(() -> deadlineQueue.cancel(auctionId));
+        AfterCommit.run(() -> searchIndex.remove(auctionId));
     }
 
     public Auction updateSellerAuction(Long auctionId, AuctionUpdateRequest request, String sellerEmail) {
@@ -286,39 +459,62 @@ public class AuctionService {
         auction.setEndTime(request.endTime());
         auction.setCategories(new HashSet<>(categoryRepository.findAllById(request.categoryIds())));
 
-        return auctionRepository.save(auction);
+        Auction savedAuction = auctionRepository.save(auction);
+        listingProjector.project(auctionId);
+        AfterCommit.run(() -> bidBookEngine.refresh(auctionId));
+        trackActiveAuction(savedAuction);
+        return savedAuction;
     }
 
-    @Scheduled(fixedRate = 60000)
-    public void finalizeExpiredAuctions() {
-        List<Auction> expiredAuctions =
-                auctionRepository.findAllByStatusAndEndTimeBefore("ACTIVE", LocalDateTime.now());
-
-        boolean updated = false;
-        for (Auction auction : expiredAuctions) {
-            try {
-                // Use hardcoded "STANDARD" instead of getAuctionType()
-                String auctionType = "STANDARD";
-                FinalizationStrategy strategy = finalizationStrategies.stream()
-                        .filter(s -> s.getSupportedAuctionType().equalsIgnoreCase(auctionType))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException("No finalization strategy found for type: " + auctionType));
-
-                strategy.finalizeAuction(auction);
-                Auction savedAuction = auctionRepository.save(auction);
-                updated = true;
-
-                // Broadcast status update via WebSocket
-                broadcastAuctionStatusUpdate(savedAuction);
-
-            } catch (Exception e) {
-                logger.error("Error finalizing auction {}: {}", auction.getAuctionId(), e.getMessage(), e);
-            }
+    /**
+     * Keeps the deadline queue and search index in step with an auction's status, end time and text
+     * once the change commits.
+     */
+    private void trackActiveAuction(Auction auction) {
+        Long auctionId = auction.getAuctionId();
+        LocalDateTime endTime = auction.getEndTime();
+        String itemName = auction.getItemName();
+        String description = auction.getDescription();
+        if ("ACTIVE".equals(auction.getStatus())) {
+            AfterCommit.run(() -> {
+                deadlineQueue.schedule(auctionId, endTime);
+                searchIndex.index(auctionId, itemName, description);
+            });
+        } else {
+            AfterCommit.run(() -> {
+                deadlineQueue.cancel(auctionId);
+                searchIndex.remove(auctionId);
+            });
         }
+    }
 
-        // If any auctions were updated, broadcast dashboard update
-        if (updated) {
-            reportService.broadcastDashboardUpdate();
+    /**
+     * Closes auctions whose deadline has passed, as reported by the in-memory deadline queue.
+     * Chunks are finalized in their own transactions by the finalization engine.
+     */
+    @Scheduled(fixedDelayString = "${bidwave.closing.tick-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void closeDueAuctions() {
+        List<Long> dueIds;
+        do {
+            dueIds = deadlineQueue.pollDue(LocalDateTime.now(), CLOSE_BATCH_LIMIT);
+            // Auctions in partitions leased by another node are closed there
+            finalizationEngine.finalizeAuctions(dueIds.stream().filter(leaseManager::owns).toList());
+        } while (dueIds.size() == CLOSE_BATCH_LIMIT);
+    }
+
+    /**
+     * Safety net for auctions the deadline queue missed (e.g. rows changed outside this application).
+     * Runs rarely and uses the (status, end_time) index.
+     */
+    @Scheduled(fixedDelayString = "${bidwave.closing.safety-scan-ms:600000}", initialDelayString = "${bidwave.closing.safety-scan-ms:600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void finalizeExpiredAuctions() {
+        List<Long> expiredIds = auctionRepository.findIdsByStatusAndEndTimeBefore("ACTIVE", LocalDateTime.now())
+                .stream().filter(leaseManager::owns).toList();
+        if (!expiredIds.isEmpty()) {
+            logger.warn("Safety scan found {} expired auctions not closed by the deadline queue", expiredIds.size());
+            finalizationEngine.finalizeAuctions(expiredIds);
         }
     }
 
@@ -343,23 +539,32 @@ public class AuctionService {
         // Use findById instead of findByIdWithImages if the custom method doesn't exist
         Auction auction = auctionRepository.findById(auctionId)
                 .orElseThrow(() -> new RuntimeException("Auction not found"));
-        List<Bid> topBids = bidRepository.findTop5ByAuctionOrderByBidAmountDesc(auction);
+        List<BidBookEntry> topBids = bidBookEngine.getTopBids(auction);
 
         List<String> labels = topBids.stream()
-                .map(bid -> bid.getBuyer().getFirstName() + " " + bid.getBuyer().getLastName())
+                .map(BidBookEntry::bidderFullName)
                 .collect(Collectors.toList());
         List<BigDecimal> data = topBids.stream()
-                .map(Bid::getBidAmount)
+                .map(BidBookEntry::amount)
                 .collect(Collectors.toList());
 
         return new AuctionChartDataDto(labels, data);
     }
 
     public CurrentHighestBidDto getCurrentHighestBid(Long auctionId) {
-        // Use findById instead of findByIdWithImages if the custom method doesn't exist
-        Auction auction = auctionRepository.findById(auctionId)
-                .orElseThrow(() -> new RuntimeException("Auction not found"));
-        Optional<Bid> highestBidOpt = bidRepository.findTopByAuctionOrderByBidAmountDesc(auction);
+        // ACTIVE auctions are answered entirely from the in-memory bid book
+        BigDecimal startPrice;
+        Optional<BidBookEntry> highestBidOpt;
+        Optional<AuctionBidBook> book = bidBookEngine.find(auctionId);
+        if (book.isPresent()) {
+            startPrice = book.get().getStartPrice();
+            highestBidOpt = book.get().getHighestBid();
+        } else {
+            Auction auction = auctionRepository.findById(auctionId)
+                    .orElseThrow(() -> new RuntimeException("Auction not found"));
+            startPrice = auction.getStartPrice();
+            highestBidOpt = bidBookEngine.getHighestBid(auction);
+        }
 
         String currentUserEmail = "anonymousUser";
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -368,17 +573,17 @@ public class AuctionService {
         }
 
         if (highestBidOpt.isPresent()) {
-            Bid highestBid = highestBidOpt.get();
-            boolean isCurrentUserHighest = highestBid.getBuyer().getEmail().equals(currentUserEmail);
+            BidBookEntry highestBid = highestBidOpt.get();
+            boolean isCurrentUserHighest = highestBid.bidderEmail().equals(currentUserEmail);
             return new CurrentHighestBidDto(
-                    highestBid.getBidAmount(),
-                    highestBid.getBuyer().getFirstName(),
+                    highestBid.amount(),
+                    highestBid.bidderFirstName(),
                     isCurrentUserHighest,
-                    highestBid.getBidId()
+                    highestBid.bidId()
             );
         } else {
             return new CurrentHighestBidDto(
-                    auction.getStartPrice(),
+                    startPrice,
                     "No bids yet",
                     false,
                     null
@@ -393,4 +598,4 @@ public class AuctionService {
         List<Bid> bids = bidRepository.findAllByAuctionOrderByBidAmountDesc(auction);
         return SellerAuctionDetailDto.fromEntity(auction, bids);
     }
-}
\ No newline at end of file
+}
@@ -5,12 +5,23 @@ import com.bidwave.onlineauctionhub.dto.UpdateBidRequest;
 import com.bidwave.onlineauctionhub.dto.MyBidDto;
 import com.bidwave.onlineauctionhub.models.*;
 import com.bidwave.onlineauctionhub.repositories.*;
+import com.bidwave.onlineauctionhub.service.analytics.CategoryRollupAggregator;
+import com.bidwave.onlineauctionhub.service.bidding.BidAlertCoalescer;
+import com.bidwave.onlineauctionhub.service.bidding.BidBookEngine;
+import com.bidwave.onlineauctionhub.service.bidding.BidBookEntry;
+import com.bidwave.onlineauctionhub.service.bidding.BidSequencer;
+import com.bidwave.onlineauctionhub.service.bidding.BidUpdatePublisher;
 import com.bidwave.onlineauctionhub.service.bidding.BidValidationStrategy;
+import com.bidwave.onlineauctionhub.service.listing.AuctionListingProjector;
+import com.bidwave.onlineauctionhub.service.outbox.OutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,57 +36,110 @@ public class BidService {
     private final BidRepository bidRepository;
     private final UserRepository userRepository;
     private final AuctionRepository auctionRepository;
-    private final EmailService emailService;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
     private final BidValidationStrategy validationStrategy;
+    private final BidBookEngine bidBookEngine;
+    private final BidSequencer bidSequencer;
+    private final AuctionListingProjector listingProjector;
+    private final BidUpdatePublisher bidUpdatePublisher;
+    private final CategoryRollupAggregator rollupAggregator;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public BidService(
             BidRepository bidRepository,
             UserRepository userRepository,
             AuctionRepository auctionRepository,
-            EmailService emailService,
-            NotificationService notificationService,
-            BidValidationStrategy validationStrategy
+            OutboxService outboxService,
+            BidValidationStrategy validationStrategy,
+            BidBookEngine bidBookEngine,
+            BidSequencer bidSequencer,
+            AuctionListingProjector listingProjector,
+            BidUpdatePublisher bidUpdatePublisher,
+            CategoryRollupAggregator rollupAggregator,
+            PlatformTransactionManager transactionManager
     ) {
         this.bidRepository = bidRepository;
         this.userRepository = userRepository;
         this.auctionRepository = auctionRepository;
-        this.emailService = emailService;
-        this.notificationService = notificationService;
+        this.outboxService = outboxService;
         this.validationStrategy = validationStrategy;
+        this.bidBookEngine = bidBookEngine;
+        this.bidSequencer = bidSequencer;
+        this.listingProjector = listingProjector;
+        this.bidUpdatePublisher = bidUpdatePublisher;
+        this.rollupAggregator = rollupAggregator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
+    /**
+     * Places a bid. The read-validate-write cycle runs on the auction's sequencer lane in its own
+     * transaction, so two bids on the same auction can never both validate against the same high bid.
+     * The transaction also locks the auction row, which extends that guarantee to bids placed through
+     * other nodes.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Bid placeBid(PlaceBidRequest request, String buyerEmail) {
-        Auction auction = auctionRepository.findById(request.auctionId())
+        if (request.auctionId() == null) {
+            throw new RuntimeException("Auction not found");
+        }
+        return bidSequencer.execute(request.auctionId(),
+                () -> transactionTemplate.execute(status -> applyPlaceBid(request, buyerEmail)));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Bid updateBid(Long bidId, UpdateBidRequest request, String buyerEmail) {
+        Long auctionId = bidRepository.findAuctionIdByBidId(bidId)
+                .orElseThrow(() -> new RuntimeException("Bid not found"));
+        return bidSequencer.execute(auctionId,
+                () -> transactionTemplate.execute(status -> applyUpdateBid(auctionId, bidId, request, buyerEmail)));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteBid(Long bidId, String buyerEmail) {
+        Long auctionId = bidRepository.findAuctionIdByBidId(bidId)
+                .orElseThrow(() -> new RuntimeException("Bid not found"));
+        bidSequencer.execute(auctionId, () -> transactionTemplate.execute(status -> {
+            applyDeleteBid(auctionId, bidId, buyerEmail);
+            return null;
+        }));
+    }
+
+    private Bid applyPlaceBid(PlaceBidRequest request, String buyerEmail) {
+        Auction auction = auctionRepository.lockById(request.auctionId())
                 .orElseThrow(() -> new RuntimeException("Auction not found"));
 
         Buyer buyer = (Buyer) userRepository.findByEmail(buyerEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Buyer not found"));
 
-        Optional<Bid> highestBidOpt = bidRepository.findTopByAuctionOrderByBidAmountDesc(auction);
+        Optional<BidBookEntry> highestBidOpt = bidBookEngine.getHighestBid(auction);
 
-        // validation strategy
-        validationStrategy.validate(auction, request.amount(), highestBidOpt);
+        // validation strategy; the high-bid write below re-checks the end time against the same instant
+        LocalDateTime now = LocalDateTime.now();
+        validationStrategy.validate(auction, request.amount(), highestBidOpt, now);
 
         // Validate that buyer is not the seller
         if (auction.getSeller().getUserId().equals(buyer.getUserId())) {
             throw new IllegalArgumentException("You cannot bid on your own auction.");
         }
 
+        // Commit point: the conditional UPDATE is authoritative, the validation above is only a fast pre-check
+        takeHighBid(auction, request.amount(), buyer, 1, now);
+
         // --- START: Notification Logic ---
+        // Side effects are written to the outbox in this transaction and delivered after commit
+        // Bid alerts are merged per user and auction by BidAlertCoalescer, so a bidding war does not flood inboxes
         Seller seller = auction.getSeller();
         String sellerMessage = "A new bid of $" + request.amount() + " was placed on your item '" + auction.getItemName() + "'.";
-        notificationService.createNotification(seller, sellerMessage);
+        outboxService.enqueueBidAlert(BidAlertCoalescer.Kind.NEW_BID, seller.getUserId(), auction.getAuctionId(),
+                auction.getItemName(), request.amount(), sellerMessage);
 
         // Notify previous highest bidder if they were outbid
         highestBidOpt.ifPresent(previousHighestBid -> {
-            User outbidUser = previousHighestBid.getBuyer();
-            if (!outbidUser.getEmail().equals(buyerEmail)) {
+            if (!previousHighestBid.bidderEmail().equals(buyerEmail)) {
                 String message = "You have been outbid on '" + auction.getItemName() + "'. The new bid is $" + request.amount();
-                notificationService.createNotification(outbidUser, message);
-                emailService.sendOutbidNotification(outbidUser.getEmail(), auction.getItemName(), request.amount());
+                outboxService.enqueueBidAlert(BidAlertCoalescer.Kind.OUTBID, previousHighestBid.bidderId(), auction.getAuctionId(),
+                        auction.getItemName(), request.amount(), message);
             }
         });
         // --- END: Notification Logic ---
@@ -88,9 +152,13 @@ public class BidService {
         newBid.setBuyer(buyer);
 
         Bid savedBid = bidRepository.save(newBid);
+        BidBookEntry bookEntry = BidBookEntry.fromBid(savedBid);
+        AfterCommit.run(() -> bidBookEngine.recordBid(bookEntry));
+        bidUpdatePublisher.publishAfterCommit(auction.getAuctionId(), highestBidOpt.map(BidBookEntry::bidderEmail).orElse(null));
+        rollupAggregator.bidPlaced(auction.getAuctionId(), buyer.getUserId(), savedBid.getBidTime());
 
         // Notify bidder that their bid was placed
-        notificationService.createNotification(
+        outboxService.enqueueNotification(
                 buyer,
                 "Your bid of $" + request.amount() + " has been placed on auction: " + auction.getItemName()
         );
@@ -98,44 +166,53 @@ public class BidService {
         return savedBid;
     }
 
-    public Bid updateBid(Long bidId, UpdateBidRequest request, String buyerEmail) {
+    private Bid applyUpdateBid(Long auctionId, Long bidId, UpdateBidRequest request, String buyerEmail) {
+        // Lock before the bid loads its auction, so the auction is read with its latest high bid
+        auctionRepository.lockById(auctionId).orElseThrow(() -> new RuntimeException("Auction not found"));
         Bid existingBid = bidRepository.findById(bidId)
                 .orElseThrow(() -> new RuntimeException("Bid not found"));
 
         if (!existingBid.getBuyer().getEmail().equals(buyerEmail)) {
             throw new AccessDeniedException("You can only update your own bid.");
         }
-        if (existingBid.getAuction().getEndTime().isBefore(LocalDateTime.now())) {
+        LocalDateTime now = LocalDateTime.now();
+        if (existingBid.getAuction().getEndTime().isBefore(now)) {
             throw new IllegalStateException("Auction has ended.");
         }
 
-        Optional<Bid> currentHighestBidOpt = bidRepository.findTopByAuctionOrderByBidAmountDesc(existingBid.getAuction());
+        Optional<BidBookEntry> currentHighestBidOpt = bidBookEngine.getHighestBid(existingBid.getAuction());
 
         // ✅ FIXED: Remove the buyer parameter - validation strategy only needs 3 parameters
-        validationStrategy.validate(existingBid.getAuction(), request.newAmount(), currentHighestBidOpt);
+        validationStrategy.validate(existingBid.getAuction(), request.newAmount(), currentHighestBidOpt, now);
+        takeHighBid(existingBid.getAuction(), request.newAmount(), existingBid.getBuyer(), 0, now);
 
         existingBid.setBidAmount(request.newAmount());
         existingBid.setBidTime(LocalDateTime.now());
 
         Bid updatedBid = bidRepository.save(existingBid);
+        BidBookEntry bookEntry = BidBookEntry.fromBid(updatedBid);
+        AfterCommit.run(() -> bidBookEngine.replaceBid(bookEntry));
+        bidUpdatePublisher.publishAfterCommit(existingBid.getAuction().getAuctionId(),
+                currentHighestBidOpt.map(BidBookEntry::bidderEmail).orElse(null));
 
         // --- START: Notification Logic ---
-        Seller seller = existingBid.getAuction().getSeller();
-        String sellerMessage = "A bid was updated to $" + request.newAmount() + " on your item '" + existingBid.getAuction().getItemName() + "'.";
-        notificationService.createNotification(seller, sellerMessage);
+        Auction auction = existingBid.getAuction();
+        Seller seller = auction.getSeller();
+        String sellerMessage = "A bid was updated to $" + request.newAmount() + " on your item '" + auction.getItemName() + "'.";
+        outboxService.enqueueBidAlert(BidAlertCoalescer.Kind.NEW_BID, seller.getUserId(), auction.getAuctionId(),
+                auction.getItemName(), request.newAmount(), sellerMessage);
 
         currentHighestBidOpt.ifPresent(previousHighestBid -> {
-            User outbidUser = previousHighestBid.getBuyer();
-            if (!outbidUser.getEmail().equals(buyerEmail)) {
-                String message = "You have been outbid on '" + existingBid.getAuction().getItemName() +
+            if (!previousHighestBid.bidderEmail().equals(buyerEmail)) {
+                String message = "You have been outbid on '" + auction.getItemName() +
                         "'. The new bid is $" + request.newAmount();
-                notificationService.createNotification(outbidUser, message);
-                emailService.sendOutbidNotification(outbidUser.getEmail(), existingBid.getAuction().getItemName(), request.newAmount());
+                outboxService.enqueueBidAlert(BidAlertCoalescer.Kind.OUTBID, previousHighestBid.bidderId(), auction.getAuctionId(),
+                        auction.getItemName(), request.newAmount(), message);
             }
         });
         // --- END: Notification Logic ---
 
-        notificationService.createNotification(
+        outboxService.enqueueNotification(
                 existingBid.getBuyer(),
                 "Your bid has been updated to $" + request.newAmount() + " on auction: " + existingBid.getAuction().getItemName()
         );
@@ -143,7 +220,8 @@ public class BidService {
         return updatedBid;
     }
 
-    public void deleteBid(Long bidId, String buyerEmail) {
+    private void applyDeleteBid(Long auctionId, Long bidId, String buyerEmail) {
+        auctionRepository.lockById(auctionId).orElseThrow(() -> new RuntimeException("Auction not found"));
         Bid bid = bidRepository.findById(bidId)
                 .orElseThrow(() -> new RuntimeException("Bid not found"));
 
@@ -154,16 +232,49 @@ public class BidService {
             throw new IllegalStateException("Cannot delete bid: Auction has already ended.");
         }
 
+        String previousLeaderEmail = bidBookEngine.getHighestBid(bid.getAuction()).map(BidBookEntry::bidderEmail).orElse(null);
         bidRepository.delete(bid);
+        releaseHighBid(bid);
+        AfterCommit.run(() -> bidBookEngine.removeBid(auctionId, bidId));
+        bidUpdatePublisher.publishAfterCommit(auctionId, previousLeaderEmail);
 
-        notificationService.createNotification(
+        outboxService.enqueueNotification(
                 bid.getBuyer(),
                 "Your bid on auction '" + bid.getAuction().getItemName() + "' has been removed."
         );
 
         Seller seller = bid.getAuction().getSeller();
         String sellerMessage = "A bid of $" + bid.getBidAmount() + " was removed from your item '" + bid.getAuction().getItemName() + "'.";
-        notificationService.createNotification(seller, sellerMessage);
+        outboxService.enqueueNotification(seller, sellerMessage);
+    }
+
+    private void takeHighBid(Auction auction, BigDecimal amount, Buyer bidder, int countDelta, LocalDateTime now) {
+        if (auctionRepository.compareAndSetHighBid(auction.getAuctionId(), amount, bidder, countDelta, now) == 0) {
+            // The auction closed under us; reload the book once this transaction is over so it stops answering for it
+            Long auctionId = auction.getAuctionId();
+            AfterCommit.runAfterCompletion(() -> bidBookEngine.refresh(auctionId));
+            throw new IllegalStateException("Your bid could not be accepted: the auction is no longer active or a higher bid was just placed.");
+        }
+        listingProjector.syncBidState(auction.getAuctionId());
+    }
+
+    /**
+     * Keeps the denormalized bid count and high bid on the auction in step with a retracted bid.
+     */
+    private void releaseHighBid(Bid retractedBid) {
+        Auction auction = retractedBid.getAuction();
+        auction.setBidCount(Math.max(0, auction.getBidCount() - 1));
+
+        boolean wasHighBid = auction.getCurrentHighBidder() != null
+                && auction.getCurrentHighBidder().getUserId().equals(retractedBid.getBuyer().getUserId())
+                && retractedBid.getBidAmount().compareTo(auction.getCurrentHighBid()) == 0;
+        if (wasHighBid) {
+            Optional<Bid> nextHighest = bidRepository.findTopByAuctionOrderByBidAmountDesc(auction);
+            auction.setCurrentHighBid(nextHighest.map(Bid::getBidAmount).orElse(null));
+            auction.setCurrentHighBidder(nextHighest.map(Bid::getBuyer).orElse(null));
+        }
+        auctionRepository.saveAndFlush(auction);
+        listingProjector.syncBidState(auction.getAuctionId());
     }
 
     public List<MyBidDto> getBidsForBuyer(String buyerEmail) {
@@ -1,9 +1,9 @@
 package com.bidwave.onlineauctionhub.service;
 
 import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.service.mail.MailDeliveryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 
@@ -11,7 +11,7 @@ import java.math.BigDecimal;
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailDeliveryService mailDeliveryService;
 
     public void sendVerificationEmail(String toEmail, String token) {
         String subject = "BidWave Account Verification";
@@ -28,6 +28,14 @@ public class EmailService {
         sendEmail(toEmail, subject, message);
     }
 
+    public void sendOutbidDigest(String toEmail, String itemName, int times, BigDecimal currentBidAmount) {
+        String subject = "You've been outbid on " + itemName + " again";
+        String message = "Hello,\n\nYou were outbid " + times + " more times on the item '" + itemName +
+                "'.\nThe current highest bid is $" + currentBidAmount +
+                ".\n\nVisit BidWave now to place a new bid!\n\nThank you,\nThe BidWave Team";
+        sendEmail(toEmail, subject, message);
+    }
+
     public void sendWinnerNotification(String winnerEmail, String itemName, BigDecimal winningAmount) {
         String subject = "Congratulations! You won the auction for " + itemName;
         String message = "Hello,\n\nCongratulations! You have placed the winning bid for the item '" + itemName +
@@ -71,14 +79,6 @@ public class EmailService {
         sendEmail(sellerEmail, subject, message);
     }
 
-    public void sendNewAuctionNotificationToBuyer(String buyerEmail, Auction auction) {
-        String subject = "New Auction Alert: " + auction.getItemName();
-        String message = "Hello,\n\nA new item is up for auction that you might be interested in:\n\nItem: " + auction.getItemName() +
-                "\nStarting Price: $" + auction.getStartPrice() +
-                "\n\nHappy bidding!\nThe BidWave Team";
-        sendEmail(buyerEmail, subject, message);
-    }
-
     public void sendSellerAuctionDisapprovedNotification(String sellerEmail, Auction auction) {
         String subject = "Update on your auction for '" + auction.getItemName() + "'";
         String message = "Hello,\n\nWe have reviewed your auction for '" + auction.getItemName() +
@@ -100,6 +100,6 @@ public class EmailService {
         email.setTo(to);
         email.setSubject(subject);
         email.setText(text);
-        mailSender.send(email);
+        mailDeliveryService.submit(email);
     }
 }
\ No newline at end of file
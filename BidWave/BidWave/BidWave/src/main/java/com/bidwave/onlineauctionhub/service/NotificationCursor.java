@@ -0,0 +1,44 @@
+package com.bidwave.onlineauctionhub.service;
+
+import com.bidwave.onlineauctionhub.dto.NotificationDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position in a notification feed: the creation time and feed id of the last entry shown. The feed
+ * is ordered by {@code (createdAt, id)} descending, so the next page is "entries before the cursor"
+ * and costs the same however far back the user scrolls.
+ */
+public record NotificationCursor(LocalDateTime createdAt, long id) {
+
+    public static NotificationCursor of(NotificationDto entry) {
+        return new NotificationCursor(entry.createdAt(), entry.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}; malformed ones are ignored.
+     */
+    public static Optional<NotificationCursor> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 2) {
+                return Optional.empty();
+            }
+            return Optional.of(new NotificationCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1])));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.bidwave.onlineauctionhub.service;
 
 import com.bidwave.onlineauctionhub.dto.NotificationDto;
+import com.bidwave.onlineauctionhub.dto.NotificationPageDto;
 import com.bidwave.onlineauctionhub.models.Notification;
 import com.bidwave.onlineauctionhub.models.User;
 import com.bidwave.onlineauctionhub.repositories.NotificationRepository;
 import com.bidwave.onlineauctionhub.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +24,10 @@ import java.util.stream.Collectors;
 @Transactional
 public class NotificationService {
 
+    private static final Comparator<NotificationDto> FEED_ORDER =
+            Comparator.comparing(NotificationDto::createdAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(NotificationDto::id, Comparator.reverseOrder());
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -28,6 +37,12 @@ public class NotificationService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private UnreadCountTracker unreadCountTracker;
+
     public void createNotification(User user, String message) {
         Notification notification = new Notification(user, message);
         notificationRepository.save(notification);
@@ -50,22 +65,46 @@ public class NotificationService {
             // Log error but don't break the main functionality
             System.err.println("Failed to send WebSocket notification: " + e.getMessage());
         }
+
+        String email = user.getEmail();
+        AfterCommit.run(() -> unreadCountTracker.adjust(email, 1, () -> loadUnreadCount(email)));
     }
 
-    public List<NotificationDto> getNotificationsForUser(String email) {
+    /**
+     * One page of the user's feed, newest first, starting after the {@code before} cursor when given.
+     * Both sources are read by keyset, so a page costs the same however long the history is.
+     */
+    @Transactional(readOnly = true)
+    public NotificationPageDto getNotificationsForUser(String email, String before, int limit) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        return notificationRepository.findByUserOrderByCreatedAtDesc(user).stream()
+        NotificationCursor cursor = NotificationCursor.decode(before).orElse(null);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Notification> notifications = cursor == null
+                ? notificationRepository.findFeed(user, page)
+                : notificationRepository.findFeedBefore(user, cursor.createdAt(), cursor.id(), page);
+
+        // Announcements are merged in at read time instead of being copied into every user's notifications
+        List<NotificationDto> feed = notifications.stream()
                 .map(n -> new NotificationDto(n.getId(), n.getMessage(), n.isRead(), n.getCreatedAt()))
                 .collect(Collectors.toList());
+        feed.addAll(announcementService.getFeed(user, cursor, limit + 1));
+        feed.sort(FEED_ORDER);
+
+        boolean hasMore = feed.size() > limit;
+        List<NotificationDto> items = hasMore ? List.copyOf(feed.subList(0, limit)) : feed;
+        NotificationDto last = items.isEmpty() ? null : items.get(items.size() - 1);
+        String nextCursor = hasMore && last.createdAt() != null ? NotificationCursor.of(last).encode() : null;
+        return new NotificationPageDto(items, nextCursor, nextCursor != null);
     }
 
+    /**
+     * Served from {@link UnreadCountTracker}; the database is only read the first time after the count expires.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long getUnreadNotificationCount(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        return notificationRepository.countByUserAndIsReadFalse(user);
+        return unreadCountTracker.get(email, () -> loadUnreadCount(email));
     }
 
     /**
@@ -75,6 +114,12 @@ public class NotificationService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        if (AnnouncementService.isFeedEntryId(notificationId)) {
+            announcementService.markRead(user, AnnouncementService.announcementIdOf(notificationId));
+            AfterCommit.run(() -> unreadCountTracker.reload(email, () -> loadUnreadCount(email)));
+            return;
+        }
+
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
@@ -83,8 +128,12 @@ public class NotificationService {
             throw new AccessDeniedException("You do not have permission to modify this notification.");
         }
 
+        boolean wasUnread = !notification.isRead();
         notification.setRead(true);
         notificationRepository.save(notification);
+        if (wasUnread) {
+            AfterCommit.run(() -> unreadCountTracker.adjust(email, -1, () -> loadUnreadCount(email)));
+        }
     }
 
     /**
@@ -94,9 +143,9 @@ public class NotificationService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        List<Notification> unread = notificationRepository.findByUserAndIsReadFalse(user);
-        unread.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unread);
+        notificationRepository.markAllReadByUser(user);
+        announcementService.markAllRead(user);
+        AfterCommit.run(() -> unreadCountTracker.reset(email));
     }
 
     /**
@@ -106,8 +155,9 @@ public class NotificationService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        notificationRepository.deleteAll(notifications);
+        notificationRepository.deleteAllByUser(user);
+        announcementService.clearAll(user);
+        AfterCommit.run(() -> unreadCountTracker.reset(email));
     }
 
     /**
@@ -117,6 +167,12 @@ public class NotificationService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        if (AnnouncementService.isFeedEntryId(notificationId)) {
+            announcementService.dismiss(user, AnnouncementService.announcementIdOf(notificationId));
+            AfterCommit.run(() -> unreadCountTracker.reload(email, () -> loadUnreadCount(email)));
+            return;
+        }
+
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
@@ -126,5 +182,14 @@ public class NotificationService {
         }
 
         notificationRepository.delete(notification);
+        if (!notification.isRead()) {
+            AfterCommit.run(() -> unreadCountTracker.adjust(email, -1, () -> loadUnreadCount(email)));
+        }
+    }
+
+    private long loadUnreadCount(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return notificationRepository.countByUserAndIsReadFalse(user) + announcementService.countUnread(user);
     }
 }
\ No newline at end of file
@@ -2,31 +2,58 @@ package com.bidwave.onlineauctionhub.service;
 
 import com.bidwave.onlineauctionhub.models.Auction;
 import com.bidwave.onlineauctionhub.models.Bid;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.repositories.BidRepository;
+import com.bidwave.onlineauctionhub.service.reporting.ReportStreams;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.awt.Color;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Renders auction PDFs straight onto the caller's output stream (normally the HTTP response).
+ * Pages are flushed as they fill up and bid rows are read through a cursor, so memory use does not
+ * grow with the number of bids.
+ */
 @Service
 public class PdfGenerationService {
 
+    // Rows added to the bid table before it is flushed to the document
+    private static final int TABLE_FLUSH_ROWS = 200;
+
+    private final AuctionRepository auctionRepository;
+    private final BidRepository bidRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public PdfGenerationService(AuctionRepository auctionRepository, BidRepository bidRepository) {
+        this.auctionRepository = auctionRepository;
+        this.bidRepository = bidRepository;
+    }
+
     // --- METHOD 1: Winner Report ---
-    public ByteArrayInputStream generateWinnerReportPdf(Auction auction, Optional<Bid> winningBidOpt) {
-        Document document = new Document(PageSize.A4);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    @Transactional(readOnly = true)
+    public void writeWinnerReportPdf(Long auctionId, OutputStream out) throws IOException {
+        Auction auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new RuntimeException("Auction not found"));
+        Optional<Bid> winningBidOpt = bidRepository.findTopByAuctionOrderByBidAmountDesc(auction);
 
+        Document document = openDocument(out);
         try {
-            PdfWriter.getInstance(document, out);
-            document.open();
-
             // Title
             Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 24);
             Paragraph title = new Paragraph("Auction Winner Report", titleFont);
@@ -68,26 +95,31 @@ public class PdfGenerationService {
                 Paragraph noWinner = new Paragraph("This auction closed with no winning bids.");
                 document.add(noWinner);
             }
-
-            document.close();
-
         } catch (DocumentException e) {
-            e.printStackTrace();
+            throw new IOException("Could not render winner report for auction " + auction.getAuctionId(), e);
+        } finally {
+            document.close();
         }
-
-        return new ByteArrayInputStream(out.toByteArray());
     }
 
 
     // --- METHOD 2: Auction Bidders Report (Seller’s Report) ---
-    public ByteArrayInputStream generateAuctionBiddersReportPdf(Auction auction, List<Bid> bids) {
-        Document document = new Document(PageSize.A4);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-
-        try {
-            PdfWriter.getInstance(document, out);
-            document.open();
 
+    /**
+     * Writes the bid history of an auction, highest bid first. Bids are streamed from the database
+     * and the table is flushed to the document every {@value #TABLE_FLUSH_ROWS} rows, while the
+     * persistence context is cleared periodically so read bids do not accumulate.
+     */
+    @Transactional(readOnly = true)
+    public void writeAuctionBiddersReportPdf(Long auctionId, OutputStream out) throws IOException {
+        Auction auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new RuntimeException("Auction not found"));
+        String itemName = auction.getItemName();
+        String status = auction.getStatus();
+
+        Document document = openDocument(out);
+        try (Stream<Bid> bids = ReportStreams.clearingEvery(bidRepository.streamReportBids(auctionId),
+                entityManager, ReportStreams.CLEAR_INTERVAL)) {
             // Title
             Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 24);
             Paragraph title = new Paragraph("Auction Bid History Report", titleFont);
@@ -101,40 +133,55 @@ public class PdfGenerationService {
             auctionTable.setSpacingAfter(20);
             addHeaderCell(auctionTable, "Auction Details", 2);
             auctionTable.addCell("Item Name:");
-            auctionTable.addCell(auction.getItemName());
+            auctionTable.addCell(itemName);
             auctionTable.addCell("Auction Status:");
-            auctionTable.addCell(auction.getStatus());
+            auctionTable.addCell(status);
             document.add(auctionTable);
 
-            // Bidders List Table
+            // Bidders List Table, written in slices so only the rows since the last flush are held
             PdfPTable biddersTable = new PdfPTable(3);
             biddersTable.setWidthPercentage(100);
+            biddersTable.setComplete(false);
             addHeaderCell(biddersTable, "Bid History", 3);
 
-            // Add table headers
+            // Add table headers, repeated on every page
             biddersTable.addCell("Bidder Name");
             biddersTable.addCell("Bid Amount");
             biddersTable.addCell("Time of Bid");
+            biddersTable.setHeaderRows(2);
 
             // Add bid data
-            for (Bid bid : bids) {
+            DateTimeFormatter bidTimeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            int[] rows = {0};
+            bids.forEachOrdered(bid -> {
                 biddersTable.addCell(bid.getBuyer().getFirstName() + " " + bid.getBuyer().getLastName());
                 biddersTable.addCell("$" + bid.getBidAmount().toString());
-                biddersTable.addCell(bid.getBidTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            }
+                biddersTable.addCell(bid.getBidTime().format(bidTimeFormat));
+                if (++rows[0] % TABLE_FLUSH_ROWS == 0) {
+                    document.add(biddersTable);
+                }
+            });
+            biddersTable.setComplete(true);
             document.add(biddersTable);
-
-            document.close();
-
         } catch (DocumentException e) {
-            e.printStackTrace();
+            throw new IOException("Could not render bid history report for auction " + auctionId, e);
+        } finally {
+            document.close();
         }
-
-        return new ByteArrayInputStream(out.toByteArray());
     }
 
 
-    // --- SHARED HELPER ---
+    // --- SHARED HELPERS ---
+
+    // The writer leaves the stream open; closing the response is up to the caller
+    private Document openDocument(OutputStream out) {
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+        return document;
+    }
+
     private void addHeaderCell(PdfPTable table, String headerText, int colspan) {
         PdfPCell header = new PdfPCell();
         header.setBackgroundColor(new Color(34, 51, 59)); // dark-blue
@@ -9,44 +9,56 @@ import com.bidwave.onlineauctionhub.repositories.AuctionReportRepository;
 import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
 import com.bidwave.onlineauctionhub.repositories.BidRepository;
 import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import com.bidwave.onlineauctionhub.service.reporting.DashboardMetrics;
+import com.bidwave.onlineauctionhub.service.reporting.ReportDataset;
 import com.bidwave.onlineauctionhub.service.reporting.ReportGenerationStrategy;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.bidwave.onlineauctionhub.service.reporting.ReportStreams;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @Transactional
 public class ReportService {
 
-    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
-
     private final AuctionReportRepository reportRepository;
     private final AuctionRepository auctionRepository;
     private final BidRepository bidRepository;
     private final UserRepository userRepository;
     private final List<ReportGenerationStrategy> reportStrategies;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final DashboardMetrics dashboardMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final List<String> AUCTION_REPORT_COLUMNS = List.of(
+            "report_id", "auction_id", "item_name", "winner", "final_bid_amount", "generated_by", "generated_date");
+    private static final List<String> BID_COLUMNS = List.of(
+            "bid_id", "auction_id", "buyer_id", "buyer_name", "bid_amount", "bid_time");
 
     @Autowired
     public ReportService(AuctionReportRepository reportRepository, AuctionRepository auctionRepository,
                          BidRepository bidRepository, UserRepository userRepository,
                          List<ReportGenerationStrategy> reportStrategies,
-                         SimpMessagingTemplate messagingTemplate) {
+                         DashboardMetrics dashboardMetrics) {
         this.reportRepository = reportRepository;
         this.auctionRepository = auctionRepository;
         this.bidRepository = bidRepository;
         this.userRepository = userRepository;
         this.reportStrategies = reportStrategies;
-        this.messagingTemplate = messagingTemplate;
+        this.dashboardMetrics = dashboardMetrics;
     }
 
     public AuctionReport createAuctionReport(Long auctionId, String adminEmail) {
@@ -70,9 +82,6 @@ public class ReportService {
         report.setCreatedBy(admin);
         report.setGeneratedDate(LocalDateTime.now());
 
-        // Broadcast dashboard update after creating a new report
-        broadcastDashboardUpdate();
-
         return reportRepository.save(report);
     }
 
@@ -80,99 +89,89 @@ public class ReportService {
         return reportRepository.findAllByOrderByGeneratedDateDesc();
     }
 
-    @Transactional(readOnly = true)
-    public SystemReportDto generateSystemActivityReport() {
-        // 1. Get total user count
-        long totalUsers = userRepository.count();
-
-        // 2. Get total auction count
-        long totalAuctions = auctionRepository.count();
-
-        // 3. Get auction counts by status
-        List<Object[]> statusCounts = auctionRepository.countAuctionsByStatus();
-        Map<String, Long> auctionsByStatus = statusCounts.stream()
-                .collect(Collectors.toMap(
-                        row -> (String) row[0],
-                        row -> (Long) row[1]
-                ));
-
-        // 4. Assemble and return the DTO
-        return new SystemReportDto(totalUsers, totalAuctions, auctionsByStatus);
-    }
-
     /**
-     * Generates a new system activity report and broadcasts it over WebSockets
-     * to the admin dashboard topic.
+     * Current user and auction totals, served from the in-memory dashboard counters.
      */
-    @Transactional(readOnly = true)
-    public void broadcastDashboardUpdate() {
-        try {
-            SystemReportDto report = generateSystemActivityReport();
-            logger.info("Broadcasting real-time dashboard update: {} users, {} auctions", report.totalUsers(), report.totalAuctions());
-            messagingTemplate.convertAndSend("/topic/admin/dashboard", report);
-        } catch (Exception e) {
-            logger.error("Error broadcasting dashboard update", e);
-        }
+    public SystemReportDto generateSystemActivityReport() {
+        return dashboardMetrics.snapshot();
     }
 
-    public ByteArrayInputStream generateSystemActivityReport(String format) {
-        ReportGenerationStrategy strategy = reportStrategies.stream()
+    public ReportGenerationStrategy getStrategy(String format) {
+        return reportStrategies.stream()
                 .filter(s -> s.getFormat().equalsIgnoreCase(format))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported report format: " + format));
-
-        // Generate the system activity data and convert to list of strings for reporting
-        SystemReportDto systemData = generateSystemActivityReport();
-        List<String> reportData = convertSystemReportToLines(systemData);
-
-        return strategy.generate(reportData);
     }
 
-    public ByteArrayInputStream generateAuctionReportsExport(String format) {
-        ReportGenerationStrategy strategy = reportStrategies.stream()
-                .filter(s -> s.getFormat().equalsIgnoreCase(format))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unsupported report format: " + format));
+    public void writeSystemActivityReport(String format, boolean gzip, OutputStream out) throws IOException {
+        ReportGenerationStrategy strategy = getStrategy(format);
 
-        List<AuctionReport> auctionReports = getAllReports();
-        List<String> reportData = convertAuctionReportsToLines(auctionReports);
+        // Generate the system activity data and turn it into metric/value rows
+        SystemReportDto systemData = generateSystemActivityReport();
+        List<List<?>> rows = new ArrayList<>();
+        rows.add(List.of("Total Users", systemData.totalUsers()));
+        rows.add(List.of("Total Auctions", systemData.totalAuctions()));
+        systemData.auctionsByStatus().forEach((status, count) -> rows.add(List.of("Auctions " + status, count)));
+        rows.add(List.of("Generated On", LocalDateTime.now()));
 
-        return strategy.generate(reportData);
+        write(strategy, new ReportDataset("System Activity Report", List.of("metric", "value"), rows.stream()), gzip, out);
     }
 
-    private List<String> convertSystemReportToLines(SystemReportDto systemData) {
-        return List.of(
-                "SYSTEM ACTIVITY REPORT",
-                "======================",
-                "Total Users: " + systemData.totalUsers(),
-                "Total Auctions: " + systemData.totalAuctions(),
-                "",
-                "Auctions by Status:",
-                systemData.auctionsByStatus().entrySet().stream()
-                        .map(entry -> "  " + entry.getKey() + ": " + entry.getValue())
-                        .collect(Collectors.joining("\n")),
-                "",
-                "Generated on: " + LocalDateTime.now()
-        );
+    /**
+     * Writes every auction report through a database cursor, so memory use does not grow with
+     * the number of reports. Runs in its own read-only transaction because the stream has to stay
+     * open until the last row is written.
+     */
+    @Transactional(readOnly = true)
+    public void writeAuctionReportsExport(String format, boolean gzip, OutputStream out) throws IOException {
+        ReportGenerationStrategy strategy = getStrategy(format);
+
+        try (Stream<AuctionReport> reports = reportRepository.streamAllForExport()) {
+            Stream<List<?>> rows = ReportStreams.clearingEvery(reports, entityManager, ReportStreams.CLEAR_INTERVAL)
+                    .map(report -> Arrays.asList(
+                            report.getReportId(),
+                            report.getAuction().getAuctionId(),
+                            report.getAuction().getItemName(),
+                            getUserDisplayName(report.getWinner()),
+                            report.getFinalBidAmount(),
+                            getUserDisplayName(report.getCreatedBy()),
+                            report.getGeneratedDate()));
+            write(strategy, new ReportDataset("Auction Reports Export", AUCTION_REPORT_COLUMNS, rows), gzip, out);
+        }
     }
 
-    private List<String> convertAuctionReportsToLines(List<AuctionReport> auctionReports) {
-        List<String> lines = new java.util.ArrayList<>();
-        lines.add("AUCTION REPORTS EXPORT");
-        lines.add("=====================");
-        lines.add("");
-
-        for (AuctionReport report : auctionReports) {
-            lines.add("Report ID: " + report.getReportId());
-            lines.add("Auction: " + report.getAuction().getItemName());
-            lines.add("Winner: " + getUserDisplayName(report.getWinner()));
-            lines.add("Final Bid Amount: $" + report.getFinalBidAmount());
-            lines.add("Generated By: " + getUserDisplayName(report.getCreatedBy()));
-            lines.add("Generated Date: " + report.getGeneratedDate());
-            lines.add("---------------------");
+    /**
+     * Writes the full bid history of one auction, highest bid first, read through a database cursor.
+     */
+    @Transactional(readOnly = true)
+    public void writeAuctionBidsExport(Long auctionId, String format, boolean gzip, OutputStream out) throws IOException {
+        ReportGenerationStrategy strategy = getStrategy(format);
+        if (!auctionRepository.existsById(auctionId)) {
+            throw new RuntimeException("Auction not found");
         }
 
-        return lines;
+        try (Stream<Bid> bids = bidRepository.streamReportBids(auctionId)) {
+            Stream<List<?>> rows = ReportStreams.clearingEvery(bids, entityManager, ReportStreams.CLEAR_INTERVAL)
+                    .map(bid -> Arrays.asList(
+                            bid.getBidId(),
+                            auctionId,
+                            bid.getBuyer().getUserId(),
+                            getUserDisplayName(bid.getBuyer()),
+                            bid.getBidAmount(),
+                            bid.getBidTime()));
+            write(strategy, new ReportDataset("Auction " + auctionId + " Bid History", BID_COLUMNS, rows), gzip, out);
+        }
+    }
+
+    // Compresses on the fly when asked; finish() writes the gzip trailer without closing the caller's stream
+    private void write(ReportGenerationStrategy strategy, ReportDataset dataset, boolean gzip, OutputStream out) throws IOException {
+        if (!gzip) {
+            strategy.write(dataset, out);
+            return;
+        }
+        GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        strategy.write(dataset, compressed);
+        compressed.finish();
     }
 
     private String getUserDisplayName(User user) {
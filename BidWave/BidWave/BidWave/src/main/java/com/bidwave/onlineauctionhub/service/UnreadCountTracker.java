@@ -0,0 +1,127 @@
+package com.bidwave.onlineauctionhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Unread notification counts (notifications plus announcements) per user, keyed by email.
+ * <p>
+ * A count is loaded from the database the first time it is asked for and then moved by
+ * {@link NotificationService} after each change commits. Every change is pushed to
+ * {@code /user/queue/notification-count} for users with an open WebSocket session, so the
+ * browser does not need to poll. Entries expire after {@code bidwave.notifications.count-ttl}
+ * without use. Like the simple STOMP broker, the counts are local to this node, and the expiry
+ * also limits drift from changes made elsewhere.
+ */
+@Component
+public class UnreadCountTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCountTracker.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final Cache<String, AtomicLong> counts;
+
+    @Autowired
+    public UnreadCountTracker(SimpMessagingTemplate messagingTemplate, SimpUserRegistry userRegistry,
+                              @Value("${bidwave.notifications.count-ttl:PT30M}") Duration ttl,
+                              @Value("${bidwave.notifications.count-max-users:100000}") long maxUsers) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public long get(String email, LongSupplier loader) {
+        return counts.get(email, key -> new AtomicLong(loader.getAsLong())).get();
+    }
+
+    /**
+     * Moves a cached count by {@code delta}. A count that is not cached is left to load lazily,
+     * unless the user is online, in which case it is loaded (already including the change) and pushed.
+     */
+    public void adjust(String email, long delta, LongSupplier loader) {
+        AtomicLong count = counts.getIfPresent(email);
+        if (count != null) {
+            push(email, count.updateAndGet(value -> Math.max(0, value + delta)));
+        } else if (isOnline(email)) {
+            push(email, get(email, loader));
+        }
+    }
+
+    public void reset(String email) {
+        AtomicLong count = counts.getIfPresent(email);
+        if (count != null) {
+            count.set(0);
+        }
+        push(email, 0);
+    }
+
+    /**
+     * Drops the cached count when the change cannot be expressed as a delta, and pushes a fresh one.
+     */
+    public void reload(String email, LongSupplier loader) {
+        counts.invalidate(email);
+        if (isOnline(email)) {
+            push(email, get(email, loader));
+        }
+    }
+
+    /**
+     * Moves every cached count in an audience by {@code delta} and pushes it, for example after an
+     * announcement. {@code role} is an authority such as {@code ROLE_BUYER}, or null for everyone.
+     * Membership is read from the WebSocket session, so cached counts of offline users are dropped
+     * when the audience depends on role; online users get the new count without asking for it.
+     */
+    public void adjustAudience(String role, long delta) {
+        counts.asMap().forEach((email, count) -> {
+            if (role == null) {
+                push(email, count.updateAndGet(value -> Math.max(0, value + delta)));
+                return;
+            }
+            SimpUser user = userRegistry.getUser(email);
+            if (user == null) {
+                counts.invalidate(email);
+            } else if (hasRole(user.getPrincipal(), role)) {
+                push(email, count.updateAndGet(value -> Math.max(0, value + delta)));
+            }
+        });
+    }
+
+    private static boolean hasRole(Principal principal, String role) {
+        return principal instanceof Authentication authentication
+                && authentication.getAuthorities().stream().anyMatch(a -> role.equals(a.getAuthority()));
+    }
+
+    private boolean isOnline(String email) {
+        return userRegistry.getUser(email) != null;
+    }
+
+    private void push(String email, long count) {
+        if (!isOnline(email)) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(email, "/queue/notification-count", Map.of("count", count));
+        } catch (Exception e) {
+            logger.error("Failed to push unread count to {}: {}", email, e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.bidwave.onlineauctionhub.service;
 
+import com.bidwave.onlineauctionhub.config.SecondLevelCacheConfig;
 import com.bidwave.onlineauctionhub.dto.*;
 import com.bidwave.onlineauctionhub.models.*;
 import com.bidwave.onlineauctionhub.repositories.*;
+import com.bidwave.onlineauctionhub.service.alerts.SubscriptionService;
+import com.bidwave.onlineauctionhub.service.reporting.DashboardMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -28,14 +33,18 @@ public class UserService {
     private final BidRepository bidRepository;
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
-    private final ReportService reportService;
+    private final DashboardMetrics dashboardMetrics;
+    private final EntityManagerFactory entityManagerFactory;
+    private final AnnouncementService announcementService;
+    private final SubscriptionService subscriptionService;
 
     @Autowired
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, EmailService emailService,
                        VerificationTokenRepository tokenRepository, AuctionRepository auctionRepository,
                        BidRepository bidRepository, NotificationService notificationService,
                        NotificationRepository notificationRepository,
-                       ReportService reportService) {
+                       DashboardMetrics dashboardMetrics, EntityManagerFactory entityManagerFactory,
+                       AnnouncementService announcementService, SubscriptionService subscriptionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
@@ -44,7 +53,10 @@ public class UserService {
         this.bidRepository = bidRepository;
         this.notificationService = notificationService;
         this.notificationRepository = notificationRepository;
-        this.reportService = reportService;
+        this.dashboardMetrics = dashboardMetrics;
+        this.entityManagerFactory = entityManagerFactory;
+        this.announcementService = announcementService;
+        this.subscriptionService = subscriptionService;
     }
 
     public User registerUser(RegisterRequest request) {
@@ -85,8 +97,7 @@ public class UserService {
         // Send verification email
         emailService.sendVerificationEmail(savedUser.getEmail(), token);
 
-        // Broadcast real-time dashboard update after new user registration
-        reportService.broadcastDashboardUpdate();
+        dashboardMetrics.userRegistered();
 
         return savedUser;
     }
@@ -181,6 +192,7 @@ public class UserService {
 
         user.setStatus(statusRequest.status());
         User updatedUser = userRepository.save(user);
+        evictIdentityCache(userId);
 
         // Notify user about status change (e.g., suspended/active)
         notificationService.createNotification(updatedUser, "Your account status has been updated to: " + statusRequest.status());
@@ -233,11 +245,25 @@ public class UserService {
         // 2. Clean up child records
         notificationRepository.deleteAllByUser(user);
         tokenRepository.deleteByUser(user);
+        announcementService.deleteReadState(user.getUserId());
+        subscriptionService.deleteAllForUser(user.getUserId());
 
         // 3. Delete the user
         userRepository.delete(user);
+        evictIdentityCache(user.getUserId());
 
-        // Broadcast real-time dashboard update after user deletion
-        reportService.broadcastDashboardUpdate();
+        dashboardMetrics.userDeleted();
     }
-}
\ No newline at end of file
+
+    /**
+     * Drops the cached user and email lookups once the change has committed, so the next
+     * authentication on this node sees the new status or the missing account.
+     */
+    private void evictIdentityCache(Long userId) {
+        AfterCommit.run(() -> {
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            cache.evictEntityData(User.class, userId);
+            cache.evictQueryRegion(SecondLevelCacheConfig.USER_BY_EMAIL_REGION);
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package com.bidwave.onlineauctionhub.service.alerts;
+
+import com.bidwave.onlineauctionhub.models.AlertQuota;
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.Category;
+import com.bidwave.onlineauctionhub.repositories.AlertQuotaRepository;
+import com.bidwave.onlineauctionhub.service.outbox.OutboxEventType;
+import com.bidwave.onlineauctionhub.service.outbox.OutboxService;
+import com.bidwave.onlineauctionhub.service.search.AuctionSearchIndex;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tells interested buyers about a newly approved auction without holding up the approval.
+ * <p>
+ * Recipients come from the {@link SubscriptionIndex} (the auction's categories plus the words in
+ * its name and description), so the work depends on how many buyers follow the auction rather
+ * than on how many buyers exist. The approval only records a {@code NEW_AUCTION_ALERT} outbox event
+ * in its own transaction; the outbox relay later fans it out into one {@code NEW_AUCTION_ALERT_CHUNK}
+ * event per chunk of recipients, and delivers each chunk in one short transaction that enqueues its
+ * alerts. A chunk that fails is retried by the relay on its own, so nothing is lost to a restart and
+ * no buyer is alerted twice.
+ * Each buyer receives at most {@code bidwave.alerts.daily-cap} alerts a day; the rest are counted
+ * and summarised in one digest the next morning.
+ */
+@Component
+public class NewAuctionAlertDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewAuctionAlertDispatcher.class);
+
+    private final SubscriptionIndex subscriptionIndex;
+    private final AlertQuotaRepository quotaRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final int dailyCap;
+    private final int chunkSize;
+
+    @Autowired
+    public NewAuctionAlertDispatcher(SubscriptionIndex subscriptionIndex,
+                                     AlertQuotaRepository quotaRepository,
+                                     OutboxService outboxService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${bidwave.alerts.daily-cap:10}") int dailyCap,
+                                     @Value("${bidwave.alerts.chunk-size:500}") int chunkSize) {
+        this.subscriptionIndex = subscriptionIndex;
+        this.quotaRepository = quotaRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dailyCap = dailyCap;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Records the alerts for the auction in the outbox, in the caller's transaction. Must be called
+     * while the auction's categories can still be loaded.
+     */
+    public void enqueue(Auction auction) {
+        Set<Long> categoryIds = auction.getCategories().stream()
+                .map(Category::getCategoryId)
+                .collect(Collectors.toSet());
+        Set<String> keywords = new HashSet<>(AuctionSearchIndex.tokenize(auction.getItemName()));
+        keywords.addAll(AuctionSearchIndex.tokenize(auction.getDescription()));
+        outboxService.enqueueNewAuctionAlert(auction.getAuctionId(), auction.getItemName(),
+                auction.getStartPrice(), categoryIds, keywords);
+    }
+
+    /**
+     * Splits the auction's subscribers into chunk events. Runs in the relay's transaction for the
+     * {@code NEW_AUCTION_ALERT} event, so the chunks are recorded exactly when that event is done.
+     */
+    public void fanOut(OutboxEventType.NewAuctionAlertPayload alert) {
+        RoaringBitmap recipients = subscriptionIndex.matchingSubscribers(alert.categoryIds(), alert.keywords());
+        LocalDate today = LocalDate.now();
+        List<Long> chunk = new ArrayList<>(chunkSize);
+        for (int userId : recipients) {
+            chunk.add((long) userId);
+            if (chunk.size() == chunkSize) {
+                outboxService.enqueueNewAuctionAlertChunk(alert.auctionId(), alert.itemName(), alert.startPrice(), today, chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            outboxService.enqueueNewAuctionAlertChunk(alert.auctionId(), alert.itemName(), alert.startPrice(), today, chunk);
+        }
+        logger.debug("New-auction alerts for auction {} split for {} subscribers", alert.auctionId(), recipients.getCardinality());
+    }
+
+    /**
+     * Enqueues one chunk's alerts and charges the recipients' daily quotas. Runs in the relay's
+     * transaction for the chunk event; if another node creates one of the quota rows first, the
+     * chunk fails as a whole and the relay retries it.
+     */
+    public void sendChunk(OutboxEventType.NewAuctionAlertChunkPayload chunk) {
+        Map<Long, AlertQuota> quotas = quotaRepository.lockForDispatch(chunk.alertDate(), chunk.userIds()).stream()
+                .collect(Collectors.toMap(AlertQuota::getUserId, Function.identity()));
+        String subject = "New Auction Alert: " + chunk.itemName();
+        String message = "A new item matching your interests is up for auction: " + chunk.itemName()
+                + " (starting price $" + chunk.startPrice() + ").";
+        for (Long userId : chunk.userIds()) {
+            AlertQuota quota = quotas.computeIfAbsent(userId, id -> new AlertQuota(id, chunk.alertDate()));
+            if (quota.getSent() < dailyCap) {
+                quota.setSent(quota.getSent() + 1);
+                outboxService.enqueueUserNotification(userId, subject, message);
+            } else {
+                quota.setSuppressed(quota.getSuppressed() + 1);
+            }
+        }
+        quotaRepository.saveAll(quotas.values());
+    }
+
+    /**
+     * Sends one digest per buyer for the alerts held back on earlier days, then forgets those days.
+     * Each quota row is claimed before its digest is enqueued, so only one node sends it.
+     */
+    @Scheduled(cron = "${bidwave.alerts.digest-cron:0 0 8 * * *}")
+    public void sendDigests() {
+        LocalDate today = LocalDate.now();
+        int sent = 0;
+        List<AlertQuota> pending;
+        do {
+            pending = quotaRepository.findPendingDigests(today, PageRequest.of(0, chunkSize));
+            List<AlertQuota> page = pending;
+            sent += transactionTemplate.execute(status -> {
+                int claimed = 0;
+                for (AlertQuota quota : page) {
+                    if (quotaRepository.claimDigest(quota.getId(), quota.getSuppressed()) == 1) {
+                        outboxService.enqueueUserNotification(quota.getUserId(), "Auctions you may have missed",
+                                quota.getSuppressed() + " more auctions matching your interests were listed on "
+                                        + quota.getAlertDate() + ". Browse the auctions page to see them.");
+                        claimed++;
+                    }
+                }
+                return claimed;
+            });
+        } while (!pending.isEmpty());
+
+        int purged = transactionTemplate.execute(status -> quotaRepository.deleteSettledBefore(today));
+        if (sent > 0 || purged > 0) {
+            logger.info("Sent {} alert digests, purged {} old alert quotas", sent, purged);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.bidwave.onlineauctionhub.service.alerts;
+
+import com.bidwave.onlineauctionhub.repositories.AuctionSubscriptionRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Subscriber ids by category and by keyword, so finding the buyers interested in a new auction
+ * costs a few bitmap unions rather than a scan of every buyer.
+ * <p>
+ * {@link SubscriptionService} applies changes after commit, and the index is reloaded from the
+ * subscriptions table periodically to pick up changes made on other nodes. User ids must fit in
+ * an int, as with the auction facet index.
+ */
+@Component
+public class SubscriptionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionIndex.class);
+
+    private final AuctionSubscriptionRepository subscriptionRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private Map<String, RoaringBitmap> byKeyword = new HashMap<>();
+
+    @Autowired
+    public SubscriptionIndex(AuctionSubscriptionRepository subscriptionRepository) {
+        this.subscriptionRepository = subscriptionRepository;
+    }
+
+    public void add(Long userId, Long categoryId, String keyword) {
+        lock.writeLock().lock();
+        try {
+            put(byCategory, byKeyword, userId, categoryId, keyword);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId, Long categoryId, String keyword) {
+        int id = Math.toIntExact(userId);
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap subscribers = categoryId != null ? byCategory.get(categoryId) : byKeyword.get(keyword);
+            if (subscribers != null) {
+                subscribers.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of users subscribed to any of the categories or keywords, in ascending order.
+     */
+    public RoaringBitmap matchingSubscribers(Collection<Long> categoryIds, Collection<String> keywords) {
+        RoaringBitmap result = new RoaringBitmap();
+        lock.readLock().lock();
+        try {
+            for (Long categoryId : categoryIds) {
+                RoaringBitmap subscribers = byCategory.get(categoryId);
+                if (subscribers != null) {
+                    result.or(subscribers);
+                }
+            }
+            for (String keyword : keywords) {
+                RoaringBitmap subscribers = byKeyword.get(keyword);
+                if (subscribers != null) {
+                    result.or(subscribers);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the index from the auction_subscriptions table and swaps it in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${bidwave.alerts.index-refresh-ms:300000}", fixedDelayString = "${bidwave.alerts.index-refresh-ms:300000}")
+    public void reload() {
+        Map<Long, RoaringBitmap> newByCategory = new HashMap<>();
+        Map<String, RoaringBitmap> newByKeyword = new HashMap<>();
+        for (Object[] row : subscriptionRepository.findIndexRows()) {
+            put(newByCategory, newByKeyword, (Long) row[0], (Long) row[1], (String) row[2]);
+        }
+        newByCategory.values().forEach(RoaringBitmap::runOptimize);
+        newByKeyword.values().forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            byCategory = newByCategory;
+            byKeyword = newByKeyword;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Subscription index loaded with {} categories and {} keywords", newByCategory.size(), newByKeyword.size());
+    }
+
+    private static void put(Map<Long, RoaringBitmap> byCategory, Map<String, RoaringBitmap> byKeyword,
+                            Long userId, Long categoryId, String keyword) {
+        int id = Math.toIntExact(userId);
+        if (categoryId != null) {
+            byCategory.computeIfAbsent(categoryId, c -> new RoaringBitmap()).add(id);
+        } else if (keyword != null) {
+            byKeyword.computeIfAbsent(keyword, k -> new RoaringBitmap()).add(id);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bidwave.onlineauctionhub.service.alerts;
+
+import com.bidwave.onlineauctionhub.dto.SubscriptionDto;
+import com.bidwave.onlineauctionhub.dto.SubscriptionRequest;
+import com.bidwave.onlineauctionhub.models.AuctionSubscription;
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.Category;
+import com.bidwave.onlineauctionhub.models.User;
+import com.bidwave.onlineauctionhub.repositories.AlertQuotaRepository;
+import com.bidwave.onlineauctionhub.repositories.AuctionSubscriptionRepository;
+import com.bidwave.onlineauctionhub.repositories.CategoryRepository;
+import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import com.bidwave.onlineauctionhub.service.AfterCommit;
+import com.bidwave.onlineauctionhub.service.search.AuctionSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Buyers' category and keyword subscriptions, which decide who hears about newly approved auctions.
+ */
+@Service
+@Transactional
+public class SubscriptionService {
+
+    private static final int MAX_SUBSCRIPTIONS = 50;
+    private static final int MAX_KEYWORD_LENGTH = 50;
+
+    private final AuctionSubscriptionRepository subscriptionRepository;
+    private final AlertQuotaRepository quotaRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final SubscriptionIndex subscriptionIndex;
+
+    @Autowired
+    public SubscriptionService(AuctionSubscriptionRepository subscriptionRepository,
+                               AlertQuotaRepository quotaRepository,
+                               CategoryRepository categoryRepository,
+                               UserRepository userRepository,
+                               SubscriptionIndex subscriptionIndex) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.quotaRepository = quotaRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.subscriptionIndex = subscriptionIndex;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SubscriptionDto> getSubscriptions(String buyerEmail) {
+        Buyer buyer = findBuyer(buyerEmail);
+        Map<Long, String> categoryNames = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getCategoryId, Category::getName));
+        return subscriptionRepository.findByUserIdOrderByCreatedAtDesc(buyer.getUserId()).stream()
+                .map(s -> toDto(s, categoryNames.get(s.getCategoryId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Subscribes the buyer to a category or to a single keyword, whichever the request carries.
+     */
+    public SubscriptionDto subscribe(String buyerEmail, SubscriptionRequest request) {
+        Buyer buyer = findBuyer(buyerEmail);
+        boolean hasCategory = request.categoryId() != null;
+        boolean hasKeyword = request.keyword() != null && !request.keyword().isBlank();
+        if (hasCategory == hasKeyword) {
+            throw new IllegalArgumentException("Subscribe to either a category or a keyword.");
+        }
+        if (subscriptionRepository.findByUserIdOrderByCreatedAtDesc(buyer.getUserId()).size() >= MAX_SUBSCRIPTIONS) {
+            throw new IllegalStateException("You can have at most " + MAX_SUBSCRIPTIONS + " subscriptions.");
+        }
+
+        AuctionSubscription subscription;
+        String categoryName = null;
+        if (hasCategory) {
+            Category category = categoryRepository.findById(request.categoryId())
+                    .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + request.categoryId()));
+            if (subscriptionRepository.existsByUserIdAndCategoryId(buyer.getUserId(), category.getCategoryId())) {
+                throw new IllegalStateException("You are already following " + category.getName() + ".");
+            }
+            subscription = new AuctionSubscription(buyer.getUserId(), category.getCategoryId(), null);
+            categoryName = category.getName();
+        } else {
+            String keyword = normalizeKeyword(request.keyword());
+            if (subscriptionRepository.existsByUserIdAndKeyword(buyer.getUserId(), keyword)) {
+                throw new IllegalStateException("You are already following '" + keyword + "'.");
+            }
+            subscription = new AuctionSubscription(buyer.getUserId(), null, keyword);
+        }
+
+        AuctionSubscription saved = subscriptionRepository.save(subscription);
+        AfterCommit.run(() -> subscriptionIndex.add(saved.getUserId(), saved.getCategoryId(), saved.getKeyword()));
+        return toDto(saved, categoryName);
+    }
+
+    public void unsubscribe(String buyerEmail, Long subscriptionId) {
+        Buyer buyer = findBuyer(buyerEmail);
+        AuctionSubscription subscription = subscriptionRepository.findByIdAndUserId(subscriptionId, buyer.getUserId())
+                .orElseThrow(() -> new RuntimeException("Subscription not found with ID: " + subscriptionId));
+        subscriptionRepository.delete(subscription);
+        AfterCommit.run(() -> subscriptionIndex.remove(subscription.getUserId(), subscription.getCategoryId(), subscription.getKeyword()));
+    }
+
+    /**
+     * Removes the user's subscriptions and alert quotas; used when the account is deleted.
+     */
+    public void deleteAllForUser(Long userId) {
+        List<AuctionSubscription> subscriptions = subscriptionRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        subscriptionRepository.deleteByUserId(userId);
+        quotaRepository.deleteByUserId(userId);
+        AfterCommit.run(() -> subscriptions.forEach(s -> subscriptionIndex.remove(userId, s.getCategoryId(), s.getKeyword())));
+    }
+
+    private Buyer findBuyer(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        if (!(user instanceof Buyer buyer)) {
+            throw new AccessDeniedException("Only buyers can subscribe to auction alerts.");
+        }
+        return buyer;
+    }
+
+    private static String normalizeKeyword(String keyword) {
+        Set<String> tokens = AuctionSearchIndex.tokenize(keyword);
+        if (tokens.size() != 1) {
+            throw new IllegalArgumentException("A keyword must be a single word.");
+        }
+        String token = tokens.iterator().next();
+        if (token.length() > MAX_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException("A keyword can be at most " + MAX_KEYWORD_LENGTH + " characters.");
+        }
+        return token;
+    }
+
+    private static SubscriptionDto toDto(AuctionSubscription subscription, String categoryName) {
+        return new SubscriptionDto(subscription.getId(), subscription.getCategoryId(), categoryName,
+                subscription.getKeyword(), subscription.getCreatedAt());
+    }
+}
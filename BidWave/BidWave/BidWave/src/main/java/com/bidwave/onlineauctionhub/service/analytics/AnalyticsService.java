@@ -0,0 +1,90 @@
+package com.bidwave.onlineauctionhub.service.analytics;
+
+import com.bidwave.onlineauctionhub.dto.CategoryAnalyticsSummaryDto;
+import com.bidwave.onlineauctionhub.dto.CategoryHourlyStatsDto;
+import com.bidwave.onlineauctionhub.models.Category;
+import com.bidwave.onlineauctionhub.repositories.CategoryHourlyStatsRepository;
+import com.bidwave.onlineauctionhub.repositories.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Time-range analytics served from the hourly category rollups rather than the bids and auctions tables.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private static final Duration MAX_SERIES_RANGE = Duration.ofDays(31);
+    private static final Duration MAX_SUMMARY_RANGE = Duration.ofDays(366);
+
+    private final CategoryHourlyStatsRepository statsRepository;
+    private final CategoryRepository categoryRepository;
+
+    @Autowired
+    public AnalyticsService(CategoryHourlyStatsRepository statsRepository, CategoryRepository categoryRepository) {
+        this.statsRepository = statsRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Hour-by-hour figures for one category, or for all categories when {@code categoryId} is null.
+     * Hours without activity are left out.
+     */
+    public List<CategoryHourlyStatsDto> getHourlySeries(Long categoryId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to, MAX_SERIES_RANGE);
+        long category = categoryId != null ? categoryId : CategoryRollupAggregator.ALL_CATEGORIES;
+        return statsRepository.findSeries(category, from, to).stream()
+                .map(s -> new CategoryHourlyStatsDto(s.getBucketStart(), s.getCategoryId(), s.getBidCount(),
+                        s.getUniqueBidders(), s.getClosedCount(), s.getSoldCount(), s.getGrossSoldValue(),
+                        sellThrough(s.getSoldCount(), s.getClosedCount())))
+                .toList();
+    }
+
+    /**
+     * Totals per category over the range, with the all-categories row first and the rest by gross sold value.
+     */
+    public List<CategoryAnalyticsSummaryDto> getSummary(LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to, MAX_SUMMARY_RANGE);
+        Map<Long, String> names = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getCategoryId, Category::getName));
+
+        return statsRepository.summarize(from, to).stream()
+                .map(row -> {
+                    Long categoryId = (Long) row[0];
+                    long closed = ((Number) row[2]).longValue();
+                    long sold = ((Number) row[3]).longValue();
+                    String name = categoryId == CategoryRollupAggregator.ALL_CATEGORIES
+                            ? "All categories"
+                            : names.getOrDefault(categoryId, "Category " + categoryId);
+                    BigDecimal gross = row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO;
+                    return new CategoryAnalyticsSummaryDto(categoryId, name, ((Number) row[1]).longValue(),
+                            closed, sold, gross, sellThrough(sold, closed));
+                })
+                .sorted(Comparator.comparing((CategoryAnalyticsSummaryDto s) -> s.categoryId() != CategoryRollupAggregator.ALL_CATEGORIES)
+                        .thenComparing(CategoryAnalyticsSummaryDto::grossSoldValue, Comparator.reverseOrder()))
+                .toList();
+    }
+
+    private static Double sellThrough(long sold, long closed) {
+        return closed == 0 ? null : (double) sold / closed;
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to, Duration max) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The range must start before it ends.");
+        }
+        if (Duration.between(from, to).compareTo(max) > 0) {
+            throw new IllegalArgumentException("The range may span at most " + max.toDays() + " days.");
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.bidwave.onlineauctionhub.service.analytics;
+
+import com.bidwave.onlineauctionhub.models.CategoryHourlyStats;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.repositories.CategoryHourlyStatsRepository;
+import com.bidwave.onlineauctionhub.service.AfterCommit;
+import com.bidwave.onlineauctionhub.service.finalization.FinalizationCandidate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Keeps the hourly category rollups current as bids are placed and auctions close.
+ * <p>
+ * Events are buffered after their transaction commits and folded into the rollup tables every
+ * {@code bidwave.analytics.flush-ms}, so a bid costs a queue offer rather than extra writes.
+ * Counts are added to the stored buckets in place, which lets several nodes feed the same hour.
+ * Distinct bidders are tracked per bucket in a bitmap while the hour is recent; since nodes cannot
+ * add those up, the live figure is the highest any node has seen, and {@link CategoryRollupRebuilder}
+ * replaces each finished hour with exact figures from the source tables. The same rebuild covers
+ * events dropped when the buffer is full or lost in a restart.
+ * <p>
+ * Closures can arrive after their hour has been rebuilt (the finalizer may run minutes late), and
+ * the rebuild has usually counted them already. Deltas for a rebuilt hour are therefore dropped;
+ * the next rebuild of that hour picks up anything the previous one could not yet see.
+ */
+@Component
+public class CategoryRollupAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRollupAggregator.class);
+
+    /** Category id of the buckets holding totals across all categories. */
+    public static final long ALL_CATEGORIES = 0L;
+
+    private record BidEvent(long auctionId, long buyerId, LocalDateTime hour) {}
+
+    private record ClosureEvent(long auctionId, boolean sold, BigDecimal amount, LocalDateTime hour) {}
+
+    private record BucketKey(LocalDateTime hour, long categoryId) {}
+
+    private static final class Delta {
+        long bids;
+        int closed;
+        int sold;
+        BigDecimal gross = BigDecimal.ZERO;
+    }
+
+    private final AuctionRepository auctionRepository;
+    private final CategoryHourlyStatsRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LinkedBlockingQueue<Object> events;
+    private final Counter droppedEvents;
+
+    // Only touched under the flush lock
+    private final Map<BucketKey, RoaringBitmap> bidders = new HashMap<>();
+    private final Cache<Long, long[]> auctionCategories = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .maximumSize(100_000)
+            .build();
+
+    @Autowired
+    public CategoryRollupAggregator(AuctionRepository auctionRepository,
+                                    CategoryHourlyStatsRepository statsRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${bidwave.analytics.buffer-size:100000}") int bufferSize) {
+        this.auctionRepository = auctionRepository;
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.events = new LinkedBlockingQueue<>(Math.max(1, bufferSize));
+        this.droppedEvents = meterRegistry.counter("bidwave.analytics.events.dropped");
+    }
+
+    public void bidPlaced(Long auctionId, Long buyerId, LocalDateTime bidTime) {
+        BidEvent event = new BidEvent(auctionId, buyerId, hourOf(bidTime));
+        AfterCommit.run(() -> offer(event));
+    }
+
+    /**
+     * Records auctions closed by the finalizer, in the hour each one ended.
+     */
+    public void auctionsClosed(Collection<FinalizationCandidate> candidates, String status) {
+        boolean sold = "CLOSED_SOLD".equals(status);
+        List<ClosureEvent> closures = candidates.stream()
+                .map(c -> new ClosureEvent(c.auctionId(), sold,
+                        sold && c.winningAmount() != null ? c.winningAmount() : BigDecimal.ZERO,
+                        hourOf(c.endTime() != null ? c.endTime() : LocalDateTime.now())))
+                .toList();
+        AfterCommit.run(() -> closures.forEach(this::offer));
+    }
+
+    @Scheduled(fixedDelayString = "${bidwave.analytics.flush-ms:5000}")
+    public synchronized void flush() {
+        List<Object> drained = new ArrayList<>();
+        events.drainTo(drained);
+        if (!drained.isEmpty()) {
+            Map<BucketKey, Delta> deltas = aggregate(drained);
+            try {
+                try {
+                    write(deltas);
+                } catch (DataIntegrityViolationException e) {
+                    // Another node created one of the buckets first; the second attempt adds to it
+                    write(deltas);
+                }
+            } catch (Exception e) {
+                logger.error("Failed to flush {} analytics events, the hourly rebuild will restore them", drained.size(), e);
+            }
+        }
+        // Distinct bidders are only needed while an hour can still receive events
+        LocalDateTime keepFrom = hourOf(LocalDateTime.now()).minusHours(1);
+        bidders.keySet().removeIf(key -> key.hour().isBefore(keepFrom));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void offer(Object event) {
+        if (!events.offer(event)) {
+            droppedEvents.increment();
+        }
+    }
+
+    private Map<BucketKey, Delta> aggregate(List<Object> drained) {
+        Set<Long> auctionIds = new HashSet<>();
+        for (Object event : drained) {
+            auctionIds.add(event instanceof BidEvent bid ? bid.auctionId() : ((ClosureEvent) event).auctionId());
+        }
+        Map<Long, long[]> categories = categoriesOf(auctionIds);
+
+        Map<BucketKey, Delta> deltas = new HashMap<>();
+        for (Object event : drained) {
+            if (event instanceof BidEvent bid) {
+                for (BucketKey key : keys(bid.hour(), categories.get(bid.auctionId()))) {
+                    deltas.computeIfAbsent(key, k -> new Delta()).bids++;
+                    bidders.computeIfAbsent(key, k -> new RoaringBitmap()).add(Math.toIntExact(bid.buyerId()));
+                }
+            } else {
+                ClosureEvent closure = (ClosureEvent) event;
+                for (BucketKey key : keys(closure.hour(), categories.get(closure.auctionId()))) {
+                    Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+                    delta.closed++;
+                    if (closure.sold()) {
+                        delta.sold++;
+                        delta.gross = delta.gross.add(closure.amount());
+                    }
+                }
+            }
+        }
+        return deltas;
+    }
+
+    private void write(Map<BucketKey, Delta> deltas) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<LocalDateTime> hours = new HashSet<>();
+            deltas.keySet().forEach(key -> hours.add(key.hour()));
+            Set<LocalDateTime> rebuiltHours = new HashSet<>();
+            for (CategoryHourlyStats total : statsRepository.lockBuckets(ALL_CATEGORIES, hours)) {
+                if (total.isRebuilt()) {
+                    rebuiltHours.add(total.getBucketStart());
+                }
+            }
+            deltas.forEach((key, delta) -> {
+                if (!rebuiltHours.contains(key.hour())) {
+                    writeDelta(key, delta);
+                }
+            });
+        });
+    }
+
+    private void writeDelta(BucketKey key, Delta delta) {
+        RoaringBitmap seen = bidders.get(key);
+        int distinctBidders = seen != null ? seen.getCardinality() : 0;
+        int updated = statsRepository.addTo(key.hour(), key.categoryId(), delta.bids, distinctBidders,
+                delta.closed, delta.sold, delta.gross);
+        if (updated == 0) {
+            CategoryHourlyStats stats = new CategoryHourlyStats(key.hour(), key.categoryId());
+            stats.setBidCount(delta.bids);
+            stats.setUniqueBidders(distinctBidders);
+            stats.setClosedCount(delta.closed);
+            stats.setSoldCount(delta.sold);
+            stats.setGrossSoldValue(delta.gross);
+            statsRepository.saveAndFlush(stats);
+        }
+    }
+
+    private Map<Long, long[]> categoriesOf(Set<Long> auctionIds) {
+        Map<Long, long[]> result = new HashMap<>(auctionCategories.getAllPresent(auctionIds));
+        List<Long> missing = auctionIds.stream().filter(id -> !result.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            Map<Long, List<Long>> loaded = new HashMap<>();
+            for (Object[] row : auctionRepository.findCategoryIdsFor(missing)) {
+                loaded.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+            for (Long auctionId : missing) {
+                long[] ids = loaded.getOrDefault(auctionId, List.of()).stream().mapToLong(Long::longValue).toArray();
+                auctionCategories.put(auctionId, ids);
+                result.put(auctionId, ids);
+            }
+        }
+        return result;
+    }
+
+    private static List<BucketKey> keys(LocalDateTime hour, long[] categoryIds) {
+        List<BucketKey> keys = new ArrayList<>();
+        keys.add(new BucketKey(hour, ALL_CATEGORIES));
+        if (categoryIds != null) {
+            for (long categoryId : categoryIds) {
+                keys.add(new BucketKey(hour, categoryId));
+            }
+        }
+        return keys;
+    }
+
+    static LocalDateTime hourOf(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,196 @@
+package com.bidwave.onlineauctionhub.service.analytics;
+
+import com.bidwave.onlineauctionhub.models.CategoryHourlyStats;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.repositories.BidRepository;
+import com.bidwave.onlineauctionhub.repositories.CategoryHourlyStatsRepository;
+import com.bidwave.onlineauctionhub.service.finalization.FinalizerLeaseManager;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recomputes hourly category rollups from the bids and auctions tables.
+ * <p>
+ * Hours are rebuilt a day at a time: one grouped query per source and day, then the day's buckets
+ * are replaced in a single transaction. The last {@code bidwave.analytics.rebuild-hours} finished
+ * hours are rebuilt every hour, which makes their distinct-bidder counts exact and repairs anything
+ * the live aggregator missed; older history is filled in by an admin-triggered backfill. The
+ * current hour is never rebuilt, it belongs to {@link CategoryRollupAggregator}. The hourly run
+ * happens on one node only, the one holding the finalizer's singleton lease.
+ */
+@Component
+public class CategoryRollupRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRollupRebuilder.class);
+
+    private record BucketKey(LocalDateTime hour, long categoryId) {}
+
+    private final BidRepository bidRepository;
+    private final AuctionRepository auctionRepository;
+    private final CategoryHourlyStatsRepository statsRepository;
+    private final FinalizerLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildHours;
+    private final ExecutorService backfillExecutor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "analytics-backfill"));
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    @Autowired
+    public CategoryRollupRebuilder(BidRepository bidRepository,
+                                   AuctionRepository auctionRepository,
+                                   CategoryHourlyStatsRepository statsRepository,
+                                   FinalizerLeaseManager leaseManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${bidwave.analytics.rebuild-hours:2}") int rebuildHours) {
+        this.bidRepository = bidRepository;
+        this.auctionRepository = auctionRepository;
+        this.statsRepository = statsRepository;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildHours = Math.max(1, rebuildHours);
+    }
+
+    @Scheduled(cron = "${bidwave.analytics.rebuild-cron:0 5 * * * *}")
+    public void rebuildRecentHours() {
+        // Every node fires the cron; only the holder of the singleton lease rebuilds
+        if (!leaseManager.ownsSingletonJobs()) {
+            return;
+        }
+        LocalDateTime currentHour = CategoryRollupAggregator.hourOf(LocalDateTime.now());
+        try {
+            rebuild(currentHour.minusHours(rebuildHours), currentHour);
+        } catch (Exception e) {
+            logger.error("Error rebuilding recent analytics hours", e);
+        }
+    }
+
+    /**
+     * Starts rebuilding {@code [from, to)} in the background.
+     * @return false if a backfill is already running
+     */
+    public boolean startBackfill(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The backfill range must start before it ends.");
+        }
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            backfillExecutor.execute(() -> {
+                try {
+                    long started = System.currentTimeMillis();
+                    int buckets = rebuild(from, to);
+                    logger.info("Analytics backfill {} to {} wrote {} buckets in {} ms",
+                            from, to, buckets, System.currentTimeMillis() - started);
+                } catch (Exception e) {
+                    logger.error("Analytics backfill {} to {} failed", from, to, e);
+                } finally {
+                    backfillRunning.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            backfillRunning.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public boolean isBackfillRunning() {
+        return backfillRunning.get();
+    }
+
+    /**
+     * Replaces the buckets of every whole hour in {@code [from, to)} that has already finished.
+     * @return the number of buckets written
+     */
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime currentHour = CategoryRollupAggregator.hourOf(LocalDateTime.now());
+        LocalDateTime start = CategoryRollupAggregator.hourOf(from);
+        LocalDateTime end = CategoryRollupAggregator.hourOf(to).isAfter(currentHour) ? currentHour : CategoryRollupAggregator.hourOf(to);
+
+        int buckets = 0;
+        while (start.isBefore(end)) {
+            LocalDateTime nextDay = start.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime dayEnd = nextDay.isBefore(end) ? nextDay : end;
+            buckets += rebuildWithinDay(start, dayEnd);
+            start = dayEnd;
+        }
+        return buckets;
+    }
+
+    // Both bounds fall on the same day, so the hour of day identifies the bucket
+    private int rebuildWithinDay(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime day = from.toLocalDate().atStartOfDay();
+        Integer written = transactionTemplate.execute(status -> {
+            Map<BucketKey, CategoryHourlyStats> buckets = new HashMap<>();
+
+            for (Object[] row : bidRepository.countBidsByCategoryAndHour(from, to)) {
+                CategoryHourlyStats stats = bucket(buckets, day, (Long) row[0], (Number) row[1]);
+                stats.setBidCount(((Number) row[2]).longValue());
+                stats.setUniqueBidders(((Number) row[3]).intValue());
+            }
+            for (Object[] row : bidRepository.countBidsByHour(from, to)) {
+                CategoryHourlyStats stats = bucket(buckets, day, CategoryRollupAggregator.ALL_CATEGORIES, (Number) row[0]);
+                stats.setBidCount(((Number) row[1]).longValue());
+                stats.setUniqueBidders(((Number) row[2]).intValue());
+            }
+            for (Object[] row : auctionRepository.countClosuresByCategoryAndHour(from, to)) {
+                applyClosures(bucket(buckets, day, (Long) row[0], (Number) row[1]), row, 2);
+            }
+            for (Object[] row : auctionRepository.countClosuresByHour(from, to)) {
+                applyClosures(bucket(buckets, day, CategoryRollupAggregator.ALL_CATEGORIES, (Number) row[0]), row, 1);
+            }
+
+            // Every rebuilt hour gets a total row, even an empty one: its flag tells the live aggregator
+            // to keep out of the hour
+            for (LocalDateTime hour = from; hour.isBefore(to); hour = hour.plusHours(1)) {
+                bucket(buckets, day, CategoryRollupAggregator.ALL_CATEGORIES, hour.getHour());
+            }
+            buckets.values().forEach(stats -> stats.setRebuilt(true));
+
+            statsRepository.deleteRange(from, to);
+            statsRepository.saveAll(buckets.values());
+            return buckets.size();
+        });
+        return written != null ? written : 0;
+    }
+
+    private static CategoryHourlyStats bucket(Map<BucketKey, CategoryHourlyStats> buckets, LocalDateTime day,
+                                              long categoryId, Number hourOfDay) {
+        LocalDateTime hour = day.plusHours(hourOfDay.intValue());
+        return buckets.computeIfAbsent(new BucketKey(hour, categoryId), key -> new CategoryHourlyStats(hour, categoryId));
+    }
+
+    // closed, sold, gross sold value, starting at the given column
+    private static void applyClosures(CategoryHourlyStats stats, Object[] row, int offset) {
+        stats.setClosedCount(((Number) row[offset]).intValue());
+        stats.setSoldCount(row[offset + 1] != null ? ((Number) row[offset + 1]).intValue() : 0);
+        stats.setGrossSoldValue(row[offset + 2] != null ? (BigDecimal) row[offset + 2] : BigDecimal.ZERO);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+        try {
+            backfillExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
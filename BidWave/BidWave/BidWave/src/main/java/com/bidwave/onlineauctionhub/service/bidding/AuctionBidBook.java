@@ -0,0 +1,117 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bid state for one ACTIVE auction: the top-ranked bids (highest first) and the total bid count.
+ * Only the first {@link #DEPTH} bids are retained; that covers the high bid, the runner-up
+ * and the seller's top-5 chart.
+ */
+public class AuctionBidBook {
+
+    static final int DEPTH = 5;
+
+    private static final Comparator<BidBookEntry> RANKING =
+            Comparator.comparing(BidBookEntry::amount).reversed()
+                    .thenComparing(BidBookEntry::bidTime);
+
+    private final Long auctionId;
+    private final BigDecimal startPrice;
+    private final List<BidBookEntry> topBids = new ArrayList<>(DEPTH + 1);
+    private long bidCount;
+
+    public AuctionBidBook(Long auctionId, BigDecimal startPrice, List<BidBookEntry> topBids, long bidCount) {
+        this.auctionId = auctionId;
+        this.startPrice = startPrice;
+        this.topBids.addAll(topBids);
+        this.topBids.sort(RANKING);
+        trim();
+        this.bidCount = bidCount;
+    }
+
+    public Long getAuctionId() {
+        return auctionId;
+    }
+
+    public BigDecimal getStartPrice() {
+        return startPrice;
+    }
+
+    public synchronized Optional<BidBookEntry> getHighestBid() {
+        return topBids.isEmpty() ? Optional.empty() : Optional.of(topBids.get(0));
+    }
+
+    public synchronized Optional<BidBookEntry> getRunnerUp() {
+        return topBids.size() < 2 ? Optional.empty() : Optional.of(topBids.get(1));
+    }
+
+    public synchronized long getBidCount() {
+        return bidCount;
+    }
+
+    public synchronized List<BidBookEntry> getTopBids() {
+        return List.copyOf(topBids);
+    }
+
+    /**
+     * Whether the book shows the given high bid, high bidder and bid count, as stored on the auction row.
+     */
+    synchronized boolean matches(BigDecimal highBid, Long highBidderId, long expectedBidCount) {
+        if (bidCount != expectedBidCount) {
+            return false;
+        }
+        if (topBids.isEmpty()) {
+            return highBid == null && highBidderId == null;
+        }
+        BidBookEntry highest = topBids.get(0);
+        return highBid != null && highest.amount().compareTo(highBid) == 0 && highest.bidderId().equals(highBidderId);
+    }
+
+    synchronized void add(BidBookEntry entry) {
+        bidCount++;
+        insert(entry);
+    }
+
+    /**
+     * Replaces an existing bid (e.g. after the buyer raised it) without changing the bid count.
+     * @return false if the book can no longer vouch for its top ranks and must be reloaded
+     */
+    synchronized boolean replace(BidBookEntry entry) {
+        topBids.removeIf(e -> e.bidId().equals(entry.bidId()));
+        insert(entry);
+        return isComplete();
+    }
+
+    /**
+     * Removes a retracted bid.
+     * @return false if the book lost a ranked entry it cannot refill from memory and must be reloaded
+     */
+    synchronized boolean remove(Long bidId) {
+        bidCount = Math.max(0, bidCount - 1);
+        topBids.removeIf(e -> e.bidId().equals(bidId));
+        return isComplete();
+    }
+
+    private void insert(BidBookEntry entry) {
+        int index = 0;
+        while (index < topBids.size() && RANKING.compare(topBids.get(index), entry) <= 0) {
+            index++;
+        }
+        topBids.add(index, entry);
+        trim();
+    }
+
+    private void trim() {
+        while (topBids.size() > DEPTH) {
+            topBids.remove(topBids.size() - 1);
+        }
+    }
+
+    private boolean isComplete() {
+        return topBids.size() >= Math.min(bidCount, DEPTH);
+    }
+}
@@ -0,0 +1,201 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import com.bidwave.onlineauctionhub.repositories.OutboxEventRepository;
+import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import com.bidwave.onlineauctionhub.service.EmailService;
+import com.bidwave.onlineauctionhub.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges bursts of bid alerts for the same user and auction.
+ * <p>
+ * The first alert of a kind for a user and auction is delivered straight away and opens a window of
+ * {@code bidwave.bids.alert-window-ms}. Further alerts in the window only update the latest amount
+ * and a counter. When the window closes, a single digest ("outbid 6 more times, current bid $X") is
+ * sent and the next window opens. A window with nothing held back simply closes. A bidding war
+ * therefore costs each participant one notification and email per window instead of one per bid.
+ * <p>
+ * Only the latest state is kept, in memory. The outbox events of held-back alerts stay PENDING
+ * until their digest has been sent, so if the node crashes they are claimed again once their hold
+ * lapses and delivered by another node.
+ */
+@Component
+public class BidAlertCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidAlertCoalescer.class);
+
+    public enum Kind {
+        /** The user's bid is no longer the highest; also emailed. */
+        OUTBID,
+        /** A bid was placed or raised on the seller's auction. */
+        NEW_BID
+    }
+
+    private record Key(Kind kind, Long userId, Long auctionId) {}
+
+    private record Digest(Key key, String itemName, int count, BigDecimal latestAmount, List<Long> eventIds) {}
+
+    private static final class Window {
+        final long closesAt;
+        final String itemName;
+        int heldBack;
+        BigDecimal latestAmount;
+        final List<Long> heldEventIds = new ArrayList<>();
+
+        Window(long closesAt, String itemName, BigDecimal latestAmount) {
+            this.closesAt = closesAt;
+            this.itemName = itemName;
+            this.latestAmount = latestAmount;
+        }
+    }
+
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMillis;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    private final Counter deliveredCounter;
+    private final Counter digestCounter;
+    private final Counter coalescedCounter;
+
+    @Autowired
+    public BidAlertCoalescer(NotificationService notificationService,
+                             EmailService emailService,
+                             UserRepository userRepository,
+                             OutboxEventRepository outboxEventRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${bidwave.bids.alert-window-ms:60000}") long windowMillis) {
+        this.notificationService = notificationService;
+        this.emailService = emailService;
+        this.userRepository = userRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowMillis = windowMillis;
+        this.deliveredCounter = meterRegistry.counter("bidwave.bid.alerts.delivered");
+        this.digestCounter = meterRegistry.counter("bidwave.bid.alerts.digests");
+        this.coalescedCounter = meterRegistry.counter("bidwave.bid.alerts.coalesced");
+    }
+
+    /**
+     * Delivers the alert now if no window is open for this user, auction and kind; otherwise folds
+     * it into the window's digest, and the outbox event is marked SENT when that digest goes out.
+     * @return null if the alert was delivered now, otherwise when the digest carrying it is due
+     */
+    public LocalDateTime submit(Kind kind, Long userId, Long auctionId, String itemName, BigDecimal amount,
+                                String message, Long eventId) {
+        Key key = new Key(kind, userId, auctionId);
+        boolean[] leading = {false};
+        long[] closesAt = {0};
+        windows.compute(key, (k, window) -> {
+            if (window == null) {
+                leading[0] = true;
+                return new Window(System.currentTimeMillis() + windowMillis, itemName, amount);
+            }
+            window.heldBack++;
+            window.latestAmount = amount;
+            window.heldEventIds.add(eventId);
+            closesAt[0] = window.closesAt;
+            return window;
+        });
+
+        if (leading[0]) {
+            deliver(key, message, itemName, amount, 0);
+            deliveredCounter.increment();
+            return null;
+        }
+        coalescedCounter.increment();
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(closesAt[0]), ZoneId.systemDefault());
+    }
+
+    /**
+     * Closes the windows that have run their course, sending a digest for each one that held alerts back.
+     */
+    @Scheduled(fixedDelayString = "${bidwave.bids.alert-flush-ms:1000}")
+    public void flushExpired() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(true);
+    }
+
+    private void flush(boolean all) {
+        long now = System.currentTimeMillis();
+        for (Key key : windows.keySet()) {
+            Digest[] digest = {null};
+            windows.computeIfPresent(key, (k, window) -> {
+                if (!all && window.closesAt > now) {
+                    return window;
+                }
+                if (window.heldBack == 0) {
+                    return null;
+                }
+                digest[0] = new Digest(k, window.itemName, window.heldBack, window.latestAmount, List.copyOf(window.heldEventIds));
+                // The storm may still be going on: keep coalescing for another window
+                return all ? null : new Window(now + windowMillis, window.itemName, window.latestAmount);
+            });
+            if (digest[0] != null) {
+                sendDigest(digest[0]);
+            }
+        }
+    }
+
+    private void sendDigest(Digest digest) {
+        String message = switch (digest.key().kind()) {
+            case OUTBID -> "You were outbid " + digest.count() + " more time" + (digest.count() == 1 ? "" : "s") +
+                    " on '" + digest.itemName() + "'. The current bid is $" + digest.latestAmount();
+            case NEW_BID -> digest.count() + " more bid" + (digest.count() == 1 ? " was" : "s were") +
+                    " placed on your item '" + digest.itemName() + "'. The highest is now $" + digest.latestAmount() + ".";
+        };
+        try {
+            deliver(digest.key(), message, digest.itemName(), digest.latestAmount(), digest.count());
+            digestCounter.increment();
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.markSent(digest.eventIds(), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            logger.error("Failed to send {} digest for auction {} to user {}: {}",
+                    digest.key().kind(), digest.key().auctionId(), digest.key().userId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the in-app notification and, for outbid alerts, the email. {@code heldBack} is 0 for a
+     * leading alert and the number of merged alerts for a digest.
+     */
+    private void deliver(Key key, String message, String itemName, BigDecimal amount, int heldBack) {
+        userRepository.findById(key.userId()).ifPresent(user -> {
+            notificationService.createNotification(user, message);
+            if (key.kind() == Kind.OUTBID) {
+                if (heldBack == 0) {
+                    emailService.sendOutbidNotification(user.getEmail(), itemName, amount);
+                } else {
+                    emailService.sendOutbidDigest(user.getEmail(), itemName, heldBack, amount);
+                }
+            }
+        });
+    }
+}
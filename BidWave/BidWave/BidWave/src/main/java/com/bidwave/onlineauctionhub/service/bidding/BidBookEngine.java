@@ -0,0 +1,143 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.repositories.BidRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authoritative in-memory bid books for every ACTIVE auction.
+ * Bid placement, highest-bid polling and chart reads are served from here instead of
+ * sorting the bids table on every request. Auctions that are not ACTIVE fall back to the database.
+ */
+@Component
+public class BidBookEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidBookEngine.class);
+
+    private final AuctionRepository auctionRepository;
+    private final BidRepository bidRepository;
+    private final Map<Long, AuctionBidBook> books = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BidBookEngine(AuctionRepository auctionRepository, BidRepository bidRepository) {
+        this.auctionRepository = auctionRepository;
+        this.bidRepository = bidRepository;
+    }
+
+    /**
+     * Loads a book for every ACTIVE auction once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Long, List<BidBookEntry>> rankedBids = new HashMap<>();
+        for (BidBookEntry entry : bidRepository.findTopBookEntriesByAuctionStatus("ACTIVE", AuctionBidBook.DEPTH)) {
+            rankedBids.computeIfAbsent(entry.auctionId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        for (Object[] row : auctionRepository.findBookSeedsByStatus("ACTIVE")) {
+            Long auctionId = (Long) row[0];
+            books.putIfAbsent(auctionId, new AuctionBidBook(auctionId, (BigDecimal) row[1],
+                    rankedBids.getOrDefault(auctionId, List.of()), ((Number) row[2]).longValue()));
+        }
+        logger.info("Bid book warmed up for {} active auctions", books.size());
+    }
+
+    public Optional<AuctionBidBook> find(Long auctionId) {
+        return Optional.ofNullable(books.get(auctionId));
+    }
+
+    /**
+     * Current highest bid for the auction, from memory when the auction is ACTIVE.
+     */
+    public Optional<BidBookEntry> getHighestBid(Auction auction) {
+        AuctionBidBook book = bookInStepWith(auction);
+        if (book != null) {
+            return book.getHighestBid();
+        }
+        return bidRepository.findTopByAuctionOrderByBidAmountDesc(auction).map(BidBookEntry::fromBid);
+    }
+
+    /**
+     * Top five bids (highest first), from memory when the auction is ACTIVE.
+     */
+    public List<BidBookEntry> getTopBids(Auction auction) {
+        AuctionBidBook book = bookInStepWith(auction);
+        if (book != null) {
+            return book.getTopBids();
+        }
+        return bidRepository.findTop5ByAuctionOrderByBidAmountDesc(auction).stream()
+                .map(BidBookEntry::fromBid)
+                .toList();
+    }
+
+    public void recordBid(BidBookEntry entry) {
+        AuctionBidBook book = books.get(entry.auctionId());
+        if (book != null) {
+            book.add(entry);
+        }
+    }
+
+    public void replaceBid(BidBookEntry entry) {
+        AuctionBidBook book = books.get(entry.auctionId());
+        if (book != null && !book.replace(entry)) {
+            refresh(entry.auctionId());
+        }
+    }
+
+    public void removeBid(Long auctionId, Long bidId) {
+        AuctionBidBook book = books.get(auctionId);
+        if (book != null && !book.remove(bidId)) {
+            refresh(auctionId);
+        }
+    }
+
+    /**
+     * Rebuilds the book for one auction from the database, or drops it if the auction is no longer ACTIVE.
+     */
+    public void refresh(Long auctionId) {
+        Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
+        if (auctionOpt.isEmpty() || !"ACTIVE".equals(auctionOpt.get().getStatus())) {
+            books.remove(auctionId);
+            return;
+        }
+        Auction auction = auctionOpt.get();
+        List<BidBookEntry> topBids = bidRepository.findBookEntriesByAuctionId(auctionId, PageRequest.of(0, AuctionBidBook.DEPTH));
+        books.put(auctionId, new AuctionBidBook(auctionId, auction.getStartPrice(), topBids, auction.getBidCount()));
+    }
+
+    public void evict(Long auctionId) {
+        books.remove(auctionId);
+    }
+
+    /**
+     * The book for the auction, reloaded first if it disagrees with the high bid and bid count stored on
+     * the auction row. Bids placed through another node change the row but not this node's memory.
+     */
+    private AuctionBidBook bookInStepWith(Auction auction) {
+        AuctionBidBook book = books.get(auction.getAuctionId());
+        if (book == null) {
+            return null;
+        }
+        Long highBidderId = auction.getCurrentHighBidder() != null ? auction.getCurrentHighBidder().getUserId() : null;
+        if (book.matches(auction.getCurrentHighBid(), highBidderId, auction.getBidCount())) {
+            return book;
+        }
+        refresh(auction.getAuctionId());
+        return books.get(auction.getAuctionId());
+    }
+}
@@ -0,0 +1,39 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import com.bidwave.onlineauctionhub.models.Bid;
+import com.bidwave.onlineauctionhub.models.Buyer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Detached view of a single bid as held by the in-memory bid book.
+ */
+public record BidBookEntry(
+        Long auctionId,
+        Long bidId,
+        Long bidderId,
+        String bidderEmail,
+        String bidderFirstName,
+        String bidderLastName,
+        BigDecimal amount,
+        LocalDateTime bidTime
+) {
+    public static BidBookEntry fromBid(Bid bid) {
+        Buyer buyer = bid.getBuyer();
+        return new BidBookEntry(
+                bid.getAuction().getAuctionId(),
+                bid.getBidId(),
+                buyer.getUserId(),
+                buyer.getEmail(),
+                buyer.getFirstName(),
+                buyer.getLastName(),
+                bid.getBidAmount(),
+                bid.getBidTime()
+        );
+    }
+
+    public String bidderFullName() {
+        return bidderFirstName + " " + bidderLastName;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+/**
+ * Thrown when a bid cannot be admitted because the auction's sequencing lane is saturated
+ * or did not process the bid in time. Nothing has been written when this is thrown.
+ */
+public class BidRejectedException extends RuntimeException {
+    public BidRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,121 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Striped single-writer sequencer for bid mutations.
+ * Every auction is pinned to one lane (a single thread with a bounded queue), so bids on the same
+ * auction are applied strictly one after another while different auctions proceed in parallel.
+ */
+@Component
+public class BidSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidSequencer.class);
+
+    private final ThreadPoolExecutor[] lanes;
+    private final long submitTimeoutMillis;
+
+    public BidSequencer(
+            @Value("${bidwave.bidding.lanes:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int laneCount,
+            @Value("${bidwave.bidding.lane-capacity:256}") int laneCapacity,
+            @Value("${bidwave.bidding.submit-timeout-ms:10000}") long submitTimeoutMillis) {
+        this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "bid-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneCapacity),
+                    runnable -> new Thread(runnable, threadName),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        this.submitTimeoutMillis = submitTimeoutMillis;
+        logger.info("Bid sequencer started with {} lanes of capacity {}", lanes.length, laneCapacity);
+    }
+
+    /**
+     * Runs the task on the auction's lane and waits for its result.
+     * Runtime exceptions thrown by the task are rethrown unchanged to the caller.
+     */
+    public <T> T execute(Long auctionId, Callable<T> task) {
+        ThreadPoolExecutor lane = laneOf(auctionId);
+
+        // Claimed by whichever comes first: the lane starting the task, or the caller giving up on it
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = lane.submit(() -> claimed.compareAndSet(false, true) ? task.call() : null);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Bid lane saturated for auction {} ({} queued)", auctionId, lane.getQueue().size());
+            throw new BidRejectedException("This auction is receiving a very high volume of bids right now. Please try again in a moment.");
+        }
+
+        try {
+            return future.get(submitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Only give up on a task the lane has not started; a running bid is allowed to finish.
+            // Future.cancel alone cannot tell the two apart, it also succeeds while the task runs.
+            if (claimed.compareAndSet(false, true)) {
+                future.cancel(false);
+                // Free its queue slot now instead of when the lane reaches it
+                lane.purge();
+                throw new BidRejectedException("Your bid could not be processed in time. Please try again.");
+            }
+            return awaitStarted(future);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BidRejectedException("Bid processing was interrupted. Please try again.");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    int queued(Long auctionId) {
+        return laneOf(auctionId).getQueue().size();
+    }
+
+    private ThreadPoolExecutor laneOf(Long auctionId) {
+        return lanes[Math.floorMod(Long.hashCode(auctionId), lanes.length)];
+    }
+
+    private <T> T awaitStarted(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BidRejectedException("Bid processing was interrupted. Please try again.");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
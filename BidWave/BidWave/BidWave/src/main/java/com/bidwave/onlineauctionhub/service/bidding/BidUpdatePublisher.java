@@ -0,0 +1,77 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import com.bidwave.onlineauctionhub.dto.BidStatusDto;
+import com.bidwave.onlineauctionhub.dto.BidUpdateDto;
+import com.bidwave.onlineauctionhub.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Pushes the state of an auction's bid book to its viewers once a bid change has committed.
+ * <p>
+ * Everyone watching the auction gets one compact {@link BidUpdateDto} on
+ * {@code /topic/auctions/{id}}; only the bidders whose lead changed get a {@link BidStatusDto} on
+ * their own {@code /user/queue/bid-status}. The state is read from the bid book after the
+ * sequencer lane has applied the change, so viewers never see a bid that was rolled back.
+ */
+@Component
+public class BidUpdatePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidUpdatePublisher.class);
+
+    private final BidBookEngine bidBookEngine;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    public BidUpdatePublisher(BidBookEngine bidBookEngine, SimpMessagingTemplate messagingTemplate) {
+        this.bidBookEngine = bidBookEngine;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Publishes the auction's bid state after the current transaction commits. Register this after
+     * the bid book update so the book already reflects the change.
+     *
+     * @param previousLeaderEmail the highest bidder before the change, or null if there was none
+     */
+    public void publishAfterCommit(Long auctionId, String previousLeaderEmail) {
+        AfterCommit.run(() -> publish(auctionId, previousLeaderEmail));
+    }
+
+    private void publish(Long auctionId, String previousLeaderEmail) {
+        Optional<AuctionBidBook> book = bidBookEngine.find(auctionId);
+        if (book.isEmpty()) {
+            return;
+        }
+        try {
+            Optional<BidBookEntry> highest = book.get().getHighestBid();
+            BidUpdateDto update = new BidUpdateDto(
+                    auctionId,
+                    highest.map(BidBookEntry::amount).orElse(book.get().getStartPrice()),
+                    highest.map(BidBookEntry::bidderId).orElse(null),
+                    highest.map(BidBookEntry::bidderFirstName).orElse(null),
+                    book.get().getBidCount(),
+                    highest.map(BidBookEntry::bidId).orElse(null)
+            );
+            messagingTemplate.convertAndSend("/topic/auctions/" + auctionId, update);
+
+            String leaderEmail = highest.map(BidBookEntry::bidderEmail).orElse(null);
+            if (leaderEmail != null) {
+                messagingTemplate.convertAndSendToUser(leaderEmail, "/queue/bid-status",
+                        new BidStatusDto(auctionId, update.amount(), true));
+            }
+            if (previousLeaderEmail != null && !Objects.equals(previousLeaderEmail, leaderEmail)) {
+                messagingTemplate.convertAndSendToUser(previousLeaderEmail, "/queue/bid-status",
+                        new BidStatusDto(auctionId, update.amount(), false));
+            }
+        } catch (Exception e) {
+            logger.error("Failed to publish bid update for auction {}: {}", auctionId, e.getMessage());
+        }
+    }
+}
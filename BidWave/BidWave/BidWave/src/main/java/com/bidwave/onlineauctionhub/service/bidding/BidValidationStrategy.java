@@ -1,10 +1,10 @@
 package com.bidwave.onlineauctionhub.service.bidding;
 
 import com.bidwave.onlineauctionhub.models.Auction;
-import com.bidwave.onlineauctionhub.models.Bid;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface BidValidationStrategy {
-    void validate(Auction auction, BigDecimal newBidAmount, Optional<Bid> highestBid);
+    void validate(Auction auction, BigDecimal newBidAmount, Optional<BidBookEntry> highestBid, LocalDateTime now);
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.bidwave.onlineauctionhub.service.bidding;
 
 import com.bidwave.onlineauctionhub.models.Auction;
-import com.bidwave.onlineauctionhub.models.Bid;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,11 +9,11 @@ import java.util.Optional;
 @Component
 public class StandardBidValidation implements BidValidationStrategy {
     @Override
-    public void validate(Auction auction, BigDecimal newBidAmount, Optional<Bid> highestBid) {
-        if (auction.getEndTime().isBefore(LocalDateTime.now())) {
+    public void validate(Auction auction, BigDecimal newBidAmount, Optional<BidBookEntry> highestBid, LocalDateTime now) {
+        if (!auction.getEndTime().isAfter(now)) {
             throw new IllegalStateException("Auction has already ended.");
         }
-        BigDecimal currentHighest = highestBid.map(Bid::getBidAmount).orElse(auction.getStartPrice());
+        BigDecimal currentHighest = highestBid.map(BidBookEntry::amount).orElse(auction.getStartPrice());
         if (newBidAmount.compareTo(currentHighest) <= 0) {
             throw new IllegalArgumentException("Your bid must be higher than the current highest bid of $" + currentHighest);
         }
@@ -0,0 +1,122 @@
+package com.bidwave.onlineauctionhub.service.finalization;
+
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory priority queue of ACTIVE auction deadlines, ordered by end time.
+ * The closer polls it every second, so an auction is finalized within about a second of its
+ * deadline without scanning the auctions table.
+ */
+@Component
+public class AuctionDeadlineQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionDeadlineQueue.class);
+
+    private record Deadline(LocalDateTime endTime, Long auctionId) {}
+
+    private final ConcurrentSkipListSet<Deadline> deadlines = new ConcurrentSkipListSet<>(
+            Comparator.comparing(Deadline::endTime).thenComparing(Deadline::auctionId));
+    // Current deadline per auction, so a rescheduled auction can drop its stale entry
+    private final Map<Long, LocalDateTime> byAuction = new ConcurrentHashMap<>();
+
+    private final AuctionRepository auctionRepository;
+    private final FinalizerLeaseManager leaseManager;
+
+    @Value("${bidwave.closing.prefetch-lookahead-ms:120000}")
+    private long prefetchLookaheadMillis;
+
+    @Autowired
+    public AuctionDeadlineQueue(AuctionRepository auctionRepository, FinalizerLeaseManager leaseManager) {
+        this.auctionRepository = auctionRepository;
+        this.leaseManager = leaseManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Object[]> rows = auctionRepository.findIdAndEndTimeByStatus("ACTIVE");
+        for (Object[] row : rows) {
+            schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+        logger.info("Auction deadline queue loaded with {} active auctions", byAuction.size());
+    }
+
+    /**
+     * Pulls upcoming and overdue deadlines of the partitions this node owns from the database.
+     * This picks up auctions approved or edited on another node, and those of partitions taken
+     * over from a node that went away.
+     */
+    @Scheduled(fixedDelayString = "${bidwave.closing.prefetch-ms:15000}", initialDelayString = "${bidwave.closing.prefetch-ms:15000}")
+    public void prefetchOwnedDeadlines() {
+        LocalDateTime cutoff = LocalDateTime.now().plusNanos(prefetchLookaheadMillis * 1_000_000);
+        for (Object[] row : auctionRepository.findIdAndEndTimeByStatusAndEndTimeBefore("ACTIVE", cutoff)) {
+            Long auctionId = (Long) row[0];
+            LocalDateTime endTime = (LocalDateTime) row[1];
+            if (leaseManager.owns(auctionId) && !endTime.equals(byAuction.get(auctionId))) {
+                schedule(auctionId, endTime);
+            }
+        }
+    }
+
+    /**
+     * Adds the auction or moves it to a new deadline.
+     */
+    public void schedule(Long auctionId, LocalDateTime endTime) {
+        if (auctionId == null || endTime == null) {
+            return;
+        }
+        byAuction.compute(auctionId, (id, previous) -> {
+            if (previous != null) {
+                deadlines.remove(new Deadline(previous, id));
+            }
+            deadlines.add(new Deadline(endTime, id));
+            return endTime;
+        });
+    }
+
+    public void cancel(Long auctionId) {
+        byAuction.computeIfPresent(auctionId, (id, previous) -> {
+            deadlines.remove(new Deadline(previous, id));
+            return null;
+        });
+    }
+
+    /**
+     * Removes and returns the auctions whose deadline is at or before {@code now}, earliest first.
+     */
+    public List<Long> pollDue(LocalDateTime now, int max) {
+        List<Long> due = new ArrayList<>();
+        while (due.size() < max) {
+            Deadline head = deadlines.isEmpty() ? null : deadlines.first();
+            if (head == null || head.endTime().isAfter(now)) {
+                break;
+            }
+            if (deadlines.remove(head)) {
+                // Only hand it out if it was not rescheduled in the meantime
+                if (byAuction.remove(head.auctionId(), head.endTime())) {
+                    due.add(head.auctionId());
+                }
+            }
+        }
+        return due;
+    }
+
+    public int size() {
+        return byAuction.size();
+    }
+}
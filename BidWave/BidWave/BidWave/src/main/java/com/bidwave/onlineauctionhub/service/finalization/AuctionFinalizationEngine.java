@@ -0,0 +1,191 @@
+package com.bidwave.onlineauctionhub.service.finalization;
+
+import com.bidwave.onlineauctionhub.dto.AuctionStatusUpdateDto;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.service.analytics.CategoryRollupAggregator;
+import com.bidwave.onlineauctionhub.service.bidding.BidBookEngine;
+import com.bidwave.onlineauctionhub.service.listing.AuctionListingProjector;
+import com.bidwave.onlineauctionhub.service.reporting.DashboardMetrics;
+import com.bidwave.onlineauctionhub.service.search.AuctionSearchIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finalizes expired auctions in bulk.
+ * <p>
+ * The ids are split into chunks that run in parallel on a bounded pool. Each chunk is one short
+ * transaction: a single locking query reads the winners from the denormalized high-bid columns, the
+ * strategies decide the outcome and queue notifications in the outbox, and the new statuses are
+ * written with one UPDATE per status. Status broadcasts follow once all chunks are done, while the
+ * dashboard counters move as each chunk commits.
+ */
+@Component
+public class AuctionFinalizationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionFinalizationEngine.class);
+    private static final String AUCTION_TYPE = "STANDARD";
+
+    private final AuctionRepository auctionRepository;
+    private final List<FinalizationStrategy> finalizationStrategies;
+    private final BidBookEngine bidBookEngine;
+    private final AuctionSearchIndex searchIndex;
+    private final AuctionListingProjector listingProjector;
+    private final AuctionDeadlineQueue deadlineQueue;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final DashboardMetrics dashboardMetrics;
+    private final CategoryRollupAggregator rollupAggregator;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+
+    public AuctionFinalizationEngine(
+            AuctionRepository auctionRepository,
+            List<FinalizationStrategy> finalizationStrategies,
+            BidBookEngine bidBookEngine,
+            AuctionSearchIndex searchIndex,
+            AuctionListingProjector listingProjector,
+            AuctionDeadlineQueue deadlineQueue,
+            SimpMessagingTemplate messagingTemplate,
+            DashboardMetrics dashboardMetrics,
+            CategoryRollupAggregator rollupAggregator,
+            PlatformTransactionManager transactionManager,
+            @Value("${bidwave.finalization.threads:4}") int threads,
+            @Value("${bidwave.finalization.chunk-size:200}") int chunkSize) {
+        this.auctionRepository = auctionRepository;
+        this.finalizationStrategies = finalizationStrategies;
+        this.bidBookEngine = bidBookEngine;
+        this.searchIndex = searchIndex;
+        this.listingProjector = listingProjector;
+        this.deadlineQueue = deadlineQueue;
+        this.messagingTemplate = messagingTemplate;
+        this.dashboardMetrics = dashboardMetrics;
+        this.rollupAggregator = rollupAggregator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+
+        int poolSize = Math.max(1, threads);
+        AtomicInteger threadIndex = new AtomicInteger();
+        // Bounded queue with caller-runs: a huge closing wave slows the caller down instead of piling up
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 4),
+                runnable -> new Thread(runnable, "auction-finalizer-" + threadIndex.getAndIncrement()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Finalizes the given auctions and returns how many were closed. Ids that are no longer ACTIVE
+     * or whose end time has moved are skipped.
+     */
+    public int finalizeAuctions(Collection<Long> auctionIds) {
+        if (auctionIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<List<Long>, Future<List<AuctionStatusUpdateDto>>> pending = new LinkedHashMap<>();
+        for (List<Long> chunk : partition(new ArrayList<>(auctionIds))) {
+            pending.put(chunk, executor.submit(() -> finalizeChunk(chunk)));
+        }
+
+        List<AuctionStatusUpdateDto> closed = new ArrayList<>();
+        pending.forEach((chunk, future) -> {
+            try {
+                closed.addAll(future.get());
+            } catch (ExecutionException e) {
+                logger.error("Finalization of {} auctions failed, retrying shortly: {}", chunk.size(), e.getCause().getMessage(), e.getCause());
+                LocalDateTime retryAt = LocalDateTime.now().plusSeconds(30);
+                chunk.forEach(auctionId -> deadlineQueue.schedule(auctionId, retryAt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        for (AuctionStatusUpdateDto update : closed) {
+            bidBookEngine.evict(update.auctionId());
+            searchIndex.remove(update.auctionId());
+            broadcastAuctionStatusUpdate(update);
+        }
+        if (!closed.isEmpty()) {
+            logger.info("Finalized {} auctions", closed.size());
+        }
+        return closed.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private List<AuctionStatusUpdateDto> finalizeChunk(List<Long> auctionIds) {
+        return transactionTemplate.execute(status -> {
+            List<FinalizationCandidate> candidates =
+                    auctionRepository.findFinalizationCandidates(auctionIds, LocalDateTime.now());
+            FinalizationStrategy strategy = strategyFor(AUCTION_TYPE);
+
+            Map<String, List<FinalizationCandidate>> byStatus = new LinkedHashMap<>();
+            for (FinalizationCandidate candidate : candidates) {
+                String newStatus = strategy.finalizeAuction(candidate);
+                byStatus.computeIfAbsent(newStatus, s -> new ArrayList<>()).add(candidate);
+            }
+
+            List<AuctionStatusUpdateDto> updates = new ArrayList<>();
+            byStatus.forEach((newStatus, closed) -> {
+                List<Long> ids = closed.stream().map(FinalizationCandidate::auctionId).toList();
+                int updated = auctionRepository.closeAuctions(ids, newStatus);
+                if (updated != ids.size()) {
+                    // Someone else closed part of the chunk between our read and write; undo the notifications too
+                    throw new IllegalStateException("Expected to close " + ids.size() + " auctions but closed " + updated);
+                }
+                listingProjector.updateStatus(ids, newStatus);
+                dashboardMetrics.auctionsStatusChanged("ACTIVE", newStatus, ids.size());
+                rollupAggregator.auctionsClosed(closed, newStatus);
+                ids.forEach(id -> updates.add(new AuctionStatusUpdateDto(id, newStatus)));
+            });
+            return updates;
+        });
+    }
+
+    private FinalizationStrategy strategyFor(String auctionType) {
+        return finalizationStrategies.stream()
+                .filter(s -> s.getSupportedAuctionType().equalsIgnoreCase(auctionType))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("No finalization strategy found for type: " + auctionType));
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Broadcasts auction status updates to all connected WebSocket clients
+     */
+    private void broadcastAuctionStatusUpdate(AuctionStatusUpdateDto statusUpdate) {
+        try {
+            messagingTemplate.convertAndSend("/topic/auction-status", statusUpdate);
+        } catch (Exception e) {
+            logger.error("Failed to broadcast status update for auction {}: {}", statusUpdate.auctionId(), e.getMessage());
+        }
+    }
+}
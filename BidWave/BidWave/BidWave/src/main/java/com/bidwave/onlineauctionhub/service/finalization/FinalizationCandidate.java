@@ -0,0 +1,21 @@
+package com.bidwave.onlineauctionhub.service.finalization;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * What the finalizer needs to know about an expired auction, read in one query per chunk
+ * from the denormalized high-bid columns instead of loading the auction and its bids.
+ */
+public record FinalizationCandidate(
+        Long auctionId,
+        String itemName,
+        BigDecimal winningAmount,
+        Long sellerId,
+        Long winnerId,
+        LocalDateTime endTime
+) {
+    public boolean hasWinner() {
+        return winnerId != null;
+    }
+}
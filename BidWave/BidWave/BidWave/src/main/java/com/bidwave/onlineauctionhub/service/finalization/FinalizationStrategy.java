@@ -1,8 +1,10 @@
 package com.bidwave.onlineauctionhub.service.finalization;
 
-import com.bidwave.onlineauctionhub.models.Auction;
-
 public interface FinalizationStrategy {
-    void finalizeAuction(Auction auction);
+    /**
+     * Decides the closing status of an expired auction and queues its notifications.
+     * The status itself is written by the finalization engine in a batched update.
+     */
+    String finalizeAuction(FinalizationCandidate candidate);
     String getSupportedAuctionType(); // e.g., "STANDARD", "RESERVE"
-}
\ No newline at end of file
+}
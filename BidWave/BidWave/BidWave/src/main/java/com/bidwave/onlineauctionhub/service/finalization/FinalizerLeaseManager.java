@@ -0,0 +1,175 @@
+package com.bidwave.onlineauctionhub.service.finalization;
+
+import com.bidwave.onlineauctionhub.models.FinalizerLease;
+import com.bidwave.onlineauctionhub.models.FinalizerNode;
+import com.bidwave.onlineauctionhub.repositories.FinalizerLeaseRepository;
+import com.bidwave.onlineauctionhub.repositories.FinalizerNodeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Splits auction finalization between application nodes using leases stored in the database.
+ * <p>
+ * Auctions are hashed into a fixed number of partitions, each backed by a row in
+ * {@code finalizer_leases}. On every heartbeat a node renews the leases it holds, works out its fair
+ * share from the live nodes in {@code finalizer_nodes}, and claims lapsed leases or releases surplus
+ * ones to reach it. Leases of a crashed node expire after the lease TTL and are taken over by the
+ * survivors. No external coordinator is needed.
+ */
+@Component
+public class FinalizerLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinalizerLeaseManager.class);
+
+    private final FinalizerLeaseRepository leaseRepository;
+    private final FinalizerNodeRepository nodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final int partitions;
+    private final long leaseTtlMillis;
+
+    private volatile Set<Integer> ownedPartitions = Set.of();
+    // Local view of when our leases lapse; ownership is not trusted past this point without a heartbeat
+    private volatile LocalDateTime ownedUntil = LocalDateTime.MIN;
+
+    public FinalizerLeaseManager(
+            FinalizerLeaseRepository leaseRepository,
+            FinalizerNodeRepository nodeRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${bidwave.cluster.node-id:}") String nodeId,
+            @Value("${bidwave.cluster.partitions:16}") int partitions,
+            @Value("${bidwave.cluster.lease-ttl-ms:15000}") long leaseTtlMillis) {
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId.isBlank() ? "node-" + UUID.randomUUID() : nodeId;
+        this.partitions = Math.max(1, partitions);
+        this.leaseTtlMillis = leaseTtlMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${bidwave.cluster.heartbeat-ms:5000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusNanos(leaseTtlMillis * 1_000_000);
+        try {
+            ensurePartitions();
+            Set<Integer> held = transactionTemplate.execute(status -> rebalance(now, until));
+            if (!held.equals(ownedPartitions)) {
+                logger.info("Node {} now owns finalizer partitions {}", nodeId, held);
+            }
+            ownedPartitions = held;
+            ownedUntil = until;
+        } catch (DataAccessException e) {
+            // Without a successful renewal we can no longer be sure we still own anything
+            logger.warn("Finalizer lease heartbeat failed for node {}: {}", nodeId, e.getMessage());
+            if (LocalDateTime.now().isAfter(ownedUntil)) {
+                ownedPartitions = Set.of();
+            }
+        }
+    }
+
+    /**
+     * Whether this node is currently responsible for finalizing the auction.
+     */
+    public boolean owns(Long auctionId) {
+        return LocalDateTime.now().isBefore(ownedUntil) && ownedPartitions.contains(partitionOf(auctionId));
+    }
+
+    public Set<Integer> getOwnedPartitions() {
+        return LocalDateTime.now().isBefore(ownedUntil) ? ownedPartitions : Set.of();
+    }
+
+    /**
+     * Whether this node holds partition 0. Cluster-wide jobs that must run on exactly one node use
+     * that lease as their lock.
+     */
+    public boolean ownsSingletonJobs() {
+        return getOwnedPartitions().contains(0);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int partitionOf(Long auctionId) {
+        return (int) Math.floorMod(auctionId, (long) partitions);
+    }
+
+    @PreDestroy
+    public void release() {
+        ownedPartitions = Set.of();
+        ownedUntil = LocalDateTime.MIN;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                leaseRepository.releaseAll(nodeId);
+                nodeRepository.deleteById(nodeId);
+            });
+        } catch (DataAccessException e) {
+            logger.warn("Could not release finalizer leases for node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private Set<Integer> rebalance(LocalDateTime now, LocalDateTime until) {
+        nodeRepository.save(new FinalizerNode(nodeId, now));
+        LocalDateTime liveSince = now.minusNanos(leaseTtlMillis * 1_000_000);
+        nodeRepository.deleteStale(liveSince);
+
+        leaseRepository.renew(nodeId, now, until);
+        List<FinalizerLease> held = new ArrayList<>(leaseRepository.findHeldBy(nodeId, now));
+
+        long liveNodes = Math.max(1, nodeRepository.countLiveNodes(liveSince));
+        int fairShare = (int) ((partitions + liveNodes - 1) / liveNodes);
+
+        if (held.size() > fairShare) {
+            // Hand the highest partitions back so a newly joined node can pick them up
+            held.sort(Comparator.comparing(FinalizerLease::getPartitionId).reversed());
+            for (FinalizerLease lease : held.subList(0, held.size() - fairShare)) {
+                lease.setOwnerId(null);
+                lease.setLeaseUntil(null);
+            }
+            held = new ArrayList<>(held.subList(held.size() - fairShare, held.size()));
+        } else if (held.size() < fairShare) {
+            for (FinalizerLease lease : leaseRepository.findClaimable(now, PageRequest.of(0, fairShare - held.size()))) {
+                lease.setOwnerId(nodeId);
+                lease.setLeaseUntil(until);
+                held.add(lease);
+            }
+        }
+        return held.stream().map(FinalizerLease::getPartitionId).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private void ensurePartitions() {
+        if (leaseRepository.count() >= partitions) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int partition = 0; partition < partitions; partition++) {
+                    if (!leaseRepository.existsById(partition)) {
+                        leaseRepository.save(new FinalizerLease(partition));
+                    }
+                }
+            });
+        } catch (DataAccessException e) {
+            // Another node created them at the same moment
+            logger.debug("Finalizer partitions already being created: {}", e.getMessage());
+        }
+    }
+}
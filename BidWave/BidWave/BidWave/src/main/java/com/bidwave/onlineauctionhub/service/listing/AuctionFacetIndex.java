@@ -0,0 +1,185 @@
+package com.bidwave.onlineauctionhub.service.listing;
+
+import com.bidwave.onlineauctionhub.repositories.AuctionListingRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed-bitmap index of auction ids by category and by status, used for category filtering
+ * and the per-category counts on the browse page.
+ * <p>
+ * A facet count is the cardinality of (category AND status), so it costs the same whether the
+ * catalogue has a hundred auctions or a million. The projector applies changes after commit, and
+ * the whole index is reloaded from the listing read model periodically to pick up changes made
+ * on other nodes. Auction ids must fit in an int, which the auto-increment key does in practice.
+ */
+@Component
+public class AuctionFacetIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionFacetIndex.class);
+
+    private record Entry(String status, Set<Long> categoryIds) {}
+
+    private final AuctionListingRepository listingRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private Map<String, RoaringBitmap> byStatus = new HashMap<>();
+    private Map<Long, Entry> entries = new HashMap<>();
+
+    @Autowired
+    public AuctionFacetIndex(AuctionListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    /**
+     * Adds the auction or replaces its previous entry.
+     */
+    public void index(Long auctionId, String status, Set<Long> categoryIds) {
+        int id = Math.toIntExact(auctionId);
+        lock.writeLock().lock();
+        try {
+            unindex(auctionId, id);
+            put(byCategory, byStatus, entries, auctionId, new Entry(status, Set.copyOf(categoryIds)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long auctionId) {
+        lock.writeLock().lock();
+        try {
+            unindex(auctionId, Math.toIntExact(auctionId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStatus(Collection<Long> auctionIds, String status) {
+        lock.writeLock().lock();
+        try {
+            for (Long auctionId : auctionIds) {
+                Entry entry = entries.get(auctionId);
+                if (entry == null || entry.status().equals(status)) {
+                    continue;
+                }
+                int id = Math.toIntExact(auctionId);
+                byStatus.get(entry.status()).remove(id);
+                byStatus.computeIfAbsent(status, s -> new RoaringBitmap()).add(id);
+                entries.put(auctionId, new Entry(status, entry.categoryIds()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of auctions in the category with the given status, as a private copy the caller may modify.
+     */
+    public RoaringBitmap matching(Long categoryId, String status) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap category = byCategory.get(categoryId);
+            RoaringBitmap inStatus = byStatus.get(status);
+            if (category == null || inStatus == null) {
+                return new RoaringBitmap();
+            }
+            return RoaringBitmap.and(category, inStatus);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countWithStatus(String status) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap inStatus = byStatus.get(status);
+            return inStatus == null ? 0 : inStatus.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of auctions with the given status in each category. When {@code restrictTo} is not
+     * null (for example the ids matching a text search) only those auctions are counted.
+     */
+    public Map<Long, Integer> facetCounts(String status, RoaringBitmap restrictTo) {
+        Map<Long, Integer> counts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap inStatus = byStatus.get(status);
+            if (inStatus == null) {
+                return counts;
+            }
+            RoaringBitmap candidates = restrictTo != null ? RoaringBitmap.and(inStatus, restrictTo) : inStatus;
+            byCategory.forEach((categoryId, bitmap) -> {
+                int count = RoaringBitmap.andCardinality(bitmap, candidates);
+                if (count > 0) {
+                    counts.put(categoryId, count);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Rebuilds the index from the auction_listing table and swaps it in.
+     */
+    @Scheduled(initialDelayString = "${bidwave.facets.refresh-ms:300000}", fixedDelayString = "${bidwave.facets.refresh-ms:300000}")
+    public void reload() {
+        Map<Long, RoaringBitmap> newByCategory = new HashMap<>();
+        Map<String, RoaringBitmap> newByStatus = new HashMap<>();
+        Map<Long, Entry> newEntries = new HashMap<>();
+        for (Object[] row : listingRepository.findFacetRows()) {
+            Entry entry = new Entry((String) row[1], AuctionListingProjector.decodeCategoryIds((String) row[2]));
+            put(newByCategory, newByStatus, newEntries, (Long) row[0], entry);
+        }
+        newByCategory.values().forEach(RoaringBitmap::runOptimize);
+        newByStatus.values().forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            byCategory = newByCategory;
+            byStatus = newByStatus;
+            entries = newEntries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Facet index loaded with {} auctions in {} categories", newEntries.size(), newByCategory.size());
+    }
+
+    private void unindex(Long auctionId, int id) {
+        Entry previous = entries.remove(auctionId);
+        if (previous == null) {
+            return;
+        }
+        byStatus.get(previous.status()).remove(id);
+        for (Long categoryId : previous.categoryIds()) {
+            byCategory.get(categoryId).remove(id);
+        }
+    }
+
+    private static void put(Map<Long, RoaringBitmap> byCategory, Map<String, RoaringBitmap> byStatus,
+                            Map<Long, Entry> entries, Long auctionId, Entry entry) {
+        int id = Math.toIntExact(auctionId);
+        byStatus.computeIfAbsent(entry.status(), s -> new RoaringBitmap()).add(id);
+        for (Long categoryId : entry.categoryIds()) {
+            byCategory.computeIfAbsent(categoryId, c -> new RoaringBitmap()).add(id);
+        }
+        entries.put(auctionId, entry);
+    }
+}
@@ -0,0 +1,149 @@
+package com.bidwave.onlineauctionhub.service.listing;
+
+import com.bidwave.onlineauctionhub.dto.AuctionSummaryDto;
+import com.bidwave.onlineauctionhub.models.AuctionListing;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Keyset (seek) pagination for the auction listing. Works on any entity exposing {@code auctionId},
+ * {@code endTime} and {@code startPrice} (the auctions table or the listing read model).
+ * Every sort is made total by adding the auction id as a tie-breaker, and the cursor carries the
+ * sort value and id of the last row shown, so a page is fetched with "rows after (value, id)"
+ * instead of an OFFSET and deep pages cost the same as the first one.
+ */
+public enum AuctionKeyset {
+
+    ENDING_SOON("ending_soon", "endTime", true),
+    NEWLY_LISTED("newly_listed", null, false),
+    PRICE_ASC("price_asc", "startPrice", true),
+    PRICE_DESC("price_desc", "startPrice", false);
+
+    /** A decoded cursor: the parsed sort value (null for id-only sorts) and id of the last row of the previous page. */
+    public record Cursor(Comparable<?> value, long auctionId) {}
+
+    private record RawCursor(String value, long auctionId) {}
+
+    public static final String BEST_MATCH = "best_match";
+
+    private final String sortName;
+    private final String attribute;
+    private final boolean ascending;
+
+    AuctionKeyset(String sortName, String attribute, boolean ascending) {
+        this.sortName = sortName;
+        this.attribute = attribute;
+        this.ascending = ascending;
+    }
+
+    public static AuctionKeyset fromSortName(String sort) {
+        for (AuctionKeyset keyset : values()) {
+            if (keyset.sortName.equals(sort)) {
+                return keyset;
+            }
+        }
+        return ENDING_SOON;
+    }
+
+    public Sort sort() {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort byId = Sort.by(direction, "auctionId");
+        return attribute == null ? byId : Sort.by(direction, attribute).and(byId);
+    }
+
+    /**
+     * A cursor positioned on the given listing row, for continuing a scan in this sort order.
+     */
+    public Cursor cursorOf(AuctionListing listing) {
+        Comparable<?> value = attribute == null ? null
+                : "endTime".equals(attribute) ? listing.getEndTime() : listing.getStartPrice();
+        return new Cursor(value, listing.getAuctionId());
+    }
+
+    /**
+     * Restricts the query to rows that come after the cursor in this sort order.
+     */
+    public <T> Specification<T> after(Cursor cursor) {
+        if (attribute == null) {
+            return (root, query, cb) -> ascending
+                    ? cb.greaterThan(root.get("auctionId"), cursor.auctionId())
+                    : cb.lessThan(root.get("auctionId"), cursor.auctionId());
+        }
+        if ("endTime".equals(attribute)) {
+            return seek(attribute, (LocalDateTime) cursor.value(), cursor.auctionId());
+        }
+        return seek(attribute, (BigDecimal) cursor.value(), cursor.auctionId());
+    }
+
+    public String encode(AuctionSummaryDto last) {
+        Object value = attribute == null ? "" : ("endTime".equals(attribute) ? last.endTime() : last.startPrice());
+        return encode(sortName, String.valueOf(value), last.auctionId());
+    }
+
+    /**
+     * Decodes a cursor produced by this sort; cursors from another sort or malformed ones are ignored.
+     */
+    public Optional<Cursor> decode(String cursor) {
+        return decode(sortName, cursor).flatMap(raw -> {
+            try {
+                Comparable<?> value = attribute == null ? null
+                        : "endTime".equals(attribute) ? LocalDateTime.parse(raw.value()) : new BigDecimal(raw.value());
+                return Optional.of(new Cursor(value, raw.auctionId()));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Best-match order comes from the search index rather than a column, so its cursor is simply
+     * the position reached in the ranked id list.
+     */
+    public static String encodeRankPosition(int position) {
+        return encode(BEST_MATCH, "", position);
+    }
+
+    public static int decodeRankPosition(String cursor) {
+        return decode(BEST_MATCH, cursor).map(c -> (int) c.auctionId()).orElse(0);
+    }
+
+    static String encode(String sortName, String value, long auctionId) {
+        String raw = sortName + "|" + value + "|" + auctionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Optional<RawCursor> decode(String sortName, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(sortName)) {
+                return Optional.empty();
+            }
+            return Optional.of(new RawCursor(parts[1], Long.parseLong(parts[2])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private <T, V extends Comparable<? super V>> Specification<T> seek(String attribute, V value, long auctionId) {
+        return (root, query, cb) -> {
+            Path<V> path = root.get(attribute);
+            Path<Long> id = root.get("auctionId");
+            Predicate beyond = ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+            Predicate tieBroken = cb.and(cb.equal(path, value),
+                    ascending ? cb.greaterThan(id, auctionId) : cb.lessThan(id, auctionId));
+            return cb.or(beyond, tieBroken);
+        };
+    }
+}
@@ -0,0 +1,219 @@
+package com.bidwave.onlineauctionhub.service.listing;
+
+import com.bidwave.onlineauctionhub.dto.AuctionSummaryDto;
+import com.bidwave.onlineauctionhub.models.AuctionListing;
+import com.bidwave.onlineauctionhub.models.AuctionListingCategory;
+import com.bidwave.onlineauctionhub.repositories.AuctionListingCategoryRepository;
+import com.bidwave.onlineauctionhub.repositories.AuctionListingRepository;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@code auction_listing} read model in step with the auctions table.
+ * <p>
+ * Auction and bid mutations call it inside their own transaction, so the listing row commits or
+ * rolls back together with the change that caused it. {@link #rebuild()} re-projects the whole
+ * table from the write model in id-ordered batches.
+ */
+@Component
+@Transactional
+public class AuctionListingProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionListingProjector.class);
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final AuctionRepository auctionRepository;
+    private final AuctionListingRepository listingRepository;
+    private final AuctionListingCategoryRepository listingCategoryRepository;
+    private final AuctionFacetIndex facetIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public AuctionListingProjector(AuctionRepository auctionRepository,
+                                   AuctionListingRepository listingRepository,
+                                   AuctionListingCategoryRepository listingCategoryRepository,
+                                   AuctionFacetIndex facetIndex,
+                                   PlatformTransactionManager transactionManager) {
+        this.auctionRepository = auctionRepository;
+        this.listingRepository = listingRepository;
+        this.listingCategoryRepository = listingCategoryRepository;
+        this.facetIndex = facetIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Re-projects the given auctions from the write model; auctions that no longer exist are removed.
+     */
+    public void project(Collection<Long> auctionIds) {
+        if (auctionIds.isEmpty()) {
+            return;
+        }
+        List<AuctionSummaryDto> summaries = auctionRepository.findSummaries(
+                (root, query, cb) -> root.get("auctionId").in(auctionIds), Sort.unsorted(), 0);
+        Map<Long, Object[]> extras = auctionRepository.findListingExtras(auctionIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], Function.identity()));
+        Map<Long, Set<Long>> categories = new HashMap<>();
+        for (Object[] row : auctionRepository.findCategoryIdPairs(auctionIds)) {
+            categories.computeIfAbsent((Long) row[0], id -> new TreeSet<>()).add((Long) row[1]);
+        }
+        Map<Long, AuctionListing> existing = listingRepository.findAllById(auctionIds).stream()
+                .collect(Collectors.toMap(AuctionListing::getAuctionId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Set<Long>> facets = new HashMap<>();
+        List<AuctionListing> rows = new ArrayList<>(summaries.size());
+        for (AuctionSummaryDto summary : summaries) {
+            Object[] extra = extras.get(summary.auctionId());
+            AuctionListing listing = existing.getOrDefault(summary.auctionId(), new AuctionListing(summary.auctionId()));
+            listing.setItemName(summary.itemName());
+            listing.setStatus(summary.status());
+            listing.setSellerId((Long) extra[1]);
+            listing.setSellerName(summary.sellerName());
+            listing.setImageUrl(summary.imageUrl());
+            Set<Long> categoryIds = categories.getOrDefault(summary.auctionId(), Set.of());
+            listing.setCategoryIds(encodeCategoryIds(categoryIds));
+            listing.setStartPrice(summary.startPrice());
+            listing.setCurrentPrice(extra[2] != null ? (BigDecimal) extra[2] : summary.startPrice());
+            listing.setBidCount(summary.numberOfBids());
+            listing.setEndTime(summary.endTime());
+            listing.setUpdatedAt(now);
+            rows.add(listing);
+            facets.put(summary.auctionId(), categoryIds);
+        }
+        listingRepository.saveAll(rows);
+        syncCategories(auctionIds, facets);
+
+        List<Long> gone = auctionIds.stream().filter(id -> !facets.containsKey(id)).toList();
+        if (!gone.isEmpty()) {
+            listingRepository.deleteAllByIdInBatch(gone);
+        }
+        AfterCommit.run(() -> {
+            rows.forEach(listing -> facetIndex.index(listing.getAuctionId(), listing.getStatus(), facets.get(listing.getAuctionId())));
+            gone.forEach(facetIndex::remove);
+        });
+    }
+
+    public void project(Long auctionId) {
+        project(List.of(auctionId));
+    }
+
+    public void remove(Long auctionId) {
+        listingRepository.deleteAllByIdInBatch(List.of(auctionId));
+        listingCategoryRepository.deleteByAuctionIds(List.of(auctionId));
+        AfterCommit.run(() -> facetIndex.remove(auctionId));
+    }
+
+    public void syncBidState(Long auctionId) {
+        listingRepository.syncBidState(auctionId, LocalDateTime.now());
+    }
+
+    public void updateStatus(Collection<Long> auctionIds, String status) {
+        listingRepository.updateStatus(auctionIds, status, LocalDateTime.now());
+        List<Long> ids = List.copyOf(auctionIds);
+        AfterCommit.run(() -> facetIndex.updateStatus(ids, status));
+    }
+
+    /**
+     * Rebuilds the read model from the write model, one batch per transaction. Rows are upserted in
+     * place and orphans deleted range by range, so listing pages keep working throughout.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild() {
+        int projected = 0;
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Long> batch = auctionRepository.findIdsAfter(cursor, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            long throughId = batch.get(batch.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                project(batch);
+                listingRepository.deleteOrphansBetween(cursor, throughId, batch);
+                listingCategoryRepository.deleteOrphansBetween(cursor, throughId, batch);
+            });
+            projected += batch.size();
+            afterId = throughId;
+        }
+        long lastId = afterId;
+        transactionTemplate.executeWithoutResult(status -> {
+            listingRepository.deleteAfter(lastId);
+            listingCategoryRepository.deleteAfter(lastId);
+        });
+        facetIndex.reload();
+        logger.info("Auction listing read model rebuilt with {} auctions", projected);
+        return projected;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Brings the auctions' category rows in line with {@code wanted}; auctions missing from it lose theirs.
+     * Category sets rarely change, so this is usually a single read.
+     */
+    private void syncCategories(Collection<Long> auctionIds, Map<Long, Set<Long>> wanted) {
+        Set<List<Long>> missing = new HashSet<>();
+        wanted.forEach((auctionId, categoryIds) -> categoryIds.forEach(categoryId -> missing.add(List.of(auctionId, categoryId))));
+        List<AuctionListingCategory> stale = new ArrayList<>();
+        for (AuctionListingCategory row : listingCategoryRepository.findByAuctionIdIn(auctionIds)) {
+            if (!missing.remove(List.of(row.getAuctionId(), row.getCategoryId()))) {
+                stale.add(row);
+            }
+        }
+        if (!stale.isEmpty()) {
+            listingCategoryRepository.deleteAllInBatch(stale);
+        }
+        listingCategoryRepository.saveAll(missing.stream()
+                .map(pair -> new AuctionListingCategory(pair.get(0), pair.get(1)))
+                .toList());
+    }
+
+    static String encodeCategoryIds(Set<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return ",";
+        }
+        return categoryIds.stream().map(String::valueOf).collect(Collectors.joining(",", ",", ","));
+    }
+
+    static Set<Long> decodeCategoryIds(String encoded) {
+        Set<Long> categoryIds = new TreeSet<>();
+        if (encoded != null) {
+            for (String part : encoded.split(",")) {
+                if (!part.isEmpty()) {
+                    categoryIds.add(Long.valueOf(part));
+                }
+            }
+        }
+        return categoryIds;
+    }
+}
@@ -0,0 +1,272 @@
+package com.bidwave.onlineauctionhub.service.mail;
+
+import com.bidwave.onlineauctionhub.models.MailDeadLetter;
+import com.bidwave.onlineauctionhub.repositories.MailDeadLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous email delivery.
+ * <p>
+ * Callers hand messages to a bounded queue and return immediately. A small pool of sender threads
+ * drains the queue in batches and delivers each batch with one multi-message {@code send} call, so a
+ * single SMTP connection carries the whole batch. Failed messages are retried with exponential
+ * backoff and end up in the {@code mail_dead_letters} table once they run out of attempts. At shutdown,
+ * retries still waiting for their backoff are handed to the senders for one last attempt, and anything
+ * the senders cannot finish is dead-lettered, so no message is silently dropped.
+ */
+@Component
+public class MailDeliveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDeliveryService.class);
+    private static final long MAX_BACKOFF_MILLIS = 10 * 60 * 1000L;
+
+    private record PendingMail(SimpleMailMessage message, int attempts) {}
+
+    private final JavaMailSender mailSender;
+    private final MailDeadLetterRepository deadLetterRepository;
+    private final BlockingQueue<PendingMail> queue;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService retryScheduler;
+    // Retries waiting for their backoff; whoever removes an entry owns it
+    private final Set<PendingMail> scheduledRetries = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long enqueueTimeoutMillis;
+
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failureCounter;
+    private final Counter deadLetterCounter;
+
+    private volatile boolean running = true;
+
+    public MailDeliveryService(
+            JavaMailSender mailSender,
+            MailDeadLetterRepository deadLetterRepository,
+            MeterRegistry meterRegistry,
+            @Value("${bidwave.mail.senders:2}") int senderCount,
+            @Value("${bidwave.mail.queue-capacity:2000}") int queueCapacity,
+            @Value("${bidwave.mail.batch-size:25}") int batchSize,
+            @Value("${bidwave.mail.max-attempts:5}") int maxAttempts,
+            @Value("${bidwave.mail.retry-backoff-ms:2000}") long retryBackoffMillis,
+            @Value("${bidwave.mail.enqueue-timeout-ms:2000}") long enqueueTimeoutMillis) {
+        this.mailSender = mailSender;
+        this.deadLetterRepository = deadLetterRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+
+        Gauge.builder("bidwave.mail.queue.depth", queue, BlockingQueue::size)
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("bidwave.mail.send.latency")
+                .description("Time taken to deliver one batch of emails")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("bidwave.mail.sent");
+        this.failureCounter = meterRegistry.counter("bidwave.mail.failures");
+        this.deadLetterCounter = meterRegistry.counter("bidwave.mail.dead.letters");
+
+        AtomicInteger senderIndex = new AtomicInteger();
+        int threads = Math.max(1, senderCount);
+        this.senders = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "mail-sender-" + senderIndex.getAndIncrement()));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            senders.execute(this::drainQueue);
+        }
+        logger.info("Mail delivery started with {} senders, queue capacity {}, batch size {}", threads, queueCapacity, this.batchSize);
+    }
+
+    /**
+     * Queues a message for delivery. If the queue stays full for longer than the enqueue timeout the
+     * message is dead-lettered rather than blocking the caller indefinitely.
+     */
+    public void submit(SimpleMailMessage message) {
+        PendingMail pending = new PendingMail(message, 0);
+        try {
+            if (!queue.offer(pending, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("Mail queue full, dead-lettering message to {}", recipients(message));
+                deadLetter(pending, "Delivery queue full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deadLetter(pending, "Interrupted while queueing");
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        retryScheduler.shutdownNow();
+        // Give waiting retries a last attempt; the senders keep going until the queue is empty
+        for (PendingMail pending : takeScheduledRetries()) {
+            if (!queue.offer(pending)) {
+                deadLetter(pending, "Delivery queue full at shutdown");
+            }
+        }
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Mail senders did not finish in time, dead-lettering {} emails", queue.size());
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            senders.shutdownNow();
+        }
+        List<PendingMail> undelivered = new ArrayList<>();
+        queue.drainTo(undelivered);
+        undelivered.forEach(pending -> deadLetter(pending, "Undelivered at shutdown"));
+    }
+
+    private void drainQueue() {
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMail first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never let a sender thread die; the batch has already been retried or dead-lettered
+                logger.error("Unexpected error in mail sender", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<PendingMail> batch) {
+        Map<MimeMessage, PendingMail> byMime = new IdentityHashMap<>();
+        for (PendingMail pending : batch) {
+            try {
+                MimeMessage mime = mailSender.createMimeMessage();
+                pending.message().copyTo(new MimeMailMessage(mime));
+                byMime.put(mime, pending);
+            } catch (MailException e) {
+                // A message that cannot even be built will never succeed
+                deadLetter(new PendingMail(pending.message(), pending.attempts() + 1), e.getMessage());
+            }
+        }
+        if (byMime.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(byMime.keySet().toArray(new MimeMessage[0]));
+            sentCounter.increment(byMime.size());
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                byMime.values().forEach(pending -> retry(pending, e));
+            } else {
+                sentCounter.increment(byMime.size() - failed.size());
+                failed.forEach((mime, cause) -> {
+                    PendingMail pending = byMime.get(mime);
+                    if (pending != null) {
+                        retry(pending, cause);
+                    }
+                });
+            }
+        } catch (MailException e) {
+            byMime.values().forEach(pending -> retry(pending, e));
+        } finally {
+            sample.stop(sendTimer);
+        }
+    }
+
+    private void retry(PendingMail pending, Exception cause) {
+        failureCounter.increment();
+        int attempts = pending.attempts() + 1;
+        PendingMail next = new PendingMail(pending.message(), attempts);
+        if (attempts >= maxAttempts || !running) {
+            deadLetter(next, cause.getMessage());
+            return;
+        }
+        long delay = Math.min(MAX_BACKOFF_MILLIS, retryBackoffMillis << (attempts - 1));
+        logger.warn("Email to {} failed (attempt {}), retrying in {}ms: {}", recipients(pending.message()), attempts, delay, cause.getMessage());
+        scheduledRetries.add(next);
+        try {
+            retryScheduler.schedule(() -> {
+                if (scheduledRetries.remove(next) && !queue.offer(next)) {
+                    deadLetter(next, "Delivery queue full on retry");
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; unless shutdown() has already taken it, the retry ends here
+            if (scheduledRetries.remove(next)) {
+                deadLetter(next, cause.getMessage());
+            }
+        }
+    }
+
+    private List<PendingMail> takeScheduledRetries() {
+        synchronized (scheduledRetries) {
+            List<PendingMail> taken = new ArrayList<>(scheduledRetries);
+            scheduledRetries.clear();
+            return taken;
+        }
+    }
+
+    private void deadLetter(PendingMail pending, String error) {
+        deadLetterCounter.increment();
+        SimpleMailMessage message = pending.message();
+        try {
+            deadLetterRepository.save(new MailDeadLetter(recipients(message), message.getSubject(), message.getText(),
+                    pending.attempts(), error != null && error.length() > 1000 ? error.substring(0, 1000) : error));
+        } catch (RuntimeException e) {
+            logger.error("Could not store dead letter for email to {}", recipients(message), e);
+        }
+    }
+
+    private static String recipients(SimpleMailMessage message) {
+        return message.getTo() == null ? "" : String.join(",", message.getTo());
+    }
+}
@@ -0,0 +1,29 @@
+package com.bidwave.onlineauctionhub.service.outbox;
+
+/**
+ * Kinds of side effects that travel through the outbox, each with its JSON payload shape.
+ */
+public enum OutboxEventType {
+    IN_APP_NOTIFICATION,
+    // Delivered through every NotificationStrategy (in-app and email)
+    USER_NOTIFICATION,
+    // Outbid and new-bid alerts, merged per user and auction by BidAlertCoalescer
+    BID_ALERT,
+    // A newly approved auction, fanned out into NEW_AUCTION_ALERT_CHUNK events by NewAuctionAlertDispatcher
+    NEW_AUCTION_ALERT,
+    // New-auction alerts for one chunk of subscribers, charged against their daily quotas
+    NEW_AUCTION_ALERT_CHUNK;
+
+    public record NotificationPayload(Long userId, String message) {}
+
+    public record UserNotificationPayload(Long userId, String subject, String message) {}
+
+    public record BidAlertPayload(String kind, Long userId, Long auctionId, String itemName,
+                                  java.math.BigDecimal amount, String message) {}
+
+    public record NewAuctionAlertPayload(Long auctionId, String itemName, java.math.BigDecimal startPrice,
+                                         java.util.Set<Long> categoryIds, java.util.Set<String> keywords) {}
+
+    public record NewAuctionAlertChunkPayload(Long auctionId, String itemName, java.math.BigDecimal startPrice,
+                                              java.time.LocalDate alertDate, java.util.List<Long> userIds) {}
+}
@@ -0,0 +1,188 @@
+package com.bidwave.onlineauctionhub.service.outbox;
+
+import com.bidwave.onlineauctionhub.models.OutboxEvent;
+import com.bidwave.onlineauctionhub.repositories.OutboxEventRepository;
+import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import com.bidwave.onlineauctionhub.service.NotificationSender;
+import com.bidwave.onlineauctionhub.service.NotificationService;
+import com.bidwave.onlineauctionhub.service.alerts.NewAuctionAlertDispatcher;
+import com.bidwave.onlineauctionhub.service.bidding.BidAlertCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers outbox events written by business transactions.
+ * <p>
+ * A batch is claimed in a short transaction by pushing its {@code availableAt} forward (the claim lease),
+ * so a relay on another node skips it; each event is then dispatched and marked SENT in its own
+ * transaction. Bid alerts folded into a digest are marked SENT by {@link BidAlertCoalescer} once the
+ * digest is out. A failed event is retried with exponential backoff and parked as FAILED after
+ * {@code max-attempts}. Delivery is at-least-once.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final NotificationSender notificationSender;
+    private final BidAlertCoalescer bidAlertCoalescer;
+    private final NewAuctionAlertDispatcher newAuctionAlertDispatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bidwave.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${bidwave.outbox.claim-ttl-seconds:60}")
+    private long claimTtlSeconds;
+
+    @Value("${bidwave.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${bidwave.outbox.retention-days:7}")
+    private long retentionDays;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       UserRepository userRepository,
+                       NotificationService notificationService,
+                       NotificationSender notificationSender,
+                       BidAlertCoalescer bidAlertCoalescer,
+                       NewAuctionAlertDispatcher newAuctionAlertDispatcher,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.notificationSender = notificationSender;
+        this.bidAlertCoalescer = bidAlertCoalescer;
+        this.newAuctionAlertDispatcher = newAuctionAlertDispatcher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${bidwave.outbox.poll-interval-ms:500}")
+    public void relay() {
+        List<Long> claimed;
+        do {
+            claimed = claimBatch();
+            for (Long eventId : claimed) {
+                deliver(eventId);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    // Keep delivered rows for a while for troubleshooting, then drop them
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeDelivered() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays)));
+        logger.info("Purged {} delivered outbox events", purged);
+    }
+
+    private List<Long> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.findClaimable(now, PageRequest.of(0, batchSize));
+            LocalDateTime leaseUntil = now.plusSeconds(claimTtlSeconds);
+            events.forEach(event -> event.setAvailableAt(leaseUntil));
+            return events.stream().map(OutboxEvent::getId).toList();
+        });
+    }
+
+    private void deliver(Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                OutboxEvent event = outboxEventRepository.findById(eventId).orElse(null);
+                if (event == null || !OutboxEvent.STATUS_PENDING.equals(event.getStatus())) {
+                    return;
+                }
+                LocalDateTime heldUntil = dispatch(event);
+                if (heldUntil != null) {
+                    // Folded into a pending digest: stays PENDING until BidAlertCoalescer sends it, and is
+                    // claimed again only if that has not happened well after the digest was due
+                    event.setAvailableAt(heldUntil.plusSeconds(claimTtlSeconds));
+                    return;
+                }
+                event.setStatus(OutboxEvent.STATUS_SENT);
+                event.setProcessedAt(LocalDateTime.now());
+            });
+        } catch (RuntimeException e) {
+            recordFailure(eventId, e);
+        }
+    }
+
+    /**
+     * Carries out the event. Returns null once it is done, or the time a held-back bid alert is due
+     * to go out with its digest.
+     */
+    private LocalDateTime dispatch(OutboxEvent event) {
+        try {
+            switch (OutboxEventType.valueOf(event.getEventType())) {
+                case IN_APP_NOTIFICATION -> {
+                    OutboxEventType.NotificationPayload payload =
+                            objectMapper.readValue(event.getPayload(), OutboxEventType.NotificationPayload.class);
+                    notificationService.createNotification(userRepository.getReferenceById(payload.userId()), payload.message());
+                }
+                case USER_NOTIFICATION -> {
+                    OutboxEventType.UserNotificationPayload payload =
+                            objectMapper.readValue(event.getPayload(), OutboxEventType.UserNotificationPayload.class);
+                    userRepository.findById(payload.userId()).ifPresent(user ->
+                            notificationSender.send(user, payload.subject(), payload.message()));
+                }
+                case BID_ALERT -> {
+                    OutboxEventType.BidAlertPayload payload =
+                            objectMapper.readValue(event.getPayload(), OutboxEventType.BidAlertPayload.class);
+                    return bidAlertCoalescer.submit(BidAlertCoalescer.Kind.valueOf(payload.kind()), payload.userId(),
+                            payload.auctionId(), payload.itemName(), payload.amount(), payload.message(), event.getId());
+                }
+                case NEW_AUCTION_ALERT -> newAuctionAlertDispatcher.fanOut(
+                        objectMapper.readValue(event.getPayload(), OutboxEventType.NewAuctionAlertPayload.class));
+                case NEW_AUCTION_ALERT_CHUNK -> newAuctionAlertDispatcher.sendChunk(
+                        objectMapper.readValue(event.getPayload(), OutboxEventType.NewAuctionAlertChunkPayload.class));
+            }
+            return null;
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException("Unreadable outbox payload for event " + event.getId(), e);
+        }
+    }
+
+    private void recordFailure(Long eventId, RuntimeException cause) {
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(eventId).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(truncate(cause.getMessage()));
+            if (attempts >= maxAttempts) {
+                event.setStatus(OutboxEvent.STATUS_FAILED);
+                event.setProcessedAt(LocalDateTime.now());
+                logger.error("Outbox event {} ({}) failed permanently after {} attempts", eventId, event.getEventType(), attempts, cause);
+            } else {
+                // 2s, 4s, 8s ... capped at ten minutes
+                long backoffSeconds = Math.min(600, 1L << attempts);
+                event.setAvailableAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+                logger.warn("Outbox event {} ({}) failed, retrying in {}s: {}", eventId, event.getEventType(), backoffSeconds, cause.getMessage());
+            }
+        }));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
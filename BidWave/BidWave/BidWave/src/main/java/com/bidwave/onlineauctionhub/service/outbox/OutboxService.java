@@ -0,0 +1,69 @@
+package com.bidwave.onlineauctionhub.service.outbox;
+
+import com.bidwave.onlineauctionhub.models.OutboxEvent;
+import com.bidwave.onlineauctionhub.models.User;
+import com.bidwave.onlineauctionhub.repositories.OutboxEventRepository;
+import com.bidwave.onlineauctionhub.service.bidding.BidAlertCoalescer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records side effects in the caller's transaction. Nothing is delivered here;
+ * {@link OutboxRelay} picks the events up once the transaction has committed.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void enqueueNotification(User user, String message) {
+        enqueue(OutboxEventType.IN_APP_NOTIFICATION, new OutboxEventType.NotificationPayload(user.getUserId(), message));
+    }
+
+    public void enqueueUserNotification(Long userId, String subject, String message) {
+        enqueue(OutboxEventType.USER_NOTIFICATION, new OutboxEventType.UserNotificationPayload(userId, subject, message));
+    }
+
+    public void enqueueBidAlert(BidAlertCoalescer.Kind kind, Long userId, Long auctionId, String itemName,
+                                BigDecimal amount, String message) {
+        enqueue(OutboxEventType.BID_ALERT,
+                new OutboxEventType.BidAlertPayload(kind.name(), userId, auctionId, itemName, amount, message));
+    }
+
+    public void enqueueNewAuctionAlert(Long auctionId, String itemName, BigDecimal startPrice,
+                                       Set<Long> categoryIds, Set<String> keywords) {
+        enqueue(OutboxEventType.NEW_AUCTION_ALERT,
+                new OutboxEventType.NewAuctionAlertPayload(auctionId, itemName, startPrice, categoryIds, keywords));
+    }
+
+    public void enqueueNewAuctionAlertChunk(Long auctionId, String itemName, BigDecimal startPrice,
+                                            LocalDate alertDate, List<Long> userIds) {
+        enqueue(OutboxEventType.NEW_AUCTION_ALERT_CHUNK, new OutboxEventType.NewAuctionAlertChunkPayload(
+                auctionId, itemName, startPrice, alertDate, List.copyOf(userIds)));
+    }
+
+    private void enqueue(OutboxEventType type, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(type.name(), objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload for " + type, e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV: a header line with the column names, then one line per row.
+ * Each row is written as soon as it is read, through a fixed-size buffer. Text that a spreadsheet
+ * would run as a formula (starting with {@code =}, {@code +}, {@code -} or {@code @}) is prefixed
+ * with {@code '}.
+ */
+@Component
+public class CsvReportStrategy implements ReportGenerationStrategy {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public void write(ReportDataset dataset, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeLine(writer, dataset.columns());
+        for (Iterator<List<?>> it = dataset.rows().iterator(); it.hasNext(); ) {
+            writeLine(writer, it.next());
+        }
+        // Flush rather than close, the stream belongs to the caller
+        writer.flush();
+    }
+
+    private void writeLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            String field = ReportDataset.text(value);
+            writeField(writer, value instanceof Number ? field : neutraliseFormula(field));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(Writer writer, String field) throws IOException {
+        if (!needsQuoting(field)) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String neutraliseFormula(String field) {
+        if (!field.isEmpty() && "=+-@".indexOf(field.charAt(0)) >= 0) {
+            return "'" + field;
+        }
+        return field;
+    }
+
+    private boolean needsQuoting(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getFormat() {
+        return "CSV";
+    }
+
+    @Override
+    public String getContentType() {
+        return "text/csv";
+    }
+}
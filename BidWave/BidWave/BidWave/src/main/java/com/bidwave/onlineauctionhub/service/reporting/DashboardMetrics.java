@@ -0,0 +1,146 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import com.bidwave.onlineauctionhub.dto.SystemReportDto;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import com.bidwave.onlineauctionhub.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory counters behind the admin dashboard.
+ * <p>
+ * The counters are seeded from the database once and then moved by domain events (registrations,
+ * new auctions, status changes, deletions) after their transaction commits, so reading the
+ * dashboard never touches the users or auctions tables. Changes only mark the dashboard dirty;
+ * at most one broadcast per {@code bidwave.dashboard.broadcast-interval-ms} goes out, however
+ * many events arrive. A periodic reseed corrects drift from changes made on other nodes.
+ */
+@Component
+public class DashboardMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardMetrics.class);
+
+    private final UserRepository userRepository;
+    private final AuctionRepository auctionRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final LongAdder totalUsers = new LongAdder();
+    private final Map<String, LongAdder> auctionsByStatus = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @Autowired
+    public DashboardMetrics(UserRepository userRepository, AuctionRepository auctionRepository,
+                            SimpMessagingTemplate messagingTemplate) {
+        this.userRepository = userRepository;
+        this.auctionRepository = auctionRepository;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Replaces the counters with fresh totals from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${bidwave.dashboard.reseed-ms:600000}", fixedDelayString = "${bidwave.dashboard.reseed-ms:600000}")
+    public synchronized void reseed() {
+        long users = userRepository.count();
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : auctionRepository.countAuctionsByStatus()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+
+        totalUsers.reset();
+        totalUsers.add(users);
+        auctionsByStatus.values().forEach(LongAdder::reset);
+        counts.forEach((status, count) -> counter(status).add(count));
+        dirty.set(true);
+        logger.debug("Dashboard counters seeded: {} users, {} auction statuses", users, counts.size());
+    }
+
+    public void userRegistered() {
+        AfterCommit.run(() -> {
+            totalUsers.increment();
+            dirty.set(true);
+        });
+    }
+
+    public void userDeleted() {
+        AfterCommit.run(() -> {
+            totalUsers.decrement();
+            dirty.set(true);
+        });
+    }
+
+    public void auctionCreated(String status) {
+        AfterCommit.run(() -> {
+            counter(status).increment();
+            dirty.set(true);
+        });
+    }
+
+    public void auctionDeleted(String status) {
+        AfterCommit.run(() -> {
+            counter(status).decrement();
+            dirty.set(true);
+        });
+    }
+
+    public void auctionStatusChanged(String fromStatus, String toStatus) {
+        auctionsStatusChanged(fromStatus, toStatus, 1);
+    }
+
+    public void auctionsStatusChanged(String fromStatus, String toStatus, int count) {
+        if (count == 0 || fromStatus.equals(toStatus)) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            counter(fromStatus).add(-count);
+            counter(toStatus).add(count);
+            dirty.set(true);
+        });
+    }
+
+    public SystemReportDto snapshot() {
+        Map<String, Long> byStatus = new TreeMap<>();
+        long totalAuctions = 0;
+        for (Map.Entry<String, LongAdder> entry : auctionsByStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                byStatus.put(entry.getKey(), count);
+                totalAuctions += count;
+            }
+        }
+        return new SystemReportDto(totalUsers.sum(), totalAuctions, byStatus);
+    }
+
+    /**
+     * Sends the current snapshot to {@code /topic/admin/dashboard} if anything changed since the last one.
+     */
+    @Scheduled(fixedDelayString = "${bidwave.dashboard.broadcast-interval-ms:2000}")
+    public void broadcastIfChanged() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend("/topic/admin/dashboard", snapshot());
+        } catch (Exception e) {
+            logger.error("Error broadcasting dashboard update", e);
+        }
+    }
+
+    private LongAdder counter(String status) {
+        return auctionsByStatus.computeIfAbsent(status, s -> new LongAdder());
+    }
+}
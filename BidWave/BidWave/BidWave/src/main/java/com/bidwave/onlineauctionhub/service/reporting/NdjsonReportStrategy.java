@@ -0,0 +1,83 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON: one object per row, keyed by column name, with no enclosing array so
+ * consumers can process the export line by line. Values are written through the application's
+ * {@link ObjectMapper}, so types look the same as in the JSON API.
+ */
+@Component
+public class NdjsonReportStrategy implements ReportGenerationStrategy {
+
+    private final ObjectMapper objectMapper;
+    // The mapper flushes after every value by default, which would defeat the output buffer;
+    // dates are always ISO-8601 strings, whatever the mapper's own setting
+    private final ObjectWriter valueWriter;
+
+    @Autowired
+    public NdjsonReportStrategy(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.valueWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    public void write(ReportDataset dataset, OutputStream out) throws IOException {
+        List<String> columns = dataset.columns();
+        BufferedOutputStream buffered = new BufferedOutputStream(out, CsvReportStrategy.BUFFER_SIZE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffered)) {
+            // Leave the caller's stream open when the generator closes, and end each row with '\n' ourselves
+            // rather than letting the generator put its default ' ' root separator in front of the next one
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (Iterator<List<?>> it = dataset.rows().iterator(); it.hasNext(); ) {
+                List<?> row = it.next();
+                generator.writeStartObject();
+                for (int i = 0; i < columns.size(); i++) {
+                    generator.writeFieldName(columns.get(i));
+                    writeValue(generator, row.get(i));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        buffered.flush();
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String text) {
+            generator.writeString(text);
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else {
+            valueWriter.writeValue(generator, value);
+        }
+    }
+
+    @Override
+    public String getFormat() {
+        return "NDJSON";
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/x-ndjson";
+    }
+}
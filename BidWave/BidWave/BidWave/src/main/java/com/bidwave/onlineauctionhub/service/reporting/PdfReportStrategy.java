@@ -1,31 +1,66 @@
 package com.bidwave.onlineauctionhub.service.reporting;
 
 import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
 import com.lowagie.text.Paragraph;
+import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 @Component
 public class PdfReportStrategy implements ReportGenerationStrategy {
+
+    private static final int TABLE_FLUSH_ROWS = 200;
+
     @Override
-    public ByteArrayInputStream generate(List<?> data) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    public void write(ReportDataset dataset, OutputStream out) throws IOException {
         Document document = new Document();
         try {
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
-            document.add(new Paragraph("System Activity Report (PDF)"));
-            data.forEach(item -> document.add(new Paragraph(item.toString())));
-            document.close();
-        } catch (Exception e) { /* handle exception */ }
-        return new ByteArrayInputStream(out.toByteArray());
+            document.add(new Paragraph(dataset.title()));
+
+            // Rows are added to an incomplete table that is flushed in slices, so pages go out while rows are still being read
+            PdfPTable table = new PdfPTable(dataset.columns().size());
+            table.setWidthPercentage(100);
+            table.setSpacingBefore(10);
+            table.setComplete(false);
+            dataset.columns().forEach(table::addCell);
+            table.setHeaderRows(1);
+
+            int rows = 0;
+            for (Iterator<List<?>> it = dataset.rows().iterator(); it.hasNext(); ) {
+                for (Object value : it.next()) {
+                    table.addCell(ReportDataset.text(value));
+                }
+                if (++rows % TABLE_FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
+            }
+            table.setComplete(true);
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IOException("Failed to write PDF report", e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
     }
 
     @Override
     public String getFormat() {
         return "PDF";
     }
-}
\ No newline at end of file
+
+    @Override
+    public String getContentType() {
+        return MediaType.APPLICATION_PDF_VALUE;
+    }
+}
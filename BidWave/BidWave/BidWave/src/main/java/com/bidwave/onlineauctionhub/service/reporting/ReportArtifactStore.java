@@ -0,0 +1,123 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Rendered reports on local disk, named by the SHA-256 of their content.
+ * <p>
+ * A file is written under a temporary name while its hash is computed, then moved into place, so
+ * readers never see a partial artifact. Every PDF carries its creation time and a random file ID,
+ * so each render gets its own file even when the data has not changed. Artifacts are immutable; a
+ * path handed out by {@link #find(String)} stays valid until {@link #purge} removes it.
+ */
+@Component
+public class ReportArtifactStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportArtifactStore.class);
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String SUFFIX = ".pdf";
+
+    @FunctionalInterface
+    public interface ArtifactWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private final Path root;
+
+    public ReportArtifactStore(@Value("${bidwave.reports.artifact-dir:report-artifacts}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Runs the writer into a new artifact and returns its hash.
+     */
+    public String store(ArtifactWriter writer) throws IOException {
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, "render-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024), digest)) {
+                writer.write(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content rendered before, keep the existing file
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Deletes artifacts last written before {@code cutoff} whose hash is not in {@code keep}.
+     */
+    public int purge(Set<String> keep, Instant cutoff) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path shard : shards) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(shard, "*" + SUFFIX)) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        String hash = name.substring(0, name.length() - SUFFIX.length());
+                        if (!keep.contains(hash) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                            Files.deleteIfExists(file);
+                            deleted++;
+                        }
+                    }
+                }
+            }
+        }
+        logger.debug("Purged {} report artifacts from {}", deleted, root);
+        return deleted;
+    }
+
+    // Two-character shards keep any one directory small
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + SUFFIX);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A report as a header plus a lazily produced stream of rows, each holding one value per column.
+ * Strategies consume the rows once, in order, and must not collect them.
+ */
+public record ReportDataset(String title, List<String> columns, Stream<List<?>> rows) {
+
+    /**
+     * Plain text form of a cell value shared by the text-based formats; {@code null} becomes empty.
+     */
+    public static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+}
@@ -1,9 +1,14 @@
 package com.bidwave.onlineauctionhub.service.reporting;
 
-import java.io.ByteArrayInputStream;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface ReportGenerationStrategy {
-    ByteArrayInputStream generate(List<?> data);
+    /**
+     * Writes the dataset to {@code out} while its rows are being read.
+     * The output stream belongs to the caller and is left open.
+     */
+    void write(ReportDataset dataset, OutputStream out) throws IOException;
     String getFormat();
-}
\ No newline at end of file
+    String getContentType();
+}
@@ -0,0 +1,276 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import com.bidwave.onlineauctionhub.dto.ReportJobDto;
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.AuctionReport;
+import com.bidwave.onlineauctionhub.repositories.AuctionReportRepository;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.service.PdfGenerationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders admin PDF reports off the request thread.
+ * <p>
+ * A request for a report that has already been rendered is answered from the
+ * {@link ReportArtifactStore} without touching the renderer. Otherwise a job is queued on a small
+ * bounded pool; concurrent requests for the same report share one job, and every admin who asked
+ * is told over {@code /user/queue/report-jobs} when it is ready. Reports of closed auctions never
+ * change, so their artifact hash is kept on the {@link AuctionReport} (or, for auctions without
+ * one, in memory) and every later download is a plain file transfer. Jobs themselves are not
+ * persisted: one lost in a restart is simply requested again.
+ */
+@Component
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    public enum Type { WINNER_REPORT, BID_HISTORY }
+
+    public enum Status { QUEUED, RUNNING, READY, FAILED }
+
+    private static final class ReportJob {
+        final String id = UUID.randomUUID().toString();
+        final Type type;
+        final Long targetId;
+        final Long auctionId;
+        final boolean finalized;
+        final Set<String> requesters = ConcurrentHashMap.newKeySet();
+        volatile Status status = Status.QUEUED;
+        volatile String hash;
+        volatile String error;
+
+        ReportJob(Type type, Long targetId, Long auctionId, boolean finalized) {
+            this.type = type;
+            this.targetId = targetId;
+            this.auctionId = auctionId;
+            this.finalized = finalized;
+        }
+
+        String key() {
+            return type + ":" + targetId;
+        }
+    }
+
+    private final PdfGenerationService pdfGenerationService;
+    private final AuctionRepository auctionRepository;
+    private final AuctionReportRepository reportRepository;
+    private final ReportArtifactStore artifactStore;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Duration artifactTtl;
+
+    // Jobs still queued or rendering, by report, so duplicate requests join the running one
+    private final ConcurrentHashMap<String, ReportJob> active = new ConcurrentHashMap<>();
+    // Recent jobs by id, for status lookups after they finish
+    private final Cache<String, ReportJob> recentJobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(10_000)
+            .build();
+    // Winner reports of closed auctions that have no AuctionReport row to hold the hash
+    private final Cache<Long, String> winnerArtifacts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    @Autowired
+    public ReportJobService(PdfGenerationService pdfGenerationService,
+                            AuctionRepository auctionRepository,
+                            AuctionReportRepository reportRepository,
+                            ReportArtifactStore artifactStore,
+                            SimpMessagingTemplate messagingTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${bidwave.reports.workers:2}") int workers,
+                            @Value("${bidwave.reports.queue-capacity:50}") int queueCapacity,
+                            @Value("${bidwave.reports.artifact-ttl:P1D}") Duration artifactTtl) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.auctionRepository = auctionRepository;
+        this.reportRepository = reportRepository;
+        this.artifactStore = artifactStore;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.artifactTtl = artifactTtl;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, workers), Math.max(1, workers), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> new Thread(runnable, "report-worker-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public ReportJobDto requestWinnerReport(Long auctionId, String requesterEmail) {
+        Auction auction = auctionRepository.findById(auctionId)
+                .orElseThrow(() -> new RuntimeException("Auction not found"));
+        boolean finalized = auction.getStatus() != null && auction.getStatus().startsWith("CLOSED");
+
+        if (finalized) {
+            String hash = reportRepository.findByAuction_AuctionId(auctionId)
+                    .map(AuctionReport::getWinnerArtifactHash)
+                    .orElseGet(() -> winnerArtifacts.getIfPresent(auctionId));
+            if (artifactStore.find(hash).isPresent()) {
+                return ready(Type.WINNER_REPORT, auctionId, hash);
+            }
+        }
+        return submit(new ReportJob(Type.WINNER_REPORT, auctionId, auctionId, finalized), requesterEmail);
+    }
+
+    public ReportJobDto requestBidHistory(Long reportId, String requesterEmail) {
+        AuctionReport report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new RuntimeException("Report not found"));
+
+        // Reports only exist for closed auctions, so the bid history is final
+        if (artifactStore.find(report.getArtifactHash()).isPresent()) {
+            return ready(Type.BID_HISTORY, reportId, report.getArtifactHash());
+        }
+        return submit(new ReportJob(Type.BID_HISTORY, reportId, report.getAuction().getAuctionId(), true), requesterEmail);
+    }
+
+    public Optional<ReportJobDto> getJob(String jobId) {
+        return Optional.ofNullable(recentJobs.getIfPresent(jobId)).map(this::toDto);
+    }
+
+    public Optional<Path> findArtifact(String hash) {
+        return artifactStore.find(hash);
+    }
+
+    public static String downloadUrl(Type type, Long targetId, String hash) {
+        return "/api/admin/report-artifacts/" + hash + "/" + filename(type, targetId);
+    }
+
+    public static String filename(Type type, Long targetId) {
+        return type == Type.WINNER_REPORT
+                ? "auction_report_" + targetId + ".pdf"
+                : "auction_report_" + targetId + "_bids.pdf";
+    }
+
+    private ReportJobDto submit(ReportJob candidate, String requesterEmail) {
+        boolean[] created = {false};
+        ReportJob job = active.compute(candidate.key(), (key, existing) -> {
+            ReportJob chosen = existing != null ? existing : candidate;
+            chosen.requesters.add(requesterEmail);
+            created[0] = existing == null;
+            return chosen;
+        });
+        if (created[0]) {
+            recentJobs.put(job.id, job);
+            try {
+                executor.execute(() -> render(job));
+            } catch (RejectedExecutionException e) {
+                active.remove(job.key(), job);
+                recentJobs.invalidate(job.id);
+                throw new IllegalStateException("Too many reports are being generated right now, please try again shortly.");
+            }
+        }
+        return toDto(job);
+    }
+
+    private void render(ReportJob job) {
+        job.status = Status.RUNNING;
+        try {
+            String hash = artifactStore.store(out -> {
+                if (job.type == Type.WINNER_REPORT) {
+                    pdfGenerationService.writeWinnerReportPdf(job.targetId, out);
+                } else {
+                    pdfGenerationService.writeAuctionBiddersReportPdf(job.auctionId, out);
+                }
+            });
+            if (job.finalized) {
+                remember(job, hash);
+            }
+            job.hash = hash;
+            job.status = Status.READY;
+        } catch (Exception e) {
+            logger.error("Failed to render {} report {}", job.type, job.targetId, e);
+            job.error = "The report could not be generated.";
+            job.status = Status.FAILED;
+        } finally {
+            // Anyone who joined the job did so before this removal, so they are all notified below
+            active.remove(job.key(), job);
+        }
+        ReportJobDto dto = toDto(job);
+        for (String email : job.requesters) {
+            try {
+                messagingTemplate.convertAndSendToUser(email, "/queue/report-jobs", dto);
+            } catch (Exception e) {
+                logger.warn("Failed to notify {} about report job {}", email, job.id, e);
+            }
+        }
+    }
+
+    private void remember(ReportJob job, String hash) {
+        if (job.type == Type.BID_HISTORY) {
+            transactionTemplate.executeWithoutResult(status -> reportRepository.recordArtifact(job.targetId, hash));
+            return;
+        }
+        Integer updated = transactionTemplate.execute(status -> reportRepository.recordWinnerArtifact(job.auctionId, hash));
+        if (updated == null || updated == 0) {
+            winnerArtifacts.put(job.auctionId, hash);
+        }
+    }
+
+    /**
+     * Removes artifacts nothing points at any more, such as renders of auctions that were still
+     * running, once they are older than {@code bidwave.reports.artifact-ttl}.
+     */
+    @Scheduled(cron = "${bidwave.reports.artifact-purge-cron:0 30 3 * * *}")
+    public void purgeArtifacts() {
+        Set<String> keep = new HashSet<>(reportRepository.findArtifactHashes());
+        keep.addAll(reportRepository.findWinnerArtifactHashes());
+        keep.addAll(winnerArtifacts.asMap().values());
+        try {
+            int purged = artifactStore.purge(keep, Instant.now().minus(artifactTtl));
+            if (purged > 0) {
+                logger.info("Purged {} unreferenced report artifacts", purged);
+            }
+        } catch (Exception e) {
+            logger.error("Error purging report artifacts", e);
+        }
+    }
+
+    private ReportJobDto ready(Type type, Long targetId, String hash) {
+        return new ReportJobDto(null, type.name(), targetId, Status.READY.name(), hash, downloadUrl(type, targetId, hash), null);
+    }
+
+    private ReportJobDto toDto(ReportJob job) {
+        String hash = job.status == Status.READY ? job.hash : null;
+        String url = hash != null ? downloadUrl(job.type, job.targetId, hash) : null;
+        return new ReportJobDto(job.id, job.type.name(), job.targetId, job.status.name(), hash, url, job.error);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Report jobs still queued at shutdown: {}", executor.getQueue().size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Helpers for reports that read their rows through a database cursor.
+ */
+public final class ReportStreams {
+
+    public static final int CLEAR_INTERVAL = 1000;
+
+    private ReportStreams() {
+    }
+
+    /**
+     * Clears the persistence context every {@code interval} elements, so entities already written
+     * out can be garbage collected instead of piling up for the rest of the stream. The element
+     * being passed on is detached too, so everything the report reads must be fetched with it.
+     */
+    public static <T> Stream<T> clearingEvery(Stream<T> stream, EntityManager entityManager, int interval) {
+        AtomicInteger seen = new AtomicInteger();
+        return stream.peek(element -> {
+            if (seen.incrementAndGet() % interval == 0) {
+                entityManager.clear();
+            }
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package com.bidwave.onlineauctionhub.service.search;
+
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over ACTIVE auctions, replacing {@code LIKE '%term%'} scans.
+ * <p>
+ * Item names and descriptions are split into lowercase tokens. The term dictionary is a sorted
+ * map, so a query token matches every term it is a prefix of with one range lookup. All query
+ * tokens must match; results are ranked by summed weight (name matches count more than
+ * description matches, exact terms more than prefixes).
+ */
+@Component
+public class AuctionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuctionSearchIndex.class);
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_BONUS = 2;
+
+    // term -> (auctionId -> weight)
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    // auctionId -> its terms, so an auction can be removed or re-indexed
+    private final Map<Long, Set<String>> termsByAuction = new ConcurrentHashMap<>();
+    // Striped locks so concurrent re-indexing of the same auction cannot interleave
+    private final Object[] locks = new Object[64];
+
+    private final AuctionRepository auctionRepository;
+
+    @Value("${bidwave.search.max-results:1000}")
+    private int maxResults = 1000;
+
+    @Autowired
+    public AuctionSearchIndex(AuctionRepository auctionRepository) {
+        this.auctionRepository = auctionRepository;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Object[] row : auctionRepository.findSearchableTextByStatus("ACTIVE")) {
+            index((Long) row[0], (String) row[1], (String) row[2]);
+        }
+        logger.info("Search index built for {} auctions ({} terms)", termsByAuction.size(), postings.size());
+    }
+
+    /**
+     * Adds the auction or replaces its previous entry.
+     */
+    public void index(Long auctionId, String itemName, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : tokenize(itemName)) {
+            weights.merge(token, NAME_WEIGHT, Math::max);
+        }
+        for (String token : tokenize(description)) {
+            weights.merge(token, DESCRIPTION_WEIGHT, Math::max);
+        }
+        synchronized (lockFor(auctionId)) {
+            removeTerms(auctionId);
+            // Put under the term's own map entry lock: removeTerms() of another auction may drop the
+            // map the moment it becomes empty, and a put into that detached map would be lost
+            weights.forEach((term, weight) -> postings.compute(term, (t, docs) -> {
+                docs = docs == null ? new ConcurrentHashMap<>() : docs;
+                docs.put(auctionId, weight);
+                return docs;
+            }));
+            termsByAuction.put(auctionId, weights.keySet());
+        }
+    }
+
+    public void remove(Long auctionId) {
+        synchronized (lockFor(auctionId)) {
+            removeTerms(auctionId);
+        }
+    }
+
+    /**
+     * Every auction matching all tokens of the query, for filtering and facet counts.
+     */
+    public RoaringBitmap matching(String query) {
+        RoaringBitmap ids = new RoaringBitmap();
+        scores(query).keySet().forEach(auctionId -> ids.add(Math.toIntExact(auctionId)));
+        return ids;
+    }
+
+    /**
+     * Returns the ids of auctions matching every token of the query, best match first.
+     */
+    public List<Long> search(String query) {
+        return search(query, null);
+    }
+
+    /**
+     * Best-match ranking of the matches that are also in {@code restrictTo} (all matches when null),
+     * capped at {@code bidwave.search.max-results}.
+     */
+    public List<Long> search(String query, RoaringBitmap restrictTo) {
+        return scores(query).entrySet().stream()
+                .filter(entry -> restrictTo == null || restrictTo.contains(Math.toIntExact(entry.getKey())))
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed()))
+                .limit(maxResults)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        return termsByAuction.size();
+    }
+
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private Map<Long, Integer> scores(String query) {
+        List<String> tokens = new ArrayList<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Map<Long, Integer>> perToken = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Map<Long, Integer> matches = match(token);
+            if (matches.isEmpty()) {
+                return Map.of();
+            }
+            perToken.add(matches);
+        }
+        // Intersect starting from the most selective token
+        perToken.sort(Comparator.comparingInt(Map::size));
+
+        Map<Long, Integer> scores = new HashMap<>(perToken.get(0));
+        for (int i = 1; i < perToken.size() && !scores.isEmpty(); i++) {
+            Map<Long, Integer> next = perToken.get(i);
+            scores.entrySet().removeIf(entry -> !next.containsKey(entry.getKey()));
+            scores.replaceAll((id, score) -> score + next.get(id));
+        }
+        return scores;
+    }
+
+    private Map<Long, Integer> match(String prefix) {
+        ConcurrentNavigableMap<String, Map<Long, Integer>> range =
+                postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Map<Long, Integer> matches = new HashMap<>();
+        range.forEach((term, docs) -> {
+            int bonus = term.equals(prefix) ? EXACT_BONUS : 1;
+            docs.forEach((auctionId, weight) -> matches.merge(auctionId, weight * bonus, Math::max));
+        });
+        return matches;
+    }
+
+    private void removeTerms(Long auctionId) {
+        Set<String> terms = termsByAuction.remove(auctionId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            postings.computeIfPresent(term, (t, docs) -> {
+                docs.remove(auctionId);
+                return docs.isEmpty() ? null : docs;
+            });
+        }
+    }
+
+    private Object lockFor(Long auctionId) {
+        return locks[Math.floorMod(Long.hashCode(auctionId), locks.length)];
+    }
+}
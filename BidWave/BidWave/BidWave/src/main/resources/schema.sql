@@ -1,6 +1,17 @@
 -- Drop tables in the correct order to respect foreign key constraints
 -- Drop child tables first, then parent tables
 
+DROP TABLE IF EXISTS `auction_listing_category`;
+DROP TABLE IF EXISTS `category_hourly_stats`;
+DROP TABLE IF EXISTS `alert_quotas`;
+DROP TABLE IF EXISTS `auction_subscriptions`;
+DROP TABLE IF EXISTS `announcement_receipts`;
+DROP TABLE IF EXISTS `announcement_watermarks`;
+DROP TABLE IF EXISTS `auction_listing`;
+DROP TABLE IF EXISTS `finalizer_leases`;
+DROP TABLE IF EXISTS `finalizer_nodes`;
+DROP TABLE IF EXISTS `outbox_events`;
+DROP TABLE IF EXISTS `mail_dead_letters`;
 DROP TABLE IF EXISTS `notifications`;
 DROP TABLE IF EXISTS `verification_token`;
 DROP TABLE IF EXISTS `bids`;
@@ -49,8 +60,16 @@ CREATE TABLE `auctions` (
                             `status` VARCHAR(255),
                             `auction_type` VARCHAR(255) NOT NULL DEFAULT 'STANDARD', -- <-- ADD THIS LINE
                             `seller_user_id` BIGINT NOT NULL,
+                            `current_high_bid` DECIMAL(19,2),
+                            `current_high_bidder_id` BIGINT,
+                            `bid_count` INT NOT NULL DEFAULT 0,
+                            `version` BIGINT NOT NULL DEFAULT 0,
                             PRIMARY KEY (`auction_id`),
-                            FOREIGN KEY (`seller_user_id`) REFERENCES `users`(`user_id`)
+                            INDEX `idx_auctions_status_end_time` (`status`, `end_time`, `auction_id`),
+                            INDEX `idx_auctions_status_price` (`status`, `start_price`, `auction_id`),
+                            INDEX `idx_auctions_status_id` (`status`, `auction_id`),
+                            FOREIGN KEY (`seller_user_id`) REFERENCES `users`(`user_id`),
+                            FOREIGN KEY (`current_high_bidder_id`) REFERENCES `users`(`user_id`)
 ) ENGINE=InnoDB;
 
 -- Create the auction_images table
@@ -79,6 +98,8 @@ CREATE TABLE `bids` (
                         `auction_id` BIGINT NOT NULL,
                         `buyer_user_id` BIGINT NOT NULL,
                         PRIMARY KEY (`bid_id`),
+                        INDEX `idx_bids_bid_time` (`bid_time`),
+                        INDEX `idx_bids_auction_amount` (`auction_id`, `bid_amount`),
                         FOREIGN KEY (`auction_id`) REFERENCES `auctions`(`auction_id`),
                         FOREIGN KEY (`buyer_user_id`) REFERENCES `users`(`user_id`)
 ) ENGINE=InnoDB;
@@ -101,6 +122,8 @@ CREATE TABLE `notifications` (
                                  `message` VARCHAR(255) NOT NULL,
                                  `user_id` BIGINT NOT NULL,
                                  PRIMARY KEY (`id`),
+                                 INDEX `idx_notifications_user_read_created` (`user_id`, `is_read`, `created_at`),
+                                 INDEX `idx_notifications_user_created` (`user_id`, `created_at`, `id`),
                                  FOREIGN KEY (`user_id`) REFERENCES `users`(`user_id`)
 ) ENGINE=InnoDB;
 
@@ -112,6 +135,8 @@ CREATE TABLE `auction_reports` (
                                    `auction_id` BIGINT NOT NULL,
                                    `created_by_admin_id` BIGINT,
                                    `winner_user_id` BIGINT,
+                                   `artifact_hash` VARCHAR(64),
+                                   `winner_artifact_hash` VARCHAR(64),
                                    PRIMARY KEY (`report_id`),
                                    FOREIGN KEY (`auction_id`) REFERENCES `auctions`(`auction_id`),
                                    FOREIGN KEY (`created_by_admin_id`) REFERENCES `users`(`user_id`),
@@ -126,5 +151,141 @@ CREATE TABLE `announcements` (
                                  `created_at` DATETIME(6) NOT NULL,
                                  `admin_user_id` BIGINT NOT NULL,
                                  PRIMARY KEY (`id`),
+                                 INDEX `idx_announcements_audience_id` (`target_audience`, `id`),
                                  FOREIGN KEY (`admin_user_id`) REFERENCES `users`(`user_id`)
-) ENGINE=InnoDB;
\ No newline at end of file
+) ENGINE=InnoDB;
+
+-- Side effects recorded with the business change and delivered by the outbox relay
+CREATE TABLE `outbox_events` (
+                                 `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                 `event_type` VARCHAR(40) NOT NULL,
+                                 `payload` LONGTEXT NOT NULL,
+                                 `status` VARCHAR(20) NOT NULL,
+                                 `attempts` INT NOT NULL DEFAULT 0,
+                                 `last_error` VARCHAR(1000),
+                                 `created_at` DATETIME(6) NOT NULL,
+                                 `available_at` DATETIME(6) NOT NULL,
+                                 `processed_at` DATETIME(6),
+                                 PRIMARY KEY (`id`),
+                                 INDEX `idx_outbox_claim` (`status`, `available_at`, `id`)
+) ENGINE=InnoDB;
+
+-- Emails the delivery pipeline gave up on after exhausting its retries
+CREATE TABLE `mail_dead_letters` (
+                                     `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                     `recipient` VARCHAR(255) NOT NULL,
+                                     `subject` VARCHAR(255),
+                                     `body` LONGTEXT,
+                                     `attempts` INT NOT NULL,
+                                     `last_error` VARCHAR(1000),
+                                     `failed_at` DATETIME(6) NOT NULL,
+                                     PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+-- Partition leases that let several application nodes share auction finalization
+CREATE TABLE `finalizer_leases` (
+                                    `partition_id` INT NOT NULL,
+                                    `owner_id` VARCHAR(100),
+                                    `lease_until` DATETIME(6),
+                                    PRIMARY KEY (`partition_id`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `finalizer_nodes` (
+                                   `node_id` VARCHAR(100) NOT NULL,
+                                   `heartbeat_at` DATETIME(6) NOT NULL,
+                                   PRIMARY KEY (`node_id`)
+) ENGINE=InnoDB;
+
+-- Denormalized read model behind the listing pages, maintained by AuctionListingProjector
+CREATE TABLE `auction_listing` (
+                                   `auction_id` BIGINT NOT NULL,
+                                   `item_name` VARCHAR(255) NOT NULL,
+                                   `status` VARCHAR(20) NOT NULL,
+                                   `seller_id` BIGINT NOT NULL,
+                                   `seller_name` VARCHAR(255),
+                                   `image_url` VARCHAR(255),
+                                   `category_ids` VARCHAR(1000),
+                                   `start_price` DECIMAL(19,2) NOT NULL,
+                                   `current_price` DECIMAL(19,2) NOT NULL,
+                                   `bid_count` INT NOT NULL DEFAULT 0,
+                                   `end_time` DATETIME(6),
+                                   `updated_at` DATETIME(6) NOT NULL,
+                                   PRIMARY KEY (`auction_id`),
+                                   INDEX `idx_listing_status_end_time` (`status`, `end_time`, `auction_id`),
+                                   INDEX `idx_listing_status_price` (`status`, `start_price`, `auction_id`),
+                                   INDEX `idx_listing_status_id` (`status`, `auction_id`),
+                                   INDEX `idx_listing_seller` (`seller_id`, `auction_id`)
+) ENGINE=InnoDB;
+
+-- Per-user read and clear positions in the announcement stream (announcements are merged into feeds on read)
+CREATE TABLE `announcement_watermarks` (
+                                           `user_id` BIGINT NOT NULL,
+                                           `read_through` BIGINT NOT NULL DEFAULT 0,
+                                           `cleared_through` BIGINT NOT NULL DEFAULT 0,
+                                           PRIMARY KEY (`user_id`),
+                                           FOREIGN KEY (`user_id`) REFERENCES `users`(`user_id`)
+) ENGINE=InnoDB;
+
+-- Buyers' category and keyword interests; new auctions are announced only to matching subscribers
+CREATE TABLE `auction_subscriptions` (
+                                         `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                         `user_id` BIGINT NOT NULL,
+                                         `category_id` BIGINT,
+                                         `keyword` VARCHAR(50),
+                                         `created_at` DATETIME(6) NOT NULL,
+                                         PRIMARY KEY (`id`),
+                                         UNIQUE KEY `uk_subscription_user_category` (`user_id`, `category_id`),
+                                         UNIQUE KEY `uk_subscription_user_keyword` (`user_id`, `keyword`),
+                                         FOREIGN KEY (`user_id`) REFERENCES `users`(`user_id`),
+                                         FOREIGN KEY (`category_id`) REFERENCES `categories`(`category_id`) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- New-auction alerts sent and held back per user per day (daily cap and next-day digest)
+CREATE TABLE `alert_quotas` (
+                                `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                `user_id` BIGINT NOT NULL,
+                                `alert_date` DATE NOT NULL,
+                                `sent` INT NOT NULL DEFAULT 0,
+                                `suppressed` INT NOT NULL DEFAULT 0,
+                                PRIMARY KEY (`id`),
+                                UNIQUE KEY `uk_alert_quota_user_date` (`user_id`, `alert_date`),
+                                INDEX `idx_alert_quota_date` (`alert_date`, `suppressed`),
+                                FOREIGN KEY (`user_id`) REFERENCES `users`(`user_id`)
+) ENGINE=InnoDB;
+
+-- Hourly activity per category (category_id 0 = all categories), kept by the analytics rollup
+CREATE TABLE `category_hourly_stats` (
+                                         `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                         `bucket_start` DATETIME(6) NOT NULL,
+                                         `category_id` BIGINT NOT NULL,
+                                         `bid_count` BIGINT NOT NULL DEFAULT 0,
+                                         `unique_bidders` INT NOT NULL DEFAULT 0,
+                                         `closed_count` INT NOT NULL DEFAULT 0,
+                                         `sold_count` INT NOT NULL DEFAULT 0,
+                                         `gross_sold_value` DECIMAL(19,2) NOT NULL DEFAULT 0,
+                                         `rebuilt` BIT(1) NOT NULL DEFAULT 0,
+                                         PRIMARY KEY (`id`),
+                                         UNIQUE KEY `uk_category_hourly_bucket` (`bucket_start`, `category_id`),
+                                         INDEX `idx_category_hourly_series` (`category_id`, `bucket_start`)
+) ENGINE=InnoDB;
+
+-- Categories of each listing row, so a category is selected through an index rather than a LIKE scan
+CREATE TABLE `auction_listing_category` (
+                                            `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                            `auction_id` BIGINT NOT NULL,
+                                            `category_id` BIGINT NOT NULL,
+                                            PRIMARY KEY (`id`),
+                                            UNIQUE KEY `uk_listing_category` (`category_id`, `auction_id`),
+                                            INDEX `idx_listing_category_auction` (`auction_id`)
+) ENGINE=InnoDB;
+
+-- Announcements a user read or deleted one at a time, above their watermarks
+CREATE TABLE `announcement_receipts` (
+                                         `id` BIGINT NOT NULL AUTO_INCREMENT,
+                                         `user_id` BIGINT NOT NULL,
+                                         `announcement_id` BIGINT NOT NULL,
+                                         `dismissed` BIT(1) NOT NULL DEFAULT 0,
+                                         PRIMARY KEY (`id`),
+                                         UNIQUE KEY `uk_announcement_receipt` (`user_id`, `announcement_id`),
+                                         FOREIGN KEY (`user_id`) REFERENCES `users`(`user_id`)
+) ENGINE=InnoDB;
@@ -0,0 +1,131 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.Seller;
+import com.bidwave.onlineauctionhub.models.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The conditional high-bid UPDATE is the commit point for bids, so it alone must decide between competing writers.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuctionHighBidTest {
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Buyer first;
+    private Buyer second;
+    private Long auctionId;
+    private LocalDateTime endTime;
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Seller seller = user(new Seller(), "seller@bidwave.test");
+        first = user(new Buyer(), "first@bidwave.test");
+        second = user(new Buyer(), "second@bidwave.test");
+
+        endTime = LocalDateTime.now().plusHours(1).withNano(0);
+        Auction auction = new Auction();
+        auction.setItemName("Lamp");
+        auction.setDescription("Brass lamp");
+        auction.setStartPrice(new BigDecimal("10.00"));
+        auction.setEndTime(endTime);
+        auction.setStatus("ACTIVE");
+        auction.setSeller(seller);
+        auctionId = auctionRepository.save(auction).getAuctionId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        auctionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exactlyOneOfTwoCompetingBidsTakesTheHighBid() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (Buyer bidder : List.of(first, second)) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return casHighBid("25.00", bidder, LocalDateTime.now());
+                }));
+            }
+            start.countDown();
+            assertEquals(1, results.get(0).get(10, TimeUnit.SECONDS) + results.get(1).get(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Auction auction = auctionRepository.findById(auctionId).orElseThrow();
+        assertEquals(0, new BigDecimal("25.00").compareTo(auction.getCurrentHighBid()));
+        assertEquals(1, auction.getBidCount());
+    }
+
+    @Test
+    void lowerOrEqualAmountsAreRejected() {
+        assertEquals(1, casHighBid("25.00", first, LocalDateTime.now()));
+
+        assertEquals(0, casHighBid("25.00", second, LocalDateTime.now()));
+        assertEquals(0, casHighBid("24.99", second, LocalDateTime.now()));
+        assertEquals(0, casHighBid("10.00", second, LocalDateTime.now()));
+        assertEquals(first.getUserId(), auctionRepository.findById(auctionId).orElseThrow().getCurrentHighBidder().getUserId());
+    }
+
+    @Test
+    void bidCheckedAtOrAfterTheEndTimeIsRejected() {
+        assertEquals(0, casHighBid("25.00", first, endTime));
+        assertEquals(0, casHighBid("25.00", first, endTime.plusSeconds(1)));
+        assertEquals(1, casHighBid("25.00", first, endTime.minusSeconds(1)));
+    }
+
+    private int casHighBid(String amount, Buyer bidder, LocalDateTime now) {
+        return transactionTemplate.execute(status ->
+                auctionRepository.compareAndSetHighBid(auctionId, new BigDecimal(amount), bidder, 1, now));
+    }
+
+    private <T extends User> T user(T user, String email) {
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        return userRepository.save(user);
+    }
+}
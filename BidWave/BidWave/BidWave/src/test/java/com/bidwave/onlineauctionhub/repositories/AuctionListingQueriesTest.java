@@ -0,0 +1,116 @@
+package com.bidwave.onlineauctionhub.repositories;
+
+import com.bidwave.onlineauctionhub.dto.AdminAuctionViewDto;
+import com.bidwave.onlineauctionhub.dto.AuctionSummaryDto;
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.Bid;
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.Seller;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listing pages must cost a fixed number of SQL statements, however many auctions, images and bids they show.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AuctionListingQueriesTest {
+
+    private static final int AUCTIONS = 30;
+    private static final int PAGE_SIZE = 24;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        Seller seller = user(new Seller(), "seller@bidwave.test", "Sam", "Seller");
+        Buyer first = user(new Buyer(), "first@bidwave.test", "Fay", "First");
+        Buyer second = user(new Buyer(), "second@bidwave.test", "Sid", "Second");
+
+        for (int i = 0; i < AUCTIONS; i++) {
+            Auction auction = new Auction();
+            auction.setItemName("Item " + i);
+            auction.setDescription("Description " + i);
+            auction.setStartPrice(new BigDecimal("10.00"));
+            auction.setEndTime(LocalDateTime.now().plusDays(1).plusMinutes(i));
+            auction.setStatus("ACTIVE");
+            auction.setSeller(seller);
+            auction.addImage("https://img.test/" + i + "/a.jpg");
+            auction.addImage("https://img.test/" + i + "/b.jpg");
+            auction.setCurrentHighBid(new BigDecimal("30.00"));
+            auction.setCurrentHighBidder(first);
+            auction.setBidCount(3);
+            entityManager.persist(auction);
+            entityManager.persist(new Bid(new BigDecimal("20.00"), LocalDateTime.now(), first, auction));
+            entityManager.persist(new Bid(new BigDecimal("25.00"), LocalDateTime.now(), second, auction));
+            entityManager.persist(new Bid(new BigDecimal("30.00"), LocalDateTime.now(), first, auction));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void summaryPageIsASingleStatement() {
+        Specification<Auction> active = (root, query, cb) -> cb.equal(root.get("status"), "ACTIVE");
+
+        List<AuctionSummaryDto> page = auctionRepository.findSummaries(active, Sort.by("endTime"), PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, page.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        AuctionSummaryDto firstRow = page.get(0);
+        assertEquals("Item 0", firstRow.itemName());
+        assertEquals("Sam Seller", firstRow.sellerName());
+        assertEquals(3, firstRow.numberOfBids());
+        assertTrue(firstRow.imageUrl().startsWith("https://img.test/0/"));
+    }
+
+    @Test
+    void adminViewIsASingleStatement() {
+        List<AdminAuctionViewDto> views = auctionRepository.findAdminViews(null, Sort.by("endTime").descending());
+
+        assertEquals(AUCTIONS, views.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, views.get(0).numberOfBidders());
+        assertEquals(0, new BigDecimal("30.00").compareTo(views.get(0).highestBid()));
+    }
+
+    private <T extends com.bidwave.onlineauctionhub.models.User> T user(T user, String email, String firstName, String lastName) {
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        entityManager.persist(user);
+        return user;
+    }
+}
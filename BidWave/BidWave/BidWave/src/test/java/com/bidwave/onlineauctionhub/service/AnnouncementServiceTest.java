@@ -0,0 +1,113 @@
+package com.bidwave.onlineauctionhub.service;
+
+import com.bidwave.onlineauctionhub.dto.NotificationDto;
+import com.bidwave.onlineauctionhub.models.Announcement;
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.Seller;
+import com.bidwave.onlineauctionhub.models.TargetAudience;
+import com.bidwave.onlineauctionhub.models.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reading or deleting one announcement must leave the older ones in the feed as they were.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(AnnouncementService.class)
+class AnnouncementServiceTest {
+
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private UnreadCountTracker unreadCountTracker;
+
+    private Buyer buyer;
+    private long older;
+    private long newer;
+
+    @BeforeEach
+    void seed() {
+        Seller author = user(new Seller(), "author@bidwave.test");
+        buyer = user(new Buyer(), "buyer@bidwave.test");
+        older = announce("Older", author);
+        newer = announce("Newer", author);
+        entityManager.flush();
+    }
+
+    @Test
+    void markingOneReadLeavesOlderOnesUnread() {
+        announcementService.markRead(buyer, newer);
+
+        Map<Long, Boolean> read = readStates();
+        assertTrue(read.get(-newer));
+        assertFalse(read.get(-older));
+        assertEquals(1, announcementService.countUnread(buyer));
+    }
+
+    @Test
+    void dismissingOneKeepsOlderOnesInTheFeed() {
+        announcementService.dismiss(buyer, newer);
+
+        Map<Long, Boolean> read = readStates();
+        assertEquals(Map.of(-older, false), read);
+        assertEquals(1, announcementService.countUnread(buyer));
+    }
+
+    @Test
+    void bulkActionsStillCoverEverything() {
+        announcementService.dismiss(buyer, older);
+        announcementService.markAllRead(buyer);
+
+        assertEquals(Map.of(-newer, true), readStates());
+        assertEquals(0, announcementService.countUnread(buyer));
+
+        announcementService.clearAll(buyer);
+        assertTrue(readStates().isEmpty());
+    }
+
+    private Map<Long, Boolean> readStates() {
+        entityManager.flush();
+        List<NotificationDto> feed = announcementService.getFeed(buyer, null, 10);
+        return feed.stream().collect(Collectors.toMap(NotificationDto::id, NotificationDto::isRead));
+    }
+
+    private long announce(String content, User author) {
+        Announcement announcement = new Announcement(content, TargetAudience.ALL, author);
+        entityManager.persist(announcement);
+        return announcement.getId();
+    }
+
+    private <T extends User> T user(T user, String email) {
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        entityManager.persist(user);
+        return user;
+    }
+}
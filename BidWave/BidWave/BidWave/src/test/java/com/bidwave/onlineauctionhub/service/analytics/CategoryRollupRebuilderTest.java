@@ -0,0 +1,164 @@
+package com.bidwave.onlineauctionhub.service.analytics;
+
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.Bid;
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.Category;
+import com.bidwave.onlineauctionhub.models.CategoryHourlyStats;
+import com.bidwave.onlineauctionhub.models.Seller;
+import com.bidwave.onlineauctionhub.models.User;
+import com.bidwave.onlineauctionhub.repositories.CategoryHourlyStatsRepository;
+import com.bidwave.onlineauctionhub.service.finalization.FinalizerLeaseManager;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuilt buckets must match the source tables, counting an auction in several categories once in the totals.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(CategoryRollupRebuilder.class)
+class CategoryRollupRebuilderTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 10, 0, 0);
+
+    @Autowired
+    private CategoryRollupRebuilder rebuilder;
+
+    @Autowired
+    private CategoryHourlyStatsRepository statsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private FinalizerLeaseManager leaseManager;
+
+    private Category art;
+    private Category toys;
+
+    @BeforeEach
+    void seed() {
+        Seller seller = user(new Seller(), "seller@bidwave.test");
+        Buyer first = user(new Buyer(), "first@bidwave.test");
+        Buyer second = user(new Buyer(), "second@bidwave.test");
+        art = category("Art");
+        toys = category("Toys");
+
+        // Sold in both categories at 10:xx, after three bids from two buyers
+        Auction sold = auction(seller, "CLOSED_SOLD", DAY.plusHours(10).plusMinutes(30), Set.of(art, toys));
+        sold.setCurrentHighBid(new BigDecimal("40.00"));
+        bid(sold, first, "20.00", DAY.plusHours(9).plusMinutes(5));
+        bid(sold, second, "30.00", DAY.plusHours(9).plusMinutes(50));
+        bid(sold, first, "40.00", DAY.plusHours(10).plusMinutes(10));
+
+        // Unsold art auction ending in the same hour, and one still running that must be ignored
+        auction(seller, "CLOSED_UNSOLD", DAY.plusHours(10).plusMinutes(45), Set.of(art));
+        auction(seller, "ACTIVE", DAY.plusHours(10).plusMinutes(50), Set.of(art));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rebuildsHourlyBucketsFromSourceTables() {
+        // A stale bucket inside the range is replaced
+        statsRepository.saveAndFlush(new CategoryHourlyStats(DAY.plusHours(3), art.getCategoryId()));
+
+        int written = rebuilder.rebuild(DAY, DAY.plusDays(1));
+
+        // Four category buckets plus a total for each of the day's 24 hours
+        assertEquals(28, written);
+        CategoryHourlyStats allAtNine = bucket(CategoryRollupAggregator.ALL_CATEGORIES, 9);
+        assertTrue(allAtNine.isRebuilt());
+        assertEquals(2, allAtNine.getBidCount());
+        assertEquals(2, allAtNine.getUniqueBidders());
+
+        CategoryHourlyStats allAtTen = bucket(CategoryRollupAggregator.ALL_CATEGORIES, 10);
+        assertEquals(1, allAtTen.getBidCount());
+        assertEquals(2, allAtTen.getClosedCount());
+        assertEquals(1, allAtTen.getSoldCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(allAtTen.getGrossSoldValue()));
+
+        CategoryHourlyStats artAtTen = bucket(art.getCategoryId(), 10);
+        assertEquals(2, artAtTen.getClosedCount());
+        assertEquals(1, artAtTen.getSoldCount());
+        CategoryHourlyStats toysAtTen = bucket(toys.getCategoryId(), 10);
+        assertEquals(1, toysAtTen.getClosedCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(toysAtTen.getGrossSoldValue()));
+
+        assertEquals(0, statsRepository.findSeries(art.getCategoryId(), DAY.plusHours(3), DAY.plusHours(4)).size());
+        CategoryHourlyStats quietHour = bucket(CategoryRollupAggregator.ALL_CATEGORIES, 3);
+        assertEquals(0, quietHour.getBidCount());
+        assertTrue(quietHour.isRebuilt());
+    }
+
+    @Test
+    void hourlyRebuildOnlyRunsOnTheSingletonLeaseHolder() {
+        LocalDateTime lastHour = CategoryRollupAggregator.hourOf(LocalDateTime.now()).minusHours(1);
+
+        when(leaseManager.ownsSingletonJobs()).thenReturn(false);
+        rebuilder.rebuildRecentHours();
+        assertEquals(0, statsRepository.findSeries(CategoryRollupAggregator.ALL_CATEGORIES, lastHour, lastHour.plusHours(1)).size());
+
+        when(leaseManager.ownsSingletonJobs()).thenReturn(true);
+        rebuilder.rebuildRecentHours();
+        assertEquals(1, statsRepository.findSeries(CategoryRollupAggregator.ALL_CATEGORIES, lastHour, lastHour.plusHours(1)).size());
+    }
+
+    private CategoryHourlyStats bucket(long categoryId, int hour) {
+        List<CategoryHourlyStats> series = statsRepository.findSeries(categoryId, DAY.plusHours(hour), DAY.plusHours(hour + 1));
+        assertEquals(1, series.size());
+        return series.get(0);
+    }
+
+    private Auction auction(Seller seller, String status, LocalDateTime endTime, Set<Category> categories) {
+        Auction auction = new Auction();
+        auction.setItemName("Item " + status);
+        auction.setDescription("Description");
+        auction.setStartPrice(new BigDecimal("10.00"));
+        auction.setEndTime(endTime);
+        auction.setStatus(status);
+        auction.setSeller(seller);
+        auction.getCategories().addAll(categories);
+        entityManager.persist(auction);
+        return auction;
+    }
+
+    private void bid(Auction auction, Buyer buyer, String amount, LocalDateTime time) {
+        entityManager.persist(new Bid(new BigDecimal(amount), time, buyer, auction));
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        entityManager.persist(category);
+        return category;
+    }
+
+    private <T extends User> T user(T user, String email) {
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        entityManager.persist(user);
+        return user;
+    }
+}
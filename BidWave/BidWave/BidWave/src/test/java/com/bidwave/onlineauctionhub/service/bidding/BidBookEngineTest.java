@@ -0,0 +1,127 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.Bid;
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.Seller;
+import com.bidwave.onlineauctionhub.models.User;
+import com.bidwave.onlineauctionhub.repositories.BidRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The in-memory bid book must not keep answering from state that another node has moved past.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(BidBookEngine.class)
+class BidBookEngineTest {
+
+    @Autowired
+    private BidBookEngine bidBookEngine;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Seller seller;
+    private Buyer first;
+    private Buyer second;
+    private Long auctionId;
+
+    @BeforeEach
+    void seed() {
+        seller = user(new Seller(), "seller@bidwave.test", "Sam");
+        first = user(new Buyer(), "first@bidwave.test", "Fay");
+        second = user(new Buyer(), "second@bidwave.test", "Sid");
+
+        Auction auction = auction();
+        auctionId = auction.getAuctionId();
+        placeBid(auction, first, "20.00");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void warmUpReadsOnlyTheTopBidsOfEachAuction() {
+        Auction busy = auction();
+        for (int i = 1; i <= AuctionBidBook.DEPTH + 2; i++) {
+            placeBid(busy, i % 2 == 0 ? first : second, (20 + i) + ".00");
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BidBookEntry> topTwo = bidRepository.findTopBookEntriesByAuctionStatus("ACTIVE", 2);
+        assertEquals(3, topTwo.size());
+        assertEquals(List.of(auctionId, busy.getAuctionId(), busy.getAuctionId()),
+                topTwo.stream().map(BidBookEntry::auctionId).toList());
+        assertEquals(0, new BigDecimal("27.00").compareTo(topTwo.get(1).amount()));
+        assertEquals(0, new BigDecimal("26.00").compareTo(topTwo.get(2).amount()));
+
+        bidBookEngine.warmUp();
+        AuctionBidBook book = bidBookEngine.find(busy.getAuctionId()).orElseThrow();
+        assertEquals(AuctionBidBook.DEPTH, book.getTopBids().size());
+        assertEquals(AuctionBidBook.DEPTH + 2, book.getBidCount());
+        assertEquals(0, new BigDecimal("27.00").compareTo(book.getHighestBid().orElseThrow().amount()));
+    }
+
+    @Test
+    void bookIsReloadedWhenAnotherNodeTookTheHighBid() {
+        bidBookEngine.warmUp();
+        assertEquals("Fay", bidBookEngine.find(auctionId).orElseThrow().getHighestBid().orElseThrow().bidderFirstName());
+
+        // Another node commits a higher bid; this node's book never hears about it
+        placeBid(entityManager.find(Auction.class, auctionId), second, "30.00");
+        entityManager.flush();
+        entityManager.clear();
+
+        Auction auction = entityManager.find(Auction.class, auctionId);
+        BidBookEntry highest = bidBookEngine.getHighestBid(auction).orElseThrow();
+        assertEquals("Sid", highest.bidderFirstName());
+        assertEquals(0, new BigDecimal("30.00").compareTo(highest.amount()));
+        assertEquals(2, bidBookEngine.find(auctionId).orElseThrow().getBidCount());
+    }
+
+    private Auction auction() {
+        Auction auction = new Auction();
+        auction.setItemName("Lamp");
+        auction.setDescription("Brass lamp");
+        auction.setStartPrice(new BigDecimal("10.00"));
+        auction.setEndTime(LocalDateTime.now().plusDays(1));
+        auction.setStatus("ACTIVE");
+        auction.setSeller(seller);
+        entityManager.persist(auction);
+        return auction;
+    }
+
+    private void placeBid(Auction auction, Buyer buyer, String amount) {
+        entityManager.persist(new Bid(new BigDecimal(amount), LocalDateTime.now(), buyer, auction));
+        auction.setCurrentHighBid(new BigDecimal(amount));
+        auction.setCurrentHighBidder(buyer);
+        auction.setBidCount(auction.getBidCount() + 1);
+    }
+
+    private <T extends User> T user(T user, String email, String firstName) {
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName(firstName);
+        user.setLastName("User");
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bidwave.onlineauctionhub.service.bidding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BidSequencerTest {
+
+    private static final Long AUCTION_ID = 42L;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch gateStarted = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private BidSequencer sequencer;
+
+    @AfterEach
+    void shutdown() {
+        gate.countDown();
+        callers.shutdownNow();
+        if (sequencer != null) {
+            sequencer.shutdown();
+        }
+    }
+
+    @Test
+    void bidsOnOneAuctionRunInSubmissionOrderOnOneLane() throws Exception {
+        sequencer = new BidSequencer(4, 64, 10_000);
+        Future<String> blocker = blockLane();
+
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        List<Future<Integer>> bids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int bid = i;
+            bids.add(callers.submit(() -> sequencer.execute(AUCTION_ID, () -> {
+                order.add(bid);
+                threads.add(Thread.currentThread().getName());
+                return bid;
+            })));
+            awaitQueued(i + 1);
+        }
+        gate.countDown();
+
+        for (int i = 0; i < bids.size(); i++) {
+            assertEquals(i, bids.get(i).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), order);
+        String lane = blocker.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(lane), threads.stream().distinct().toList());
+    }
+
+    @Test
+    void fullLaneRejectsTheBid() throws Exception {
+        sequencer = new BidSequencer(1, 1, 10_000);
+        blockLane();
+        Future<Integer> queued = callers.submit(() -> sequencer.execute(AUCTION_ID, () -> 1));
+        awaitQueued(1);
+
+        assertThrows(BidRejectedException.class, () -> sequencer.execute(AUCTION_ID, () -> 2));
+
+        gate.countDown();
+        assertEquals(1, queued.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timedOutBidThatHasNotStartedIsCancelled() throws Exception {
+        sequencer = new BidSequencer(1, 4, 100);
+        Future<String> running = blockLane();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThrows(BidRejectedException.class, () -> sequencer.execute(AUCTION_ID, () -> ran.getAndSet(true)));
+        assertEquals(0, sequencer.queued(AUCTION_ID));
+
+        // The bid that was already running when its caller timed out is still allowed to finish
+        gate.countDown();
+        running.get(10, TimeUnit.SECONDS);
+        sequencer.execute(AUCTION_ID, () -> null);
+        assertFalse(ran.get());
+    }
+
+    private Future<String> blockLane() throws InterruptedException {
+        Future<String> blocker = callers.submit(() -> sequencer.execute(AUCTION_ID, () -> {
+            gateStarted.countDown();
+            gate.await();
+            return Thread.currentThread().getName();
+        }));
+        assertEquals(true, gateStarted.await(10, TimeUnit.SECONDS));
+        return blocker;
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sequencer.queued(AUCTION_ID) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, sequencer.queued(AUCTION_ID));
+    }
+}
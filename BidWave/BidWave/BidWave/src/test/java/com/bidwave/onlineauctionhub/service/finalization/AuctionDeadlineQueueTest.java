@@ -0,0 +1,80 @@
+package com.bidwave.onlineauctionhub.service.finalization;
+
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuctionDeadlineQueueTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final AuctionRepository auctionRepository = mock(AuctionRepository.class);
+    private final FinalizerLeaseManager leaseManager = mock(FinalizerLeaseManager.class);
+    private final AuctionDeadlineQueue queue = new AuctionDeadlineQueue(auctionRepository, leaseManager);
+
+    @Test
+    void dueAuctionsArePolledEarliestFirst() {
+        queue.schedule(3L, T0.plusSeconds(30));
+        queue.schedule(1L, T0.plusSeconds(10));
+        queue.schedule(2L, T0.plusSeconds(10));
+        queue.schedule(4L, T0.plusSeconds(90));
+
+        assertEquals(List.of(), queue.pollDue(T0, 10));
+        assertEquals(List.of(1L, 2L), queue.pollDue(T0.plusSeconds(60), 2));
+        assertEquals(List.of(3L), queue.pollDue(T0.plusSeconds(60), 10));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void changedEndTimeMovesTheAuctionAndCancelRemovesIt() {
+        queue.schedule(1L, T0.plusSeconds(10));
+        queue.schedule(2L, T0.plusSeconds(20));
+        queue.schedule(3L, T0.plusSeconds(30));
+
+        // Extended past its old deadline, then brought forward ahead of the others
+        queue.schedule(1L, T0.plusSeconds(40));
+        queue.schedule(3L, T0.plusSeconds(5));
+        queue.cancel(2L);
+
+        assertEquals(List.of(3L), queue.pollDue(T0.plusSeconds(25), 10));
+        assertEquals(List.of(1L), queue.pollDue(T0.plusSeconds(60), 10));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void prefetchOnlyTakesAuctionsOfOwnedPartitions() {
+        ReflectionTestUtils.setField(queue, "prefetchLookaheadMillis", 15_000L);
+        LocalDateTime soon = LocalDateTime.now().plusSeconds(10);
+        when(auctionRepository.findIdAndEndTimeByStatusAndEndTimeBefore(eq("ACTIVE"), any(LocalDateTime.class)))
+                .thenReturn(List.of(row(1L, soon), row(2L, soon), row(3L, soon.plusSeconds(1))));
+        when(leaseManager.owns(1L)).thenReturn(true);
+        when(leaseManager.owns(2L)).thenReturn(false);
+        when(leaseManager.owns(3L)).thenReturn(true);
+
+        LocalDateTime before = LocalDateTime.now();
+        queue.prefetchOwnedDeadlines();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(auctionRepository).findIdAndEndTimeByStatusAndEndTimeBefore(eq("ACTIVE"), cutoff.capture());
+        assertTrue(!cutoff.getValue().isBefore(before.plusSeconds(15)));
+        assertTrue(cutoff.getValue().isBefore(before.plusSeconds(16)));
+        assertEquals(2, queue.size());
+        assertEquals(List.of(1L, 3L), queue.pollDue(soon.plusSeconds(1), 10));
+    }
+
+    private static Object[] row(Long auctionId, LocalDateTime endTime) {
+        return new Object[]{auctionId, endTime};
+    }
+}
@@ -0,0 +1,207 @@
+package com.bidwave.onlineauctionhub.service.finalization;
+
+import com.bidwave.onlineauctionhub.models.Auction;
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.Seller;
+import com.bidwave.onlineauctionhub.models.User;
+import com.bidwave.onlineauctionhub.repositories.AuctionRepository;
+import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import com.bidwave.onlineauctionhub.service.analytics.CategoryRollupAggregator;
+import com.bidwave.onlineauctionhub.service.bidding.BidBookEngine;
+import com.bidwave.onlineauctionhub.service.listing.AuctionListingProjector;
+import com.bidwave.onlineauctionhub.service.reporting.DashboardMetrics;
+import com.bidwave.onlineauctionhub.service.search.AuctionSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Chunks close each expired auction once, with the winner that is stored on the row when it closes.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AuctionFinalizationEngine.class, AuctionFinalizationEngineTest.RecordingStrategy.class})
+class AuctionFinalizationEngineTest {
+
+    @Autowired
+    private AuctionFinalizationEngine engine;
+
+    @Autowired
+    private RecordingStrategy strategy;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private BidBookEngine bidBookEngine;
+    @MockitoBean
+    private AuctionSearchIndex searchIndex;
+    @MockitoBean
+    private AuctionListingProjector listingProjector;
+    @MockitoBean
+    private AuctionDeadlineQueue deadlineQueue;
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+    @MockitoBean
+    private DashboardMetrics dashboardMetrics;
+    @MockitoBean
+    private CategoryRollupAggregator rollupAggregator;
+
+    private TransactionTemplate transactionTemplate;
+    private Seller seller;
+    private Buyer first;
+    private Buyer second;
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        strategy.decided.clear();
+        strategy.whileDeciding = () -> {};
+        seller = user(new Seller(), "seller@bidwave.test");
+        first = user(new Buyer(), "first@bidwave.test");
+        second = user(new Buyer(), "second@bidwave.test");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        auctionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void alreadyClosedRowsAreSkipped() {
+        Long expired = auction("ACTIVE", first, "20.00");
+        Long closed = auction("CLOSED_UNSOLD", null, null);
+
+        assertEquals(1, engine.finalizeAuctions(List.of(expired, closed)));
+
+        assertEquals("CLOSED_SOLD", auctionRepository.findById(expired).orElseThrow().getStatus());
+        assertEquals("CLOSED_UNSOLD", auctionRepository.findById(closed).orElseThrow().getStatus());
+        assertEquals(List.of(expired), strategy.decided.stream().map(FinalizationCandidate::auctionId).toList());
+    }
+
+    @Test
+    void failedChunkIsRolledBackAndRescheduled() {
+        Long expired = auction("ACTIVE", first, "20.00");
+        doThrow(new IllegalStateException("listing unavailable"))
+                .when(listingProjector).updateStatus(anyCollection(), anyString());
+
+        assertEquals(0, engine.finalizeAuctions(List.of(expired)));
+
+        assertEquals("ACTIVE", auctionRepository.findById(expired).orElseThrow().getStatus());
+        verify(deadlineQueue).schedule(eq(expired), any(LocalDateTime.class));
+    }
+
+    @Test
+    void bidCheckedBeforeTheDeadlineCannotChangeTheWinnerMidClose() throws Exception {
+        Long auctionId = auction("ACTIVE", first, "20.00");
+        ExecutorService bidder = Executors.newSingleThreadExecutor();
+        List<Future<Integer>> lateBid = new CopyOnWriteArrayList<>();
+        try {
+            // A bid validated just before the end time tries to take the high bid while the finalizer decides
+            strategy.whileDeciding = () -> {
+                Future<Integer> bid = bidder.submit(() -> transactionTemplate.execute(status ->
+                        auctionRepository.compareAndSetHighBid(auctionId, new BigDecimal("50.00"), second, 1,
+                                LocalDateTime.now().minusSeconds(5))));
+                lateBid.add(bid);
+                assertThrows(TimeoutException.class, () -> bid.get(500, TimeUnit.MILLISECONDS));
+            };
+
+            assertEquals(1, engine.finalizeAuctions(List.of(auctionId)));
+            assertEquals(0, lateBid.get(0).get(10, TimeUnit.SECONDS));
+        } finally {
+            bidder.shutdownNow();
+        }
+
+        Auction closed = auctionRepository.findById(auctionId).orElseThrow();
+        FinalizationCandidate decided = strategy.decided.get(0);
+        assertEquals("CLOSED_SOLD", closed.getStatus());
+        assertEquals(first.getUserId(), decided.winnerId());
+        assertEquals(0, closed.getCurrentHighBid().compareTo(decided.winningAmount()));
+    }
+
+    private Long auction(String status, Buyer highBidder, String highBid) {
+        return transactionTemplate.execute(tx -> {
+            Auction auction = new Auction();
+            auction.setItemName("Lamp");
+            auction.setDescription("Brass lamp");
+            auction.setStartPrice(new BigDecimal("10.00"));
+            auction.setEndTime(LocalDateTime.now().minusSeconds(1));
+            auction.setStatus(status);
+            auction.setSeller(seller);
+            if (highBidder != null) {
+                auction.setCurrentHighBidder(highBidder);
+                auction.setCurrentHighBid(new BigDecimal(highBid));
+                auction.setBidCount(1);
+            }
+            return auctionRepository.save(auction).getAuctionId();
+        });
+    }
+
+    private <T extends User> T user(T user, String email) {
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        return userRepository.save(user);
+    }
+
+    /**
+     * Stands in for the real strategy so the test can act between the finalizer's read and its write.
+     */
+    static class RecordingStrategy implements FinalizationStrategy {
+
+        final List<FinalizationCandidate> decided = new CopyOnWriteArrayList<>();
+        volatile Runnable whileDeciding = () -> {};
+
+        @Override
+        public String finalizeAuction(FinalizationCandidate candidate) {
+            decided.add(candidate);
+            whileDeciding.run();
+            return candidate.hasWinner() ? "CLOSED_SOLD" : "CLOSED_UNSOLD";
+        }
+
+        @Override
+        public String getSupportedAuctionType() {
+            return "STANDARD";
+        }
+    }
+}
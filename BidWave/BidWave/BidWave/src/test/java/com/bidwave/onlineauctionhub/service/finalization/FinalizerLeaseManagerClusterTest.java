@@ -0,0 +1,140 @@
+package com.bidwave.onlineauctionhub.service.finalization;
+
+import com.bidwave.onlineauctionhub.models.FinalizerLease;
+import com.bidwave.onlineauctionhub.repositories.FinalizerLeaseRepository;
+import com.bidwave.onlineauctionhub.repositories.FinalizerNodeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs several application contexts, each acting as a separate node, against one shared in-memory database.
+ */
+class FinalizerLeaseManagerClusterTest {
+
+    private static final int PARTITIONS = 12;
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+    @EntityScan(basePackageClasses = FinalizerLease.class)
+    @EnableJpaRepositories(basePackageClasses = FinalizerLeaseRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {FinalizerLeaseRepository.class, FinalizerNodeRepository.class}))
+    @Import(FinalizerLeaseManager.class)
+    static class NodeConfig {
+    }
+
+    private final String databaseUrl = "jdbc:h2:mem:cluster-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void nodesSplitPartitionsEvenlyWithoutOverlap() {
+        List<FinalizerLeaseManager> nodes = List.of(startNode("node-a"), startNode("node-b"), startNode("node-c"));
+
+        heartbeatRounds(nodes, 5);
+
+        assertExclusiveCover(nodes);
+        nodes.forEach(node -> assertEquals(PARTITIONS / 3, node.getOwnedPartitions().size()));
+        for (long auctionId = 1; auctionId <= 500; auctionId++) {
+            long id = auctionId;
+            assertEquals(1, nodes.stream().filter(node -> node.owns(id)).count(), "auction " + id + " must have one owner");
+        }
+    }
+
+    @Test
+    void survivorsTakeOverLeasesOfCrashedNode() throws InterruptedException {
+        FinalizerLeaseManager a = startNode("node-a");
+        FinalizerLeaseManager b = startNode("node-b");
+        FinalizerLeaseManager c = startNode("node-c");
+        heartbeatRounds(List.of(a, b, c), 5);
+        assertEquals(PARTITIONS / 3, c.getOwnedPartitions().size());
+
+        // node-c stops heartbeating without releasing anything; its leases lapse after the TTL
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (System.currentTimeMillis() < deadline) {
+            a.heartbeat();
+            b.heartbeat();
+            Thread.sleep(100);
+        }
+
+        List<FinalizerLeaseManager> survivors = List.of(a, b);
+        heartbeatRounds(survivors, 3);
+        assertExclusiveCover(survivors);
+        survivors.forEach(node -> assertEquals(PARTITIONS / 2, node.getOwnedPartitions().size()));
+    }
+
+    @Test
+    void joiningNodeReceivesFairShare() {
+        FinalizerLeaseManager a = startNode("node-a");
+        heartbeatRounds(List.of(a), 1);
+        assertEquals(PARTITIONS, a.getOwnedPartitions().size());
+
+        FinalizerLeaseManager b = startNode("node-b");
+        heartbeatRounds(List.of(a, b), 3);
+
+        assertExclusiveCover(List.of(a, b));
+        assertEquals(PARTITIONS / 2, b.getOwnedPartitions().size());
+    }
+
+    private FinalizerLeaseManager startNode(String nodeId) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NodeConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=" + databaseUrl,
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--bidwave.cluster.node-id=" + nodeId,
+                        "--bidwave.cluster.partitions=" + PARTITIONS,
+                        "--bidwave.cluster.lease-ttl-ms=1000");
+        contexts.add(context);
+        return context.getBean(FinalizerLeaseManager.class);
+    }
+
+    private static void heartbeatRounds(List<FinalizerLeaseManager> nodes, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            nodes.forEach(FinalizerLeaseManager::heartbeat);
+        }
+    }
+
+    private static void assertExclusiveCover(List<FinalizerLeaseManager> nodes) {
+        Set<Integer> seen = new HashSet<>();
+        for (FinalizerLeaseManager node : nodes) {
+            for (Integer partition : node.getOwnedPartitions()) {
+                assertTrue(seen.add(partition), "partition " + partition + " owned twice");
+            }
+        }
+        assertEquals(IntStream.range(0, PARTITIONS).boxed().collect(Collectors.toSet()), seen);
+    }
+}
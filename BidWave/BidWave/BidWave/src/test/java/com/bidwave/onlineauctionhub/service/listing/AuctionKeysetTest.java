@@ -0,0 +1,44 @@
+package com.bidwave.onlineauctionhub.service.listing;
+
+import com.bidwave.onlineauctionhub.models.AuctionListing;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuctionKeysetTest {
+
+    @Test
+    void decodesCursorValueForItsSort() {
+        String cursor = AuctionKeyset.encode("ending_soon", "2026-03-10T09:30", 42);
+
+        AuctionKeyset.Cursor decoded = AuctionKeyset.ENDING_SOON.decode(cursor).orElseThrow();
+
+        assertEquals(LocalDateTime.of(2026, 3, 10, 9, 30), decoded.value());
+        assertEquals(42, decoded.auctionId());
+        assertEquals(new BigDecimal("12.50"),
+                AuctionKeyset.PRICE_ASC.decode(AuctionKeyset.encode("price_asc", "12.50", 7)).orElseThrow().value());
+    }
+
+    @Test
+    void ignoresTamperedCursorValues() {
+        assertTrue(AuctionKeyset.ENDING_SOON.decode(AuctionKeyset.encode("ending_soon", "yesterday", 42)).isEmpty());
+        assertTrue(AuctionKeyset.PRICE_DESC.decode(AuctionKeyset.encode("price_desc", "12,50", 42)).isEmpty());
+        assertTrue(AuctionKeyset.PRICE_DESC.decode(AuctionKeyset.encode("price_asc", "12.50", 42)).isEmpty());
+        assertTrue(AuctionKeyset.NEWLY_LISTED.decode("not base64!").isEmpty());
+    }
+
+    @Test
+    void cursorOfARowCarriesItsSortValue() {
+        AuctionListing listing = new AuctionListing(42L);
+        listing.setEndTime(LocalDateTime.of(2026, 3, 10, 9, 30));
+        listing.setStartPrice(new BigDecimal("12.50"));
+
+        assertEquals(new AuctionKeyset.Cursor(LocalDateTime.of(2026, 3, 10, 9, 30), 42), AuctionKeyset.ENDING_SOON.cursorOf(listing));
+        assertEquals(new AuctionKeyset.Cursor(new BigDecimal("12.50"), 42), AuctionKeyset.PRICE_DESC.cursorOf(listing));
+        assertEquals(new AuctionKeyset.Cursor(null, 42), AuctionKeyset.NEWLY_LISTED.cursorOf(listing));
+    }
+}
@@ -0,0 +1,105 @@
+package com.bidwave.onlineauctionhub.service.mail;
+
+import com.bidwave.onlineauctionhub.models.MailDeadLetter;
+import com.bidwave.onlineauctionhub.repositories.MailDeadLetterRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class MailDeliveryServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MailDeadLetterRepository deadLetterRepository = mock(MailDeadLetterRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MailDeliveryService delivery;
+
+    @AfterEach
+    void tearDown() {
+        if (delivery != null) {
+            delivery.shutdown();
+        }
+    }
+
+    @Test
+    void deliversQueuedMessagesInBatches() throws Exception {
+        delivery = new MailDeliveryService(mailSender(smtp.getSmtp().getPort()), deadLetterRepository, meterRegistry,
+                2, 100, 10, 3, 50, 1000);
+
+        for (int i = 0; i < 30; i++) {
+            delivery.submit(message("buyer" + i + "@bidwave.test", "Message " + i));
+        }
+
+        assertTrue(smtp.waitForIncomingEmail(10_000, 30));
+        delivery.shutdown();
+        assertEquals(30, smtp.getReceivedMessages().length);
+        assertEquals(30.0, meterRegistry.counter("bidwave.mail.sent").count());
+        assertTrue(meterRegistry.timer("bidwave.mail.send.latency").count() <= 30);
+    }
+
+    @Test
+    void deadLettersMessageAfterExhaustingRetries() {
+        // Nothing listens on this port, so every attempt fails to connect
+        delivery = new MailDeliveryService(mailSender(smtp.getSmtp().getPort() + 1), deadLetterRepository, meterRegistry,
+                1, 10, 5, 3, 10, 1000);
+
+        delivery.submit(message("seller@bidwave.test", "Unreachable"));
+
+        ArgumentCaptor<MailDeadLetter> captor = ArgumentCaptor.forClass(MailDeadLetter.class);
+        verify(deadLetterRepository, timeout(10_000)).save(captor.capture());
+        assertEquals("seller@bidwave.test", captor.getValue().getRecipient());
+        assertEquals(3, captor.getValue().getAttempts());
+        assertEquals(3.0, meterRegistry.counter("bidwave.mail.failures").count());
+    }
+
+    @Test
+    void pendingRetryGetsLastAttemptAtShutdown() throws InterruptedException {
+        // A one-minute backoff keeps the retry waiting in the scheduler when shutdown starts
+        delivery = new MailDeliveryService(mailSender(smtp.getSmtp().getPort() + 1), deadLetterRepository, meterRegistry,
+                1, 10, 5, 5, 60_000, 1000);
+
+        delivery.submit(message("buyer@bidwave.test", "Waiting for retry"));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (meterRegistry.counter("bidwave.mail.failures").count() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1.0, meterRegistry.counter("bidwave.mail.failures").count());
+
+        delivery.shutdown();
+
+        ArgumentCaptor<MailDeadLetter> captor = ArgumentCaptor.forClass(MailDeadLetter.class);
+        verify(deadLetterRepository).save(captor.capture());
+        assertEquals("buyer@bidwave.test", captor.getValue().getRecipient());
+        assertEquals(2, captor.getValue().getAttempts());
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        return sender;
+    }
+
+    private static SimpleMailMessage message(String to, String subject) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@bidwave.test");
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText("Hello from BidWave");
+        return message;
+    }
+}
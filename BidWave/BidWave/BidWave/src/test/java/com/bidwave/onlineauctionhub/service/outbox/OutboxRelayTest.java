@@ -0,0 +1,160 @@
+package com.bidwave.onlineauctionhub.service.outbox;
+
+import com.bidwave.onlineauctionhub.models.Buyer;
+import com.bidwave.onlineauctionhub.models.OutboxEvent;
+import com.bidwave.onlineauctionhub.models.User;
+import com.bidwave.onlineauctionhub.repositories.OutboxEventRepository;
+import com.bidwave.onlineauctionhub.repositories.UserRepository;
+import com.bidwave.onlineauctionhub.service.NotificationSender;
+import com.bidwave.onlineauctionhub.service.NotificationService;
+import com.bidwave.onlineauctionhub.service.alerts.NewAuctionAlertDispatcher;
+import com.bidwave.onlineauctionhub.service.bidding.BidAlertCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Events are delivered only once their transaction commits, and a failing event backs off until it is parked.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "bidwave.outbox.max-attempts=3"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OutboxRelay.class, OutboxService.class})
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private NotificationService notificationService;
+    @MockitoBean
+    private NotificationSender notificationSender;
+    @MockitoBean
+    private BidAlertCoalescer bidAlertCoalescer;
+    @MockitoBean
+    private NewAuctionAlertDispatcher newAuctionAlertDispatcher;
+
+    private TransactionTemplate transactionTemplate;
+    private Buyer buyer;
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        buyer = user(new Buyer(), "buyer@bidwave.test");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void failingDeliveryBacksOffAndIsParkedAfterTheRetryLimit() {
+        doThrow(new IllegalStateException("mail server down"))
+                .when(notificationSender).send(any(User.class), anyString(), anyString());
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.enqueueUserNotification(buyer.getUserId(), "Outbid", "You have been outbid."));
+        Long eventId = outboxEventRepository.findAll().get(0).getId();
+
+        LocalDateTime beforeFirstAttempt = LocalDateTime.now();
+        relay.relay();
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElseThrow();
+        assertEquals(OutboxEvent.STATUS_PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertEquals("mail server down", event.getLastError());
+        assertTrue(event.getAvailableAt().isAfter(beforeFirstAttempt.plusSeconds(1)));
+
+        // Not claimed again before its backoff has passed
+        relay.relay();
+        assertEquals(1, outboxEventRepository.findById(eventId).orElseThrow().getAttempts());
+
+        LocalDateTime beforeSecondAttempt = LocalDateTime.now();
+        makeDue(eventId);
+        relay.relay();
+        event = outboxEventRepository.findById(eventId).orElseThrow();
+        assertEquals(2, event.getAttempts());
+        assertTrue(event.getAvailableAt().isAfter(beforeSecondAttempt.plusSeconds(3)));
+
+        makeDue(eventId);
+        relay.relay();
+        event = outboxEventRepository.findById(eventId).orElseThrow();
+        assertEquals(OutboxEvent.STATUS_FAILED, event.getStatus());
+        assertEquals(3, event.getAttempts());
+        assertNotNull(event.getProcessedAt());
+
+        makeDue(eventId);
+        relay.relay();
+        verify(notificationSender, times(3)).send(any(User.class), eq("Outbid"), anyString());
+    }
+
+    @Test
+    void eventRolledBackWithItsTransactionIsNeverDelivered() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.enqueueUserNotification(buyer.getUserId(), "Rolled back", "Never sent.");
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.enqueueUserNotification(buyer.getUserId(), "Committed", "Sent."));
+
+        relay.relay();
+
+        verify(notificationSender, never()).send(any(User.class), eq("Rolled back"), anyString());
+        verify(notificationSender).send(any(User.class), eq("Committed"), anyString());
+        assertEquals(1, outboxEventRepository.count());
+        assertEquals(OutboxEvent.STATUS_SENT, outboxEventRepository.findAll().get(0).getStatus());
+    }
+
+    private void makeDue(Long eventId) {
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(eventId)
+                .ifPresent(event -> event.setAvailableAt(LocalDateTime.now().minusSeconds(1))));
+    }
+
+    private <T extends User> T user(T user, String email) {
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,85 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rough throughput comparison of the export formats over synthetic bid rows.
+ * Only runs when asked for: {@code mvn test -Dtest=ReportExportBenchmark -Dbidwave.benchmarks=true}.
+ * The row count can be changed with {@code -Dbidwave.benchmarks.rows}.
+ */
+@EnabledIfSystemProperty(named = "bidwave.benchmarks", matches = "true")
+class ReportExportBenchmark {
+
+    private static final List<String> COLUMNS = List.of("bid_id", "auction_id", "buyer_id", "buyer_name", "bid_amount", "bid_time");
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final long rows = Long.getLong("bidwave.benchmarks.rows", 1_000_000);
+
+    @Test
+    void compareFormats() throws IOException {
+        List<ReportGenerationStrategy> strategies = List.of(
+                new PdfReportStrategy(),
+                new CsvReportStrategy(),
+                new NdjsonReportStrategy(Jackson2ObjectMapperBuilder.json().build()));
+
+        for (ReportGenerationStrategy strategy : strategies) {
+            // One untimed pass so the JIT has compiled the hot path before measuring
+            run(strategy, Math.min(rows, 50_000), false);
+            run(strategy, rows, false);
+            run(strategy, rows, true);
+        }
+    }
+
+    private void run(ReportGenerationStrategy strategy, long count, boolean gzip) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        long started = System.nanoTime();
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(counter, 64 * 1024);
+            strategy.write(dataset(count), compressed);
+            compressed.finish();
+        } else {
+            strategy.write(dataset(count), counter);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertTrue(counter.bytes > 0);
+        System.out.printf("%-6s gzip=%-5s rows=%,d  %.2fs  %,.0f rows/s  %,.1f MB%n",
+                strategy.getFormat(), gzip, count, seconds, count / seconds, counter.bytes / 1e6);
+    }
+
+    private static ReportDataset dataset(long count) {
+        Stream<List<?>> rows = LongStream.rangeClosed(1, count).mapToObj(i -> Arrays.asList(
+                i, 42L, i % 5000, "Bidder " + (i % 5000),
+                BigDecimal.valueOf(100_00 + i, 2), START.plusSeconds(i)));
+        return new ReportDataset("Benchmark", COLUMNS, rows);
+    }
+
+    // Discards the output so only serialization cost is measured
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bidwave.onlineauctionhub.service.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportStrategiesTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void csvQuotesOnlyFieldsThatNeedIt() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvReportStrategy().write(dataset(), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("bid_id,buyer_name,bid_amount,bid_time", lines[0]);
+        assertEquals("1,\"Doe, Jane\",1250.00,2026-01-02T10:15", lines[1]);
+        assertEquals("2,\"Say \"\"hi\"\"\",,", lines[2]);
+        assertEquals(3, lines.length);
+    }
+
+    @Test
+    void csvNeutralisesFormulas() throws Exception {
+        ReportDataset dataset = new ReportDataset("Bids", List.of("buyer_name", "bid_amount"), Stream.of(
+                Arrays.asList("=HYPERLINK(\"http://evil\")", new BigDecimal("-5.00")),
+                Arrays.asList("+1", null),
+                Arrays.asList("-2", null),
+                Arrays.asList("@SUM(A1)", null),
+                Arrays.asList("Jane = Doe", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CsvReportStrategy().write(dataset, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("\"'=HYPERLINK(\"\"http://evil\"\")\",-5.00", lines[1]);
+        assertEquals("'+1,", lines[2]);
+        assertEquals("'-2,", lines[3]);
+        assertEquals("'@SUM(A1),", lines[4]);
+        assertEquals("Jane = Doe,", lines[5]);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NdjsonReportStrategy(objectMapper).write(dataset(), out);
+
+        assertEquals("{\"bid_id\":1,\"buyer_name\":\"Doe, Jane\",\"bid_amount\":1250.00,\"bid_time\":\"2026-01-02T10:15:00\"}\n"
+                + "{\"bid_id\":2,\"buyer_name\":\"Say \\\"hi\\\"\",\"bid_amount\":null,\"bid_time\":null}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pdfLeavesTheCallersStreamOpen() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream out = new FilterOutputStream(bytes) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        new PdfReportStrategy().write(dataset(), out);
+
+        assertFalse(closed.get());
+        assertTrue(bytes.toString(StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+    }
+
+    private static ReportDataset dataset() {
+        return new ReportDataset("Bids", List.of("bid_id", "buyer_name", "bid_amount", "bid_time"), Stream.of(
+                Arrays.asList(1L, "Doe, Jane", new BigDecimal("1250.00"), LocalDateTime.of(2026, 1, 2, 10, 15)),
+                Arrays.asList(2L, "Say \"hi\"", null, null)));
+    }
+}
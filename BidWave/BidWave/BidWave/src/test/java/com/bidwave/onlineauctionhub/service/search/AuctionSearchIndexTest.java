@@ -0,0 +1,68 @@
+package com.bidwave.onlineauctionhub.service.search;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuctionSearchIndexTest {
+
+    private static final int INDEXED = 200_000;
+
+    @Test
+    void concurrentRemovalOfSharedTermDoesNotLosePostings() throws Exception {
+        AuctionSearchIndex index = new AuctionSearchIndex(null);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            // One thread keeps emptying the "shared" posting map while the other adds to it
+            Future<?> churn = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < INDEXED; i++) {
+                    index.index(0L, "shared", null);
+                    index.remove(0L);
+                }
+                return null;
+            });
+            Future<?> writer = pool.submit(() -> {
+                start.await();
+                for (long auctionId = 1; auctionId <= INDEXED; auctionId++) {
+                    index.index(auctionId, "shared", null);
+                }
+                return null;
+            });
+            start.countDown();
+            churn.get(30, TimeUnit.SECONDS);
+            writer.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        RoaringBitmap found = index.matching("shared");
+        assertEquals(INDEXED, found.getCardinality());
+        assertEquals(INDEXED, found.last());
+    }
+
+    @Test
+    void matchingIsNotCappedLikeTheRanking() {
+        AuctionSearchIndex index = new AuctionSearchIndex(null);
+        for (long auctionId = 1; auctionId <= 1500; auctionId++) {
+            index.index(auctionId, "Vintage lamp " + auctionId, null);
+        }
+        RoaringBitmap picked = new RoaringBitmap();
+        picked.add(1, 3, 5);
+
+        assertEquals(1500, index.matching("vintage").getCardinality());
+        assertEquals(1000, index.search("vintage").size());
+        assertTrue(index.search("lamp", picked).containsAll(List.of(1L, 3L, 5L)));
+        assertEquals(3, index.search("lamp", picked).size());
+    }
+}